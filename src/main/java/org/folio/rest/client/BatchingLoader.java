@@ -0,0 +1,142 @@
+package org.folio.rest.client;
+
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
+import static org.folio.util.UuidUtil.isUuid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.exception.http.HttpNotFoundException;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Collects lookups of single records by ID which are issued on the same event loop within a
+ * short window, by the same or different requests, and fetches them with one query per path and
+ * request scope (Okapi URL, tenant, token and connection pool, see
+ * {@link OkapiClient#getRequestScope()}). A window with a single ID is fetched by ID as usual.
+ */
+class BatchingLoader {
+  private static final Logger log = LogManager.getLogger(BatchingLoader.class);
+  private static final String PENDING_BATCHES_KEY = BatchingLoader.class.getName();
+  // 0 collects lookups issued in the same event loop tick only, without delaying any of them
+  private static final long BATCH_WINDOW_MILLIS = getLongSetting(
+    "OKAPI_CLIENT_BATCH_WINDOW_MILLIS", 0);
+
+  private BatchingLoader() {
+  }
+
+  static <T> Future<T> load(OkapiClient client, String path, String id, Class<T> objectType,
+    String collectionName, Function<T, String> idExtractor) {
+
+    Context context = Vertx.currentContext();
+    if (context == null || !isUuid(id)) {
+      return client.getById(path, id, objectType);
+    }
+
+    Map<String, PendingBatch<?>> pendingBatches = context.get(PENDING_BATCHES_KEY);
+    if (pendingBatches == null) {
+      pendingBatches = new HashMap<>();
+      context.put(PENDING_BATCHES_KEY, pendingBatches);
+    }
+
+    // lookups of a batch share the scope, so the client of the first caller can fetch them all
+    String key = String.join("|", client.getRequestScope(), path, objectType.getName());
+    @SuppressWarnings("unchecked")
+    PendingBatch<T> batch = (PendingBatch<T>) pendingBatches.get(key);
+
+    if (batch == null) {
+      PendingBatch<T> newBatch = new PendingBatch<>(client, path, objectType, collectionName,
+        idExtractor);
+      Map<String, PendingBatch<?>> batches = pendingBatches;
+      batches.put(key, newBatch);
+      scheduleFlush(context, () -> {
+        batches.remove(key);
+        newBatch.flush();
+      });
+      batch = newBatch;
+    }
+
+    return batch.add(id);
+  }
+
+  private static void scheduleFlush(Context context, Runnable flush) {
+    if (BATCH_WINDOW_MILLIS > 0) {
+      context.owner().setTimer(BATCH_WINDOW_MILLIS, timerId -> flush.run());
+    } else {
+      context.runOnContext(v -> flush.run());
+    }
+  }
+
+  private static class PendingBatch<T> {
+    private final OkapiClient client;
+    private final String path;
+    private final Class<T> objectType;
+    private final String collectionName;
+    private final Function<T, String> idExtractor;
+    private final Map<String, List<Promise<T>>> promisesById = new LinkedHashMap<>();
+
+    private PendingBatch(OkapiClient client, String path, Class<T> objectType,
+      String collectionName, Function<T, String> idExtractor) {
+
+      this.client = client;
+      this.path = path;
+      this.objectType = objectType;
+      this.collectionName = collectionName;
+      this.idExtractor = idExtractor;
+    }
+
+    private Future<T> add(String id) {
+      Promise<T> promise = Promise.promise();
+      promisesById.computeIfAbsent(id, k -> new ArrayList<>()).add(promise);
+      return promise.future();
+    }
+
+    private void flush() {
+      if (promisesById.size() == 1) {
+        promisesById.forEach((id, promises) -> client.getById(path, id, objectType)
+          .onComplete(result -> promises.forEach(promise -> promise.handle(result))));
+        return;
+      }
+
+      log.debug("Fetching {} {} collected from single lookups", promisesById.size(),
+        objectType.getSimpleName());
+
+      client.getByIds(path, promisesById.keySet(), objectType, collectionName)
+        .onSuccess(this::complete)
+        .onFailure(t -> promisesById.values()
+          .forEach(promises -> promises.forEach(promise -> promise.fail(t))));
+    }
+
+    private void complete(Collection<T> objects) {
+      Map<String, T> fetchedById = new HashMap<>();
+      objects.forEach(object -> fetchedById.put(idExtractor.apply(object), object));
+
+      promisesById.forEach((id, promises) -> {
+        T object = fetchedById.get(id);
+        if (object == null) {
+          promises.forEach(promise -> promise.fail(new HttpNotFoundException(objectType, id,
+            HttpMethod.GET, path + "/" + id, 404, "")));
+          return;
+        }
+
+        promises.get(0).complete(object);
+        // every caller gets its own copy of the object, copies are needed for repeated IDs only
+        promises.subList(1, promises.size())
+          .forEach(promise -> promise.complete(JsonObject.mapFrom(object).mapTo(objectType)));
+      });
+    }
+  }
+}
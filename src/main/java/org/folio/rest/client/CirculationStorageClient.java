@@ -24,6 +24,12 @@ public class CirculationStorageClient extends OkapiClient {
     super(vertx, okapiHeaders);
   }
 
+  public CirculationStorageClient(Vertx vertx, Map<String, String> okapiHeaders,
+    WebClientProvider.Pool pool) {
+
+    super(vertx, okapiHeaders, pool);
+  }
+
   public Future<Loan> getLoanById(String id) {
     return getById("/loan-storage/loans", id, Loan.class);
   }
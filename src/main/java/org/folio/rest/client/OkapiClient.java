@@ -11,51 +11,92 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
 import static org.folio.util.StringUtil.urlEncode;
 import static org.folio.util.UuidUtil.isUuid;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.exception.http.HttpGetException;
 import org.folio.rest.exception.http.HttpNotFoundException;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.WebClient;
 
 public class OkapiClient {
   protected static final Logger log = LogManager.getLogger(OkapiClient.class);
-  private static final int ID_BATCH_SIZE = 88;
+  // request line of a batch must fit into 4096 bytes, the default limit of Okapi and Netty
+  private static final int MAX_ENCODED_BATCH_QUERY_LENGTH = 3500;
+  private static final int ENCODED_BATCH_QUERY_BASE_LENGTH = urlEncode("id==()").length();
+  private static final int ENCODED_BATCH_QUERY_SEPARATOR_LENGTH = urlEncode(" or ").length();
+  private static final int MAX_CONCURRENT_BATCHES = (int) getLongSetting(
+    "OKAPI_CLIENT_MAX_CONCURRENT_BATCHES", 5);
+  private static final long BATCH_TIMEOUT_MILLIS = getLongSetting(
+    "OKAPI_CLIENT_BATCH_TIMEOUT_MILLIS", 60_000);
 
   private static final String OKAPI_URL_HEADER = "x-okapi-url";
   protected static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final ObjectReader LENIENT_READER = objectMapper.reader()
+    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private static final Map<String, Future<String>> IN_FLIGHT_REQUESTS = new ConcurrentHashMap<>();
 
+  private final Vertx vertx;
   private final WebClient webClient;
+  private final WebClientProvider.Pool pool;
   private final String okapiUrl;
   private final String tenant;
   private final String token;
+  private final ReferenceDataCache cache;
 
   public OkapiClient(Vertx vertx, Map<String, String> okapiHeaders) {
-    this.webClient = WebClientProvider.getWebClient(vertx);
+    this(vertx, okapiHeaders, WebClientProvider.Pool.INTERACTIVE);
+  }
+
+  public OkapiClient(Vertx vertx, Map<String, String> okapiHeaders,
+    WebClientProvider.Pool pool) {
+
+    this.vertx = vertx;
+    this.webClient = WebClientProvider.getWebClient(vertx, pool);
+    this.pool = pool;
     okapiUrl = okapiHeaders.get(OKAPI_URL_HEADER);
     tenant = okapiHeaders.get(OKAPI_HEADER_TENANT);
     token = okapiHeaders.get(OKAPI_HEADER_TOKEN);
+    cache = ReferenceDataCache.getInstance();
+  }
+
+  /**
+   * Requests of clients with the same scope are interchangeable: they are sent to the same Okapi
+   * on behalf of the same tenant and user, using the same connection pool.
+   */
+  String getRequestScope() {
+    return String.join("|", pool.name(), okapiUrl, tenant, token);
   }
 
   HttpRequest<Buffer> okapiGetAbs(String path) {
@@ -86,6 +127,23 @@ public class OkapiClient {
       return failedFuture(new IllegalArgumentException(errorMessage));
     }
 
+    final String url = resourcePath + "/" + id;
+
+    return getBodyShared(getRequestScope() + "|" + url,
+        () -> fetchBodyById(resourcePath, id, objectType))
+      .compose(body -> {
+        try {
+          return succeededFuture(objectMapper.readValue(body, objectType));
+        } catch (IOException exception) {
+          final String errorMessage = format("Failed to parse response from %s. Response body: %s",
+            url, body);
+          log.error(errorMessage);
+          return failedFuture(errorMessage);
+        }
+      });
+  }
+
+  private <T> Future<String> fetchBodyById(String resourcePath, String id, Class<T> objectType) {
     final String url = resourcePath + "/" + id;
     long start = currentTimeMillis();
 
@@ -101,18 +159,84 @@ public class OkapiClient {
         }
         return failedFuture(new HttpGetException(url, response));
       }
-      try {
-        T object = objectMapper.readValue(response.bodyAsString(), objectType);
-        return succeededFuture(object);
-      } catch (IOException exception) {
-        final String errorMessage = format("Failed to parse response from %s. Response body: %s",
-          url, response.bodyAsString());
-        log.error(errorMessage);
-        return failedFuture(errorMessage);
-      }
+      return succeededFuture(response.bodyAsString());
     });
   }
 
+  /**
+   * Single-flight: concurrent callers asking for the same resource share one outstanding
+   * request. The entry is removed as soon as the request completes, so nothing is cached. The
+   * response body is shared rather than the decoded object, each caller gets its own copy.
+   */
+  private static Future<String> getBodyShared(String key, Supplier<Future<String>> request) {
+    Future<String> inFlight = IN_FLIGHT_REQUESTS.get(key);
+    if (inFlight != null) {
+      log.debug("Joining in-flight request GET {}", key);
+      return onCurrentContext(inFlight);
+    }
+
+    Promise<String> promise = Promise.promise();
+    inFlight = IN_FLIGHT_REQUESTS.putIfAbsent(key, promise.future());
+    if (inFlight != null) {
+      return onCurrentContext(inFlight);
+    }
+
+    request.get()
+      .onComplete(result -> {
+        IN_FLIGHT_REQUESTS.remove(key, promise.future());
+        promise.handle(result);
+      });
+
+    return promise.future();
+  }
+
+  /**
+   * Completes on the context of the caller, a shared request may be completed on another event
+   * loop.
+   */
+  private static <T> Future<T> onCurrentContext(Future<T> future) {
+    Context context = Vertx.currentContext();
+    if (context == null) {
+      return future;
+    }
+
+    Promise<T> promise = Promise.promise();
+    future.onComplete(result -> context.runOnContext(v -> promise.handle(result)));
+    return promise.future();
+  }
+
+  /**
+   * Same as {@link #getById} but lookups issued concurrently for the same path are collected and
+   * fetched with a single query, see {@link BatchingLoader}.
+   */
+  <T> Future<T> getByIdBatched(String resourcePath, String id, Class<T> objectType,
+    String collectionName, Function<T, String> idExtractor) {
+
+    return BatchingLoader.load(this, resourcePath, id, objectType, collectionName, idExtractor);
+  }
+
+  /**
+   * Same as {@link #getById} but serves the object from {@link ReferenceDataCache} when possible.
+   * Should only be used for reference data which rarely changes.
+   */
+  <T> Future<T> getByIdCached(String resourcePath, String id, Class<T> objectType) {
+    ReferenceDataCache.Entry cachedEntry = cache.get(tenant, resourcePath, id);
+
+    if (cachedEntry != null) {
+      return cachedEntry.isNotFound()
+        ? failedFuture(cachedEntry.getNotFoundException())
+        : succeededFuture(objectType.cast(cachedEntry.getValue()));
+    }
+
+    return getById(resourcePath, id, objectType)
+      .onSuccess(object -> cache.put(tenant, resourcePath, id, object))
+      .onFailure(throwable -> {
+        if (throwable instanceof HttpNotFoundException notFoundException) {
+          cache.putNotFound(tenant, resourcePath, id, notFoundException);
+        }
+      });
+  }
+
   private static <T> Optional<String> validateGetByIdArguments(String path, String id,
     Class<T> objectType) {
 
@@ -132,10 +256,21 @@ public class OkapiClient {
   public <T> Future<Collection<T>> getByQuery(String resourcePath, String query,
     Class<T> objectType, String collectionName, int limit) {
 
+    return getByQuery(resourcePath, query, objectType, collectionName, limit, 0);
+  }
+
+  private <T> Future<Collection<T>> getByQuery(String resourcePath, String query,
+    Class<T> objectType, String collectionName, int limit, long timeoutMillis) {
+
     long startTimeMillis = currentTimeMillis();
     String path = String.format("%s?query=%s&limit=%d", resourcePath, urlEncode(query), limit);
 
-    return okapiGetAbs(path)
+    HttpRequest<Buffer> request = okapiGetAbs(path);
+    if (timeoutMillis > 0) {
+      request.timeout(timeoutMillis);
+    }
+
+    return request
       .send()
       .compose(response -> {
         int responseStatus = response.statusCode();
@@ -146,48 +281,186 @@ public class OkapiClient {
           log.error("GET by query failed", exception);
           return failedFuture(exception);
         }
-        return succeededFuture(
-          response.bodyAsJsonObject()
-            .getJsonArray(collectionName)
-            .stream()
-            .map(JsonObject::mapFrom)
-            .map(json -> json.mapTo(objectType))
-            .collect(toList())
-        );
+        try {
+          return succeededFuture(decodeCollection(response.body(), collectionName, objectType));
+        } catch (IOException exception) {
+          log.error("Failed to parse response from {}", path, exception);
+          return failedFuture(format("Failed to parse response from %s: %s", path,
+            exception.getMessage()));
+        }
       });
   }
 
+  /**
+   * Decodes objects of the collection straight from the response body in a single pass. Other
+   * properties of the response and unknown properties of the objects are skipped.
+   */
+  static <T> List<T> decodeCollection(Buffer body, String collectionName, Class<T> objectType)
+    throws IOException {
+
+    ObjectReader reader = LENIENT_READER.forType(objectType);
+    List<T> objects = null;
+
+    try (JsonParser parser = objectMapper.getFactory().createParser(body.getBytes())) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException(parser, "Response body is not a JSON object");
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.currentName();
+        JsonToken valueToken = parser.nextToken();
+
+        if (collectionName.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+          objects = new ArrayList<>();
+          while ((valueToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (valueToken == JsonToken.START_OBJECT) {
+              objects.add(reader.readValue(parser));
+            } else {
+              parser.skipChildren();
+            }
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    if (objects == null) {
+      throw new IOException("Response does not contain collection " + collectionName);
+    }
+
+    return objects;
+  }
+
+  /**
+   * Fetches objects by IDs with as few requests as possible. IDs are split into batches which
+   * fit into the maximum URL length. At most {@link #MAX_CONCURRENT_BATCHES} batches are fetched
+   * from the path on behalf of the tenant at the same time by the whole module instance, see
+   * {@link RequestLimiter}, so that large reports do not flood other modules. A batch which is
+   * not fetched within {@link #BATCH_TIMEOUT_MILLIS} fails.
+   */
   public <T> Future<Collection<T>> getByIds(String path, Collection<String> ids, Class<T> objectType,
     String collectionName) {
 
-    Collection<T> results = new ArrayList<>();
-
     Set<String> filteredIds = ids.stream()
       .filter(StringUtils::isNotBlank)
       .collect(toSet());
 
-    if (ids.isEmpty()) {
-      return succeededFuture(results);
+    if (filteredIds.isEmpty()) {
+      return succeededFuture(new ArrayList<>());
     }
 
-    log.info("Fetching {} {} by ID", ids.size(), objectType.getSimpleName());
+    List<List<String>> batches = partitionByQueryLength(filteredIds);
+
+    log.info("Fetching {} {} by ID in {} batches", filteredIds.size(),
+      objectType.getSimpleName(), batches.size());
     long startTime = currentTimeMillis();
 
-    return ListUtils.partition(new ArrayList<>(filteredIds), ID_BATCH_SIZE)
-      .stream()
-      .map(batch -> fetchBatch(path, batch, objectType, collectionName).onSuccess(results::addAll))
-      .reduce(succeededFuture(), (f1, f2) -> f1.compose(r -> f2))
-      .map(results)
-      .onSuccess(r -> log.debug("Fetched {} {} in {} ms", results.size(), objectType.getSimpleName(),
-        currentTimeMillis() - startTime));
+    RequestLimiter limiter = RequestLimiter.forPath(okapiUrl, tenant, path,
+      MAX_CONCURRENT_BATCHES, BATCH_TIMEOUT_MILLIS);
+    AtomicBoolean failed = new AtomicBoolean();
+
+    return Future.all(batches.stream()
+        .map(batch -> limiter.execute(vertx, () -> failed.get()
+          // other batches will not be needed once one of them failed
+          ? failedFuture("Another batch failed")
+          : fetchBatch(path, batch, objectType, collectionName)
+            .onFailure(t -> failed.set(true))))
+        .collect(toList()))
+      .map(compositeFuture -> {
+        Collection<T> results = new ArrayList<>();
+        compositeFuture.<Collection<T>>list().forEach(results::addAll);
+        return results;
+      })
+      .onSuccess(results -> log.debug("Fetched {} {} in {} ms", results.size(),
+        objectType.getSimpleName(), currentTimeMillis() - startTime));
+  }
+
+  /**
+   * Same as {@link #getByIds} but only fetches objects which are not in
+   * {@link ReferenceDataCache} yet. Should only be used for reference data which rarely changes.
+   */
+  <T> Future<Collection<T>> getByIdsCached(String path, Collection<String> ids,
+    Class<T> objectType, String collectionName, Function<T, String> idExtractor) {
+
+    Collection<T> results = new ArrayList<>();
+    Set<String> idsToFetch = new HashSet<>();
+
+    ids.stream()
+      .filter(StringUtils::isNotBlank)
+      .distinct()
+      .forEach(id -> {
+        ReferenceDataCache.Entry cachedEntry = cache.get(tenant, path, id);
+        if (cachedEntry == null) {
+          idsToFetch.add(id);
+        } else if (!cachedEntry.isNotFound()) {
+          results.add(objectType.cast(cachedEntry.getValue()));
+        }
+      });
+
+    if (idsToFetch.isEmpty()) {
+      return succeededFuture(results);
+    }
+
+    log.debug("Found {} of {} {} in cache", results.size(), results.size() + idsToFetch.size(),
+      objectType.getSimpleName());
+
+    return getByIds(path, idsToFetch, objectType, collectionName)
+      .onSuccess(fetched -> cacheFetchedObjects(path, idsToFetch, fetched, objectType, idExtractor))
+      .onSuccess(results::addAll)
+      .map(results);
+  }
+
+  private <T> void cacheFetchedObjects(String path, Set<String> requestedIds, Collection<T> fetched,
+    Class<T> objectType, Function<T, String> idExtractor) {
+
+    Set<String> missingIds = new HashSet<>(requestedIds);
+
+    fetched.forEach(object -> {
+      String id = idExtractor.apply(object);
+      missingIds.remove(id);
+      cache.put(tenant, path, id, object);
+    });
+
+    missingIds.forEach(id -> cache.putNotFound(tenant, path, id,
+      new HttpNotFoundException(objectType, id, HttpMethod.GET, path + "/" + id, 404, "")));
   }
 
   private <T> Future<Collection<T>> fetchBatch(String resourcePath, List<String> batch,
     Class<T> objectType, String collectionName) {
 
-    log.debug("Fetching batch of {} {}", batch.size(), objectType.getSimpleName());
     String query = String.format("id==(%s)", String.join(" or ", batch));
+    long startTime = currentTimeMillis();
+
+    return getByQuery(resourcePath, query, objectType, collectionName, batch.size(),
+      BATCH_TIMEOUT_MILLIS)
+      .onSuccess(r -> log.debug("Fetched batch of {} {} in {} ms", batch.size(),
+        objectType.getSimpleName(), currentTimeMillis() - startTime));
+  }
+
+  /**
+   * Splits IDs into batches so that the URL encoded query of each batch is not longer than
+   * {@link #MAX_ENCODED_BATCH_QUERY_LENGTH}.
+   */
+  static List<List<String>> partitionByQueryLength(Collection<String> ids) {
+    List<List<String>> batches = new ArrayList<>();
+    List<String> batch = new ArrayList<>();
+    int queryLength = ENCODED_BATCH_QUERY_BASE_LENGTH;
+
+    for (String id : ids) {
+      int idLength = urlEncode(id).length();
+      if (!batch.isEmpty() && queryLength + ENCODED_BATCH_QUERY_SEPARATOR_LENGTH + idLength
+        > MAX_ENCODED_BATCH_QUERY_LENGTH) {
+
+        batches.add(batch);
+        batch = new ArrayList<>();
+        queryLength = ENCODED_BATCH_QUERY_BASE_LENGTH;
+      }
+      queryLength += batch.isEmpty() ? idLength : ENCODED_BATCH_QUERY_SEPARATOR_LENGTH + idLength;
+      batch.add(id);
+    }
+    batches.add(batch);
 
-    return getByQuery(resourcePath, query, objectType, collectionName, batch.size());
+    return batches;
   }
 }
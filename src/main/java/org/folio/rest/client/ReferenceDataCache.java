@@ -0,0 +1,167 @@
+package org.folio.rest.client;
+
+import static java.lang.System.currentTimeMillis;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.exception.http.HttpNotFoundException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Size-bounded LRU cache with TTL for slow-changing reference data (service points, locations,
+ * patron groups etc.) fetched by {@link OkapiClient}. Keys are scoped by tenant and resource path.
+ * "Not found" responses are cached as well, with a separate (usually shorter) TTL.
+ * <p>
+ * Cached objects are shared between requests of the same tenant and must not be modified.
+ */
+public class ReferenceDataCache {
+  private static final Logger log = LogManager.getLogger(ReferenceDataCache.class);
+
+  static final String TTL_SECONDS_ENV = "REFERENCE_DATA_CACHE_TTL_SECONDS";
+  static final String NOT_FOUND_TTL_SECONDS_ENV = "REFERENCE_DATA_CACHE_NOT_FOUND_TTL_SECONDS";
+  static final String MAX_SIZE_ENV = "REFERENCE_DATA_CACHE_MAX_SIZE";
+
+  private static final long DEFAULT_TTL_SECONDS = 300;
+  private static final long DEFAULT_NOT_FOUND_TTL_SECONDS = 60;
+  private static final int DEFAULT_MAX_SIZE = 10_000;
+  private static final long STATS_LOG_INTERVAL = 10_000;
+
+  private static ReferenceDataCache instance = fromEnvironment();
+
+  private final long ttlMillis;
+  private final long notFoundTtlMillis;
+  private final int maxSize;
+  private final Map<String, Entry> entries;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  public ReferenceDataCache(long ttlSeconds, long notFoundTtlSeconds, int maxSize) {
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    this.notFoundTtlMillis = TimeUnit.SECONDS.toMillis(notFoundTtlSeconds);
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        boolean evict = size() > ReferenceDataCache.this.maxSize;
+        if (evict) {
+          evictions.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  public static ReferenceDataCache getInstance() {
+    return instance;
+  }
+
+  public static void setInstance(ReferenceDataCache cache) {
+    instance = cache;
+  }
+
+  public boolean isEnabled() {
+    return ttlMillis > 0 && maxSize > 0;
+  }
+
+  /**
+   * Returns cached entry or null when there is nothing cached for the key or the entry
+   * has expired.
+   */
+  public synchronized Entry get(String tenant, String resourcePath, String id) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    String key = buildKey(tenant, resourcePath, id);
+    Entry entry = entries.get(key);
+
+    if (entry != null && entry.getExpiresAt() < currentTimeMillis()) {
+      entries.remove(key);
+      entry = null;
+    }
+
+    recordLookup(entry != null);
+
+    return entry;
+  }
+
+  public synchronized void put(String tenant, String resourcePath, String id, Object value) {
+    if (isEnabled()) {
+      entries.put(buildKey(tenant, resourcePath, id),
+        new Entry(value, null, currentTimeMillis() + ttlMillis));
+    }
+  }
+
+  public synchronized void putNotFound(String tenant, String resourcePath, String id,
+    HttpNotFoundException notFoundException) {
+
+    if (isEnabled() && notFoundTtlMillis > 0) {
+      entries.put(buildKey(tenant, resourcePath, id),
+        new Entry(null, notFoundException, currentTimeMillis() + notFoundTtlMillis));
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  private void recordLookup(boolean hit) {
+    long hitCount = hit ? hits.incrementAndGet() : hits.get();
+    long missCount = hit ? misses.get() : misses.incrementAndGet();
+
+    if ((hitCount + missCount) % STATS_LOG_INTERVAL == 0) {
+      log.info("Reference data cache stats: hits={}, misses={}, evictions={}, size={}",
+        hitCount, missCount, evictions.get(), entries.size());
+    }
+  }
+
+  private static String buildKey(String tenant, String resourcePath, String id) {
+    return tenant + ":" + resourcePath + "/" + id;
+  }
+
+  private static ReferenceDataCache fromEnvironment() {
+    return new ReferenceDataCache(
+      getLongSetting(TTL_SECONDS_ENV, DEFAULT_TTL_SECONDS),
+      getLongSetting(NOT_FOUND_TTL_SECONDS_ENV, DEFAULT_NOT_FOUND_TTL_SECONDS),
+      (int) getLongSetting(MAX_SIZE_ENV, DEFAULT_MAX_SIZE));
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Entry {
+    // null for "not found" entries
+    private final Object value;
+    private final HttpNotFoundException notFoundException;
+    private final long expiresAt;
+
+    public boolean isNotFound() {
+      return notFoundException != null;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package org.folio.rest.client;
+
+import static io.vertx.core.Future.failedFuture;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+/**
+ * Limits the number of requests in flight to a path of another module on behalf of a tenant.
+ * Limiters are shared by all clients and event loops of the module instance, so that concurrent
+ * reports of a tenant together cannot flood a module with more requests than a single one, while
+ * requests of other tenants are not queued behind them. Requests over the limit wait in a queue
+ * and are sent on the context they were issued on. A request which does not complete within the
+ * timeout fails and gives its slot to the next one.
+ */
+class RequestLimiter {
+  private static final Map<String, RequestLimiter> limiters = new ConcurrentHashMap<>();
+
+  private final int maxConcurrentRequests;
+  private final long timeoutMillis;
+  private final Queue<Runnable> waitingRequests = new ArrayDeque<>();
+  private int runningRequests;
+
+  RequestLimiter(int maxConcurrentRequests, long timeoutMillis) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  static RequestLimiter forPath(String okapiUrl, String tenant, String path,
+    int maxConcurrentRequests, long timeoutMillis) {
+
+    return limiters.computeIfAbsent(String.join("|", okapiUrl, tenant, path),
+      key -> new RequestLimiter(maxConcurrentRequests, timeoutMillis));
+  }
+
+  <T> Future<T> execute(Vertx vertx, Supplier<Future<T>> request) {
+    Promise<T> promise = Promise.promise();
+    Runnable task = () -> {
+      AtomicBoolean completed = new AtomicBoolean();
+      long timerId = vertx.setTimer(timeoutMillis, id -> {
+        if (completed.compareAndSet(false, true)) {
+          release();
+          promise.fail(new TimeoutException(
+            "Request did not complete within " + timeoutMillis + " ms"));
+        }
+      });
+
+      send(request).onComplete(result -> {
+        if (completed.compareAndSet(false, true)) {
+          vertx.cancelTimer(timerId);
+          release();
+          promise.handle(result);
+        }
+      });
+    };
+
+    boolean acquired;
+    synchronized (this) {
+      acquired = runningRequests < maxConcurrentRequests;
+      if (acquired) {
+        runningRequests++;
+      } else {
+        Context context = Vertx.currentContext();
+        waitingRequests.add(context == null ? task : () -> context.runOnContext(v -> task.run()));
+      }
+    }
+
+    if (acquired) {
+      task.run();
+    }
+
+    return promise.future();
+  }
+
+  private static <T> Future<T> send(Supplier<Future<T>> request) {
+    try {
+      return request.get();
+    } catch (Exception e) {
+      return failedFuture(e);
+    }
+  }
+
+  private void release() {
+    Runnable next;
+    synchronized (this) {
+      next = waitingRequests.poll();
+      // the slot is handed over to the next request
+      if (next == null) {
+        runningRequests--;
+      }
+    }
+
+    if (next != null) {
+      next.run();
+    }
+  }
+}
@@ -14,8 +14,14 @@ public class UsersClient extends OkapiClient {
     super(vertx, okapiHeaders);
   }
 
+  public UsersClient(Vertx vertx, Map<String, String> okapiHeaders,
+    WebClientProvider.Pool pool) {
+
+    super(vertx, okapiHeaders, pool);
+  }
+
   public Future<User> fetchUserById(String userId) {
-    return getById("/users", userId, User.class);
+    return getByIdBatched("/users", userId, User.class, "users", User::getId);
   }
 
   public Future<Collection<User>> fetchUsers(Collection<String> ids) {
@@ -23,10 +29,11 @@ public class UsersClient extends OkapiClient {
   }
 
   public Future<UserGroup> fetchUserGroupById(String userGroupId) {
-    return getById("/groups", userGroupId, UserGroup.class);
+    return getByIdCached("/groups", userGroupId, UserGroup.class);
   }
 
   public Future<Collection<UserGroup>> fetchUserGroupsByIds(Collection<String> userGroupIds) {
-    return getByIds("/groups", userGroupIds, UserGroup.class, "usergroups");
+    return getByIdsCached("/groups", userGroupIds, UserGroup.class, "usergroups",
+      UserGroup::getId);
   }
 }
@@ -2,18 +2,103 @@ package org.folio.rest.client;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.utils.EnvironmentUtils;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 
+/**
+ * Provides shared web clients, one per Vert.x instance and {@link Pool}. Client options are read
+ * from environment variables or system properties "WEB_CLIENT_{OPTION}", which can be overridden
+ * for a pool with "WEB_CLIENT_{POOL}_{OPTION}", e.g. WEB_CLIENT_BULK_MAX_POOL_SIZE.
+ */
 public class WebClientProvider {
-  private static final Map<Vertx, WebClient> webClients = new ConcurrentHashMap<>();
+  private static final Logger log = LogManager.getLogger(WebClientProvider.class);
+  private static final String SETTING_PREFIX = "WEB_CLIENT_";
+
+  private static final Map<Vertx, Map<Pool, WebClient>> webClients = new ConcurrentHashMap<>();
+
+  /**
+   * Separate connection pools, so that bulk lookups of reports cannot starve requests which a
+   * user is waiting for.
+   */
+  public enum Pool {
+    INTERACTIVE,
+    BULK
+  }
 
   private WebClientProvider() {
   }
 
   public static WebClient getWebClient(Vertx vertx) {
-    return webClients.computeIfAbsent(vertx, WebClient::create);
+    return getWebClient(vertx, Pool.INTERACTIVE);
+  }
+
+  public static WebClient getWebClient(Vertx vertx, Pool pool) {
+    return webClients.computeIfAbsent(vertx, v -> new ConcurrentHashMap<>())
+      .computeIfAbsent(pool, p -> createWebClient(vertx, p));
+  }
+
+  private static WebClient createWebClient(Vertx vertx, Pool pool) {
+    WebClientOptions options = createWebClientOptions(pool);
+    PoolOptions poolOptions = createPoolOptions(pool);
+
+    log.info("Creating {} web client: maxPoolSize={}, maxWaitQueueSize={}, protocol={}, " +
+        "keepAlive={}, pipelining={}", pool, poolOptions.getHttp1MaxSize(),
+      poolOptions.getMaxWaitQueueSize(), options.getProtocolVersion(), options.isKeepAlive(),
+      options.isPipelining());
+
+    return WebClient.create(vertx, options, poolOptions);
+  }
+
+  static WebClientOptions createWebClientOptions(Pool pool) {
+    WebClientOptions options = new WebClientOptions()
+      .setKeepAlive(getBooleanSetting(pool, "KEEP_ALIVE", HttpClientOptions.DEFAULT_KEEP_ALIVE))
+      .setPipelining(getBooleanSetting(pool, "PIPELINING", HttpClientOptions.DEFAULT_PIPELINING))
+      .setConnectTimeout((int) getLongSetting(pool, "CONNECT_TIMEOUT_MS",
+        HttpClientOptions.DEFAULT_CONNECT_TIMEOUT))
+      .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+      .setIdleTimeout((int) getLongSetting(pool, "IDLE_TIMEOUT_MS", 0))
+      .setReadIdleTimeout((int) getLongSetting(pool, "READ_TIMEOUT_MS", 0));
+
+    if (getBooleanSetting(pool, "HTTP2", false)) {
+      options.setProtocolVersion(HttpVersion.HTTP_2);
+    }
+
+    return options;
   }
 
+  static PoolOptions createPoolOptions(Pool pool) {
+    return new PoolOptions()
+      .setHttp1MaxSize((int) getLongSetting(pool, "MAX_POOL_SIZE",
+        PoolOptions.DEFAULT_MAX_POOL_SIZE))
+      .setHttp2MaxSize((int) getLongSetting(pool, "HTTP2_MAX_POOL_SIZE",
+        PoolOptions.DEFAULT_HTTP2_MAX_POOL_SIZE))
+      .setMaxWaitQueueSize((int) getLongSetting(pool, "MAX_WAIT_QUEUE_SIZE",
+        PoolOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE));
+  }
+
+  private static long getLongSetting(Pool pool, String option, long defaultValue) {
+    return EnvironmentUtils.getLongSetting(getPoolSettingName(pool, option),
+      EnvironmentUtils.getLongSetting(SETTING_PREFIX + option, defaultValue));
+  }
+
+  private static boolean getBooleanSetting(Pool pool, String option, boolean defaultValue) {
+    String value = EnvironmentUtils.getSetting(getPoolSettingName(pool, option),
+      EnvironmentUtils.getSetting(SETTING_PREFIX + option, null));
+
+    return value == null ? defaultValue : Boolean.parseBoolean(value);
+  }
+
+  private static String getPoolSettingName(Pool pool, String option) {
+    return SETTING_PREFIX + pool.name() + "_" + option;
+  }
 }
@@ -3,6 +3,7 @@ package org.folio.rest.domain;
 import java.util.Collections;
 import java.util.List;
 
+import org.folio.rest.jaxrs.model.BulkActionJobRequest;
 import org.folio.rest.jaxrs.model.CancelActionRequest;
 import org.folio.rest.jaxrs.model.CancelBulkActionRequest;
 import org.folio.rest.jaxrs.model.DefaultActionRequest;
@@ -121,4 +122,17 @@ public class ActionRequest {
       request.getNotifyPatron(),
       null);
   }
+
+  public static ActionRequest from(BulkActionJobRequest request) {
+    return new ActionRequest(
+      request.getAccountIds(),
+      request.getAmount(),
+      request.getComments(),
+      request.getTransactionInfo(),
+      request.getServicePointId(),
+      request.getUserName(),
+      request.getPaymentMethod(),
+      request.getNotifyPatron(),
+      null);
+  }
 }
@@ -0,0 +1,19 @@
+package org.folio.rest.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboxEvent {
+  // null until the event is saved
+  private final Long id;
+  private final EventType eventType;
+  // events with the same key are delivered in the order they were saved
+  private final String partitionKey;
+  private final String payload;
+
+  public OutboxEvent(EventType eventType, String partitionKey, String payload) {
+    this(null, eventType, partitionKey, payload);
+  }
+}
@@ -0,0 +1,20 @@
+package org.folio.rest.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Amount and number of payments of one cash drawer reconciliation report category.
+ */
+@Getter
+@AllArgsConstructor
+public class PaymentTotals {
+  private final String source;
+  private final String paymentMethod;
+  // false when the fee/fine of the payments did not exist, owner and type are null then
+  private final boolean accountFound;
+  private final String feeFineOwner;
+  private final String feeFineType;
+  private final MonetaryValue amount;
+  private final long count;
+}
@@ -18,6 +18,14 @@ public class HttpNotFoundException extends HttpException {
     this.objectId = objectId;
   }
 
+  public HttpNotFoundException(Class<?> objectType, String objectId, HttpMethod httpMethod,
+    String url, int responseStatus, String responseBody) {
+
+    super(httpMethod, url, responseStatus, responseBody);
+    this.objectType = objectType;
+    this.objectId = objectId;
+  }
+
   @Override
   public String getMessage() {
     return String.format("%s %s was not found", objectType.getSimpleName(), objectId);
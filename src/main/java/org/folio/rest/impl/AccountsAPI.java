@@ -1,17 +1,22 @@
 package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
+import static java.util.function.Function.identity;
 import static org.folio.rest.domain.Action.CANCEL;
 import static org.folio.rest.domain.Action.PAY;
 import static org.folio.rest.domain.Action.REFUND;
 import static org.folio.rest.domain.Action.TRANSFER;
 import static org.folio.rest.domain.Action.WAIVE;
 import static org.folio.rest.tools.messages.Messages.DEFAULT_LANGUAGE;
+import static org.folio.rest.utils.ProjectionHelper.projectedCollectionResponse;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.core.Response;
 
@@ -35,9 +40,8 @@ import org.folio.rest.jaxrs.model.CancelActionRequest;
 import org.folio.rest.jaxrs.model.CheckActionRequest;
 import org.folio.rest.jaxrs.model.CheckActionResponse;
 import org.folio.rest.jaxrs.model.DefaultActionRequest;
-import org.folio.rest.jaxrs.model.HoldingsRecords;
+import org.folio.rest.jaxrs.model.HoldingsRecord;
 import org.folio.rest.jaxrs.model.Item;
-import org.folio.rest.jaxrs.model.Items;
 import org.folio.rest.jaxrs.resource.Accounts;
 import org.folio.rest.persist.Criteria.Criteria;
 import org.folio.rest.persist.Criteria.Criterion;
@@ -49,6 +53,7 @@ import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.facets.FacetManager;
+import org.folio.rest.repository.AccountRepository;
 import org.folio.rest.service.AccountEventPublisher;
 import org.folio.rest.service.AccountUpdateService;
 import org.folio.rest.service.action.CancelActionService;
@@ -64,17 +69,22 @@ import org.folio.rest.tools.messages.MessageConsts;
 import org.folio.rest.tools.messages.Messages;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.rest.utils.ActionResultAdapter;
+import org.folio.rest.utils.ProjectionHelper;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 
 public class AccountsAPI implements Accounts {
   private static final Logger logger = LogManager.getLogger(AccountsAPI.class);
   private static final String ACCOUNTS_TABLE = "accounts";
   private static final String ACCOUNT_ID_FIELD = "'id'";
+  private static final String ITEM_ID_FIELD = "itemId";
+  private static final String HOLDINGS_RECORD_ID_FIELD = "holdingsRecordId";
+  private static final String INSTANCE_ID_FIELD = "instanceId";
   private static final String OKAPI_HEADER_TENANT = "x-okapi-tenant";
   private final Messages messages = Messages.getInstance();
 
@@ -83,6 +93,10 @@ public class AccountsAPI implements Accounts {
     return new CQLWrapper(cql2pgJson, query).setLimit(new Limit(limit)).setOffset(new Offset(offset));
   }
 
+  /**
+   * Fills in holdings record and instance IDs of accounts which have an item but do not store
+   * these IDs yet. Items and holdings records are fetched in batches and joined by ID.
+   */
   private Future<Void> setAdditionalFields(Vertx vertx, Map<String, String> okapiHeaders,
     List<Account> accounts) {
 
@@ -90,46 +104,76 @@ public class AccountsAPI implements Accounts {
       return succeededFuture(null);
     }
 
+    List<Account> accountsToEnrich = accounts.stream()
+      .filter(account -> account.getItemId() != null)
+      .filter(account -> account.getHoldingsRecordId() == null || account.getInstanceId() == null)
+      .collect(Collectors.toList());
+
+    if (accountsToEnrich.isEmpty()) {
+      return succeededFuture(null);
+    }
+
     InventoryClient inventoryClient = new InventoryClient(vertx, okapiHeaders);
 
-    List<String> itemIds = accounts.stream()
+    Set<String> itemIds = accountsToEnrich.stream()
       .map(Account::getItemId)
-      .filter(Objects::nonNull)
-      .collect(Collectors.toList());
-
-    return succeededFuture(new AdditionalFieldsContext(null, null))
-      .compose(ctx -> inventoryClient.getItemsById(itemIds)
-        .map(ctx::withItems))
-      .compose(ctx -> inventoryClient.getHoldingsById(ctx.items.getItems().stream()
-          .map(Item::getHoldingsRecordId)
-          .collect(Collectors.toList()))
-        .map(ctx::withHoldings))
-      .compose(ctx -> {
-        accounts.stream()
-          .filter(a -> a.getItemId() != null)
-          .forEach(account ->
-            ctx.items.getItems().stream()
-              .filter(item -> item.getHoldingsRecordId() != null)
-              .filter(item -> item.getId().equals(account.getItemId()))
-              .findAny()
-              .flatMap(item -> ctx.holdings.getHoldingsRecords().stream()
-                .filter(holding -> item.getHoldingsRecordId().equals(holding.getId()))
-                .findAny())
-              .ifPresent(holding -> account
-                .withHoldingsRecordId(holding.getId())
-                .withInstanceId(holding.getInstanceId())
-              )
-          );
-
-        return succeededFuture(null);
-      });
+      .collect(Collectors.toSet());
+
+    return inventoryClient.getItemsByIds(itemIds)
+      .map(items -> items.stream()
+        .filter(item -> item.getHoldingsRecordId() != null)
+        .collect(Collectors.toMap(Item::getId, Item::getHoldingsRecordId, (a, b) -> a)))
+      .compose(holdingsIdsByItemId -> inventoryClient.getHoldingsByIds(
+          new HashSet<>(holdingsIdsByItemId.values()))
+        .map(holdings -> holdings.stream()
+          .collect(Collectors.toMap(HoldingsRecord::getId, identity(), (a, b) -> a)))
+        .map(holdingsById -> {
+          accountsToEnrich.forEach(account -> Optional.ofNullable(
+              holdingsIdsByItemId.get(account.getItemId()))
+            .map(holdingsById::get)
+            .ifPresent(holding -> account
+              .withHoldingsRecordId(holding.getId())
+              .withInstanceId(holding.getInstanceId())));
+          return null;
+        }));
   }
 
   @Validate
   @Override
-  public void getAccounts(String query, String orderBy, AccountsGetOrder order, String totalRecords,
-    int offset, int limit, List<String> facets, Map<String, String> okapiHeaders,
-    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getAccounts(String cursor, String fields, String query, String orderBy,
+    AccountsGetOrder order, String totalRecords, int offset, int limit, List<String> facets,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    if (cursor != null && fields != null) {
+      asyncResultHandler.handle(succeededFuture(GetAccountsResponse.respond400WithTextPlain(
+        "fields is not supported with cursor")));
+      return;
+    }
+
+    if (cursor != null && offset != 0) {
+      asyncResultHandler.handle(succeededFuture(GetAccountsResponse.respond400WithTextPlain(
+        "offset is not supported with cursor")));
+      return;
+    }
+
+    if (cursor != null && facets != null && !facets.isEmpty()) {
+      asyncResultHandler.handle(succeededFuture(GetAccountsResponse.respond400WithTextPlain(
+        "facets is not supported with cursor")));
+      return;
+    }
+
+    if (fields != null) {
+      getProjectedAccounts(fields, query, totalRecords, offset, limit, okapiHeaders,
+        asyncResultHandler, vertxContext);
+      return;
+    }
+
+    if (cursor != null) {
+      getAccountsPage(cursor, query, totalRecords, limit, okapiHeaders, asyncResultHandler,
+        vertxContext);
+      return;
+    }
 
     String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
     List<FacetField> facetList = FacetManager.convertFacetStrings2FacetFields(facets, "jsonb");
@@ -197,6 +241,101 @@ public class AccountsAPI implements Accounts {
     }
   }
 
+  private void getProjectedAccounts(String fields, String query, String totalRecords,
+    int offset, int limit, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    succeededFuture(fields)
+      .map(ProjectionHelper::parseFields)
+      .compose(fieldList -> getProjectedAccounts(fieldList, query, totalRecords, offset, limit,
+        okapiHeaders, vertxContext))
+      .onSuccess(collection -> asyncResultHandler.handle(succeededFuture(
+        projectedCollectionResponse(collection))))
+      .onFailure(throwable -> {
+        logger.error("Failed to get projected accounts", throwable);
+        asyncResultHandler.handle(succeededFuture(throwable instanceof IllegalArgumentException
+          ? GetAccountsResponse.respond400WithTextPlain(throwable.getMessage())
+          : GetAccountsResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
+  /**
+   * Legacy accounts do not store holdings record and instance IDs, so when either is requested
+   * the item ID is fetched too and the IDs are looked up like for full accounts. Fields which
+   * were only fetched for the lookup are removed again.
+   */
+  private Future<String> getProjectedAccounts(List<String> fields, String query,
+    String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
+    Context vertxContext) {
+
+    AccountRepository accountRepository = new AccountRepository(vertxContext, okapiHeaders);
+
+    if (!fields.contains(HOLDINGS_RECORD_ID_FIELD) && !fields.contains(INSTANCE_ID_FIELD)) {
+      return accountRepository.getProjected(query, fields, offset, limit, totalRecords);
+    }
+
+    Set<String> lookupFields = Set.of(ITEM_ID_FIELD, HOLDINGS_RECORD_ID_FIELD, INSTANCE_ID_FIELD);
+    List<String> fieldsWithLookup = Stream.concat(fields.stream(), lookupFields.stream())
+      .distinct()
+      .collect(Collectors.toList());
+
+    return accountRepository.getProjected(query, fieldsWithLookup, offset, limit, totalRecords)
+      .map(JsonObject::new)
+      .compose(collection -> {
+        List<JsonObject> projectedAccounts = collection.getJsonArray("accounts").stream()
+          .map(JsonObject.class::cast)
+          .collect(Collectors.toList());
+        List<Account> accounts = projectedAccounts.stream()
+          .map(account -> new Account()
+            .withItemId(account.getString(ITEM_ID_FIELD))
+            .withHoldingsRecordId(account.getString(HOLDINGS_RECORD_ID_FIELD))
+            .withInstanceId(account.getString(INSTANCE_ID_FIELD)))
+          .collect(Collectors.toList());
+
+        return setAdditionalFields(vertxContext.owner(), okapiHeaders, accounts)
+          .otherwise(throwable -> {
+            logger.warn("Failed to look up holdings records and instances of accounts",
+              throwable);
+            return null;
+          })
+          .map(ignored -> {
+            for (int i = 0; i < accounts.size(); i++) {
+              JsonObject projectedAccount = projectedAccounts.get(i);
+              Account account = accounts.get(i);
+              projectedAccount.put(HOLDINGS_RECORD_ID_FIELD, account.getHoldingsRecordId());
+              projectedAccount.put(INSTANCE_ID_FIELD, account.getInstanceId());
+              lookupFields.forEach(field -> {
+                if (!fields.contains(field) || projectedAccount.getValue(field) == null) {
+                  projectedAccount.remove(field);
+                }
+              });
+            }
+            return collection.encode();
+          });
+      });
+  }
+
+  private void getAccountsPage(String cursor, String query, String totalRecords, int limit,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    new AccountRepository(vertxContext, okapiHeaders)
+      .getPage(query, cursor, limit, totalRecords)
+      .compose(page -> setAdditionalFields(vertxContext.owner(), okapiHeaders, page.getRecords())
+        .map(page))
+      .onSuccess(page -> asyncResultHandler.handle(succeededFuture(
+        GetAccountsResponse.respond200WithApplicationJson(new AccountdataCollection()
+          .withAccounts(page.getRecords())
+          .withNextCursor(page.getNextCursor())
+          .withTotalRecords(page.getTotalRecords())))))
+      .onFailure(throwable -> {
+        logger.error("Failed to get page of accounts", throwable);
+        asyncResultHandler.handle(succeededFuture(throwable instanceof IllegalArgumentException
+          ? GetAccountsResponse.respond400WithTextPlain(throwable.getMessage())
+          : GetAccountsResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
   @Validate
   @Override
   public void postAccounts(Account entity, Map<String, String> okapiHeaders,
@@ -525,22 +664,4 @@ public class AccountsAPI implements Accounts {
       }
     }
   }
-
-  private static class AdditionalFieldsContext {
-    final Items items;
-    final HoldingsRecords holdings;
-
-    private AdditionalFieldsContext(Items items, HoldingsRecords holdings) {
-      this.items = items;
-      this.holdings = holdings;
-    }
-
-    private AdditionalFieldsContext withItems(Items items) {
-      return new AdditionalFieldsContext(items, this.holdings);
-    }
-
-    private AdditionalFieldsContext withHoldings(HoldingsRecords holdings) {
-      return new AdditionalFieldsContext(this.items, holdings);
-    }
-  }
 }
@@ -1,10 +1,13 @@
 package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static org.folio.rest.domain.Action.CANCEL;
 import static org.folio.rest.domain.Action.PAY;
 import static org.folio.rest.domain.Action.TRANSFER;
 import static org.folio.rest.domain.Action.WAIVE;
+import static org.folio.rest.utils.PermissionHelper.hasPermission;
 
 import java.util.List;
 import java.util.Map;
@@ -18,12 +21,18 @@ import org.folio.rest.domain.ActionRequest;
 import org.folio.rest.exception.AccountNotFoundValidationException;
 import org.folio.rest.exception.FailedValidationException;
 import org.folio.rest.jaxrs.model.BulkActionFailureResponse;
+import org.folio.rest.jaxrs.model.BulkActionJob;
+import org.folio.rest.jaxrs.model.BulkActionJobRequest;
 import org.folio.rest.jaxrs.model.BulkActionSuccessResponse;
+import org.folio.rest.jaxrs.model.BulkChargeRequest;
+import org.folio.rest.jaxrs.model.BulkChargeResponse;
 import org.folio.rest.jaxrs.model.BulkCheckActionRequest;
 import org.folio.rest.jaxrs.model.BulkCheckActionResponse;
 import org.folio.rest.jaxrs.model.CancelBulkActionRequest;
 import org.folio.rest.jaxrs.model.DefaultBulkActionRequest;
 import org.folio.rest.jaxrs.resource.AccountsBulk;
+import org.folio.rest.service.BulkActionJobService;
+import org.folio.rest.service.FeeFineChargeService;
 import org.folio.rest.service.action.CancelActionService;
 import org.folio.rest.service.action.PayActionService;
 import org.folio.rest.service.action.RefundActionService;
@@ -41,6 +50,7 @@ import io.vertx.core.Handler;
 
 public class AccountsBulkAPI implements AccountsBulk {
   private static final Logger logger = LogManager.getLogger(AccountsBulkAPI.class);
+  private static final String BULK_ACTION_PERMISSION = "feesfines.accounts-bulk.%s.post";
 
   @Override
   public void postAccountsBulkCheckPay(BulkCheckActionRequest request,
@@ -138,6 +148,62 @@ public class AccountsBulkAPI implements AccountsBulk {
       .onComplete(result -> handleActionResult(actionRequest, result, asyncResultHandler, Action.REFUND));
   }
 
+  @Override
+  public void postAccountsBulkCharge(BulkChargeRequest request, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    new FeeFineChargeService(vertxContext, okapiHeaders)
+      .chargeFeeFines(request.getCharges())
+      .onSuccess(charges -> asyncResultHandler.handle(succeededFuture(
+        PostAccountsBulkChargeResponse.respond201WithApplicationJson(new BulkChargeResponse()
+          .withAccountIds(charges.stream()
+            .map(charge -> charge.getAccount().getId())
+            .collect(toList()))
+          .withFeefineactionIds(charges.stream()
+            .map(charge -> charge.getAction().getId())
+            .collect(toList()))))))
+      .onFailure(throwable -> {
+        String errorMessage = throwable.getLocalizedMessage();
+        logger.error(errorMessage, throwable);
+        asyncResultHandler.handle(succeededFuture(throwable instanceof FailedValidationException
+          ? PostAccountsBulkChargeResponse.respond422WithTextPlain(errorMessage)
+          : PostAccountsBulkChargeResponse.respond500WithTextPlain(errorMessage)));
+      });
+  }
+
+  @Override
+  public void postAccountsBulkJobs(BulkActionJobRequest request, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    // the job is allowed to perform only the actions the user has bulk action permissions for
+    String requiredPermission = format(BULK_ACTION_PERMISSION, request.getAction().value());
+    if (!hasPermission(okapiHeaders, requiredPermission)) {
+      asyncResultHandler.handle(succeededFuture(PostAccountsBulkJobsResponse.respond403WithTextPlain(
+        "Access requires permission: " + requiredPermission)));
+      return;
+    }
+
+    new BulkActionJobService(okapiHeaders, vertxContext)
+      .startJob(request)
+      .onComplete(result -> handleJobResult(request, result, asyncResultHandler));
+  }
+
+  @Override
+  public void getAccountsBulkJobsByJobId(String jobId, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    new BulkActionJobService(okapiHeaders, vertxContext)
+      .getJob(jobId)
+      .onSuccess(job -> asyncResultHandler.handle(succeededFuture(job == null
+        ? GetAccountsBulkJobsByJobIdResponse.respond404WithTextPlain("Job was not found: " + jobId)
+        : GetAccountsBulkJobsByJobIdResponse.respond200WithApplicationJson(job))))
+      .onFailure(throwable -> {
+        logger.error("Failed to get bulk action job {}", jobId, throwable);
+        asyncResultHandler.handle(succeededFuture(
+          GetAccountsBulkJobsByJobIdResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
   private void checkBulkAction(BulkCheckActionRequest request,
     Handler<AsyncResult<Response>> asyncResultHandler,
     ActionValidationService validationService, Action action) {
@@ -196,6 +262,34 @@ public class AccountsBulkAPI implements AccountsBulk {
     return bulkCheckActionResponse;
   }
 
+  private void handleJobResult(BulkActionJobRequest request, AsyncResult<BulkActionJob> asyncResult,
+    Handler<AsyncResult<Response>> asyncResultHandler) {
+
+    if (asyncResult.succeeded()) {
+      asyncResultHandler.handle(succeededFuture(
+        PostAccountsBulkJobsResponse.respond202WithApplicationJson(asyncResult.result())));
+      return;
+    }
+
+    final Throwable cause = asyncResult.cause();
+    String errorMessage = cause.getLocalizedMessage();
+    logger.error(errorMessage, cause);
+    if (cause instanceof FailedValidationException) {
+      BulkActionFailureResponse response = new BulkActionFailureResponse()
+        .withAccountIds(request.getAccountIds())
+        .withErrorMessage(errorMessage)
+        .withAmount(request.getAmount());
+      asyncResultHandler.handle(succeededFuture(
+        PostAccountsBulkJobsResponse.respond422WithApplicationJson(response)));
+    } else if (cause instanceof AccountNotFoundValidationException) {
+      asyncResultHandler.handle(succeededFuture(
+        PostAccountsBulkJobsResponse.respond404WithTextPlain(errorMessage)));
+    } else {
+      asyncResultHandler.handle(succeededFuture(
+        PostAccountsBulkJobsResponse.respond500WithTextPlain(errorMessage)));
+    }
+  }
+
   private void handleActionResult(ActionRequest request,
     AsyncResult<ActionContext> asyncResult, Handler<AsyncResult<Response>> asyncResultHandler,
     Action action) {
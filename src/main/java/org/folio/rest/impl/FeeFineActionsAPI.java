@@ -3,6 +3,7 @@ package org.folio.rest.impl;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 import static org.folio.rest.service.LogEventPublisher.LogEventPayloadType.FEE_FINE;
 import static org.folio.rest.tools.messages.Messages.DEFAULT_LANGUAGE;
+import static org.folio.rest.utils.ProjectionHelper.projectedCollectionResponse;
 
 import java.io.IOException;
 import java.util.List;
@@ -27,12 +28,14 @@ import org.folio.rest.persist.PgExceptionUtil;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.cql.CQLWrapper;
+import org.folio.rest.repository.FeeFineActionRepository;
 import org.folio.rest.service.LogEventPublisher;
 import org.folio.rest.service.LogEventService;
 import org.folio.rest.service.PatronNoticeService;
 import org.folio.rest.tools.messages.MessageConsts;
 import org.folio.rest.tools.messages.Messages;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.rest.utils.ProjectionHelper;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -59,9 +62,34 @@ public class FeeFineActionsAPI implements Feefineactions {
 
   @Validate
   @Override
-  public void getFeefineactions(String query, String orderBy, FeefineactionsGetOrder order,
-    String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
-    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getFeefineactions(String cursor, String fields, String query, String orderBy,
+    FeefineactionsGetOrder order, String totalRecords, int offset, int limit,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    if (cursor != null && fields != null) {
+      asyncResultHandler.handle(Future.succeededFuture(
+        GetFeefineactionsResponse.respond400WithTextPlain("fields is not supported with cursor")));
+      return;
+    }
+
+    if (cursor != null && offset != 0) {
+      asyncResultHandler.handle(Future.succeededFuture(
+        GetFeefineactionsResponse.respond400WithTextPlain("offset is not supported with cursor")));
+      return;
+    }
+
+    if (fields != null) {
+      getProjectedFeefineactions(fields, query, totalRecords, offset, limit, okapiHeaders,
+        asyncResultHandler, vertxContext);
+      return;
+    }
+
+    if (cursor != null) {
+      getFeefineactionsPage(cursor, query, totalRecords, limit, okapiHeaders,
+        asyncResultHandler, vertxContext);
+      return;
+    }
 
     String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
 
@@ -135,6 +163,45 @@ public class FeeFineActionsAPI implements Feefineactions {
     }
   }
 
+  private void getProjectedFeefineactions(String fields, String query, String totalRecords,
+    int offset, int limit, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    Future.succeededFuture(fields)
+      .map(ProjectionHelper::parseFields)
+      .compose(fieldList -> new FeeFineActionRepository(okapiHeaders, vertxContext)
+        .getProjected(query, fieldList, offset, limit, totalRecords))
+      .onSuccess(collection -> asyncResultHandler.handle(Future.succeededFuture(
+        projectedCollectionResponse(collection))))
+      .onFailure(throwable -> {
+        logger.error("Failed to get projected feefineactions", throwable);
+        asyncResultHandler.handle(Future.succeededFuture(
+          throwable instanceof IllegalArgumentException
+            ? GetFeefineactionsResponse.respond400WithTextPlain(throwable.getMessage())
+            : GetFeefineactionsResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
+  private void getFeefineactionsPage(String cursor, String query, String totalRecords,
+    int limit, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    new FeeFineActionRepository(okapiHeaders, vertxContext)
+      .getPage(query, cursor, limit, totalRecords)
+      .onSuccess(page -> asyncResultHandler.handle(Future.succeededFuture(
+        GetFeefineactionsResponse.respond200WithApplicationJson(new FeefineactiondataCollection()
+          .withFeefineactions(page.getRecords())
+          .withNextCursor(page.getNextCursor())
+          .withTotalRecords(page.getTotalRecords())))))
+      .onFailure(throwable -> {
+        logger.error("Failed to get page of feefineactions", throwable);
+        asyncResultHandler.handle(Future.succeededFuture(
+          throwable instanceof IllegalArgumentException
+            ? GetFeefineactionsResponse.respond400WithTextPlain(throwable.getMessage())
+            : GetFeefineactionsResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
   @Validate
   @Override
   public void postFeefineactions(Feefineaction entity, Map<String, String> okapiHeaders,
@@ -4,9 +4,10 @@ import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static java.lang.String.format;
 import static org.folio.rest.utils.DateUtils.parseDateReportParameter;
+import static org.folio.rest.utils.PermissionHelper.hasPermission;
 
-import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import javax.ws.rs.core.Response;
@@ -19,17 +20,25 @@ import org.folio.rest.jaxrs.model.CashDrawerReconciliationReportRequest;
 import org.folio.rest.jaxrs.model.CashDrawerReconciliationReportSourcesRequest;
 import org.folio.rest.jaxrs.model.FinancialTransactionsDetailReportRequest;
 import org.folio.rest.jaxrs.model.RefundReportRequest;
+import org.folio.rest.jaxrs.model.ReportJob;
+import org.folio.rest.jaxrs.model.ReportJobRequest;
 import org.folio.rest.jaxrs.resource.FeefineReports;
 import org.folio.rest.service.report.CashDrawerReconciliationReportService;
 import org.folio.rest.service.report.FinancialTransactionsDetailReportService;
 import org.folio.rest.service.report.RefundReportService;
+import org.folio.rest.service.report.ReportJobService;
+import org.folio.rest.service.report.ReportWriter;
 import org.folio.rest.service.report.parameters.CashDrawerReconciliationReportParameters;
 import org.folio.rest.service.report.parameters.FinancialTransactionsDetailReportParameters;
+import org.folio.rest.service.report.parameters.RefundReportParameters;
+import org.folio.rest.tools.utils.BinaryOutStream;
 import org.joda.time.DateTime;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 
 public class FeeFineReportsAPI implements FeefineReports {
   private static final Logger log = LogManager.getLogger(FeeFineReportsAPI.class);
@@ -38,6 +47,17 @@ public class FeeFineReportsAPI implements FeefineReports {
   private static final String START_DATE_IS_NULL_MESSAGE = "Start date should not be empty";
   private static final String INVALID_START_DATE_OR_END_DATE_MESSAGE = "Invalid startDate or endDate parameter";
   private static final String INTERNAL_SERVER_ERROR_MESSAGE = "Internal server error";
+  private static final String MISSING_REPORT_PARAMETERS_MESSAGE = "Report parameters are missing";
+  private static final String JOB_NOT_FOUND_MESSAGE = "Job was not found: ";
+  private static final String ACCESS_REQUIRES_PERMISSION_MESSAGE = "Access requires permission: ";
+  private static final String GZIP_ENCODING = "gzip";
+
+  private static final Map<ReportJobRequest.ReportType, String> REPORT_PERMISSIONS = Map.of(
+    ReportJobRequest.ReportType.REFUND, "feefine-reports.refund.post",
+    ReportJobRequest.ReportType.CASH_DRAWER_RECONCILIATION,
+    "feesfines.feefine-reports.cash-drawer-reconciliation.post",
+    ReportJobRequest.ReportType.FINANCIAL_TRANSACTIONS_DETAIL,
+    "feefine-reports.financial-transactions-detail.post");
 
   @Validate
   @Override
@@ -48,31 +68,8 @@ public class FeeFineReportsAPI implements FeefineReports {
     log.info("Refund report requested, parameters: startDate={}, endDate={}",
       entity.getStartDate(), entity.getEndDate());
 
-    String rawStartDate = entity.getStartDate();
-    String rawEndDate = entity.getEndDate();
-
-    if (rawStartDate == null && rawEndDate != null) {
-      log.error("startDate is null and endDate is not null");
-
-      handleReportResult(
-        failedFuture(new FailedValidationException(INVALID_START_DATE_MESSAGE)),
-        asyncResultHandler);
-      return;
-    }
-
-    DateTime startDate;
-    DateTime endDate;
-
-    try {
-      startDate = parseDateReportParameter(rawStartDate);
-      endDate = parseDateReportParameter(rawEndDate);
-    } catch (IllegalArgumentException e) {
-      logInvalidDatesAndHandleResult(rawStartDate, rawEndDate, asyncResultHandler);
-      return;
-    }
-
-    new RefundReportService(okapiHeaders, vertxContext)
-      .buildReport(startDate, endDate, entity.getFeeFineOwners())
+    toRefundReportParameters(entity)
+      .compose(params -> new RefundReportService(okapiHeaders, vertxContext).build(params))
       .onComplete(result -> handleReportResult(result, asyncResultHandler,
         PostFeefineReportsRefundResponse::respond200WithApplicationJson));
   }
@@ -82,28 +79,13 @@ public class FeeFineReportsAPI implements FeefineReports {
     Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
     Context vertxContext) {
 
-    String rawStartDate = entity.getStartDate();
-    String rawEndDate = entity.getEndDate();
-    String createdAt = entity.getCreatedAt();
-    List<String> sources = entity.getSources();
-
     log.info("Cash drawer reconciliation report requested, parameters: startDate={}, endDate={}, " +
-      "createdAt={}, sources={}", rawStartDate, rawEndDate, createdAt, sources);
-
-    DateTime startDate;
-    DateTime endDate;
-
-    try {
-      startDate = parseDateReportParameter(rawStartDate);
-      endDate = parseDateReportParameter(rawEndDate);
-    } catch (IllegalArgumentException e) {
-      logInvalidDatesAndHandleResult(rawStartDate, rawEndDate, asyncResultHandler);
-      return;
-    }
+      "createdAt={}, sources={}", entity.getStartDate(), entity.getEndDate(),
+      entity.getCreatedAt(), entity.getSources());
 
-    new CashDrawerReconciliationReportService(okapiHeaders, vertxContext)
-      .build(new CashDrawerReconciliationReportParameters(startDate, endDate,
-        entity.getCreatedAt(), entity.getSources()))
+    toCashDrawerReconciliationReportParameters(entity)
+      .compose(params -> new CashDrawerReconciliationReportService(okapiHeaders, vertxContext)
+        .build(params))
       .onComplete(result -> handleReportResult(result, asyncResultHandler,
         PostFeefineReportsCashDrawerReconciliationResponse::respond200WithApplicationJson));
   }
@@ -129,35 +111,194 @@ public class FeeFineReportsAPI implements FeefineReports {
     FinancialTransactionsDetailReportRequest entity, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    String rawStartDate = entity.getStartDate();
-    String rawEndDate = entity.getEndDate();
-    List<String> createdAt = entity.getCreatedAt();
-    String owner = entity.getFeeFineOwner();
-
     log.info("Financial transactions detail report requested, parameters: startDate={}, " +
-      "endDate={}, createdAt={}, owner={}", rawStartDate, rawEndDate, createdAt, owner);
+      "endDate={}, createdAt={}, owner={}", entity.getStartDate(), entity.getEndDate(),
+      entity.getCreatedAt(), entity.getFeeFineOwner());
 
-    DateTime startDate;
-    DateTime endDate;
+    toFinancialTransactionsDetailReportParameters(entity)
+      .compose(params -> new FinancialTransactionsDetailReportService(okapiHeaders, vertxContext)
+        .build(params))
+      .onComplete(result -> handleReportResult(result, asyncResultHandler,
+        PostFeefineReportsFinancialTransactionsDetailResponse::respond200WithApplicationJson));
+  }
 
-    try {
-      startDate = parseDateReportParameter(rawStartDate);
-      endDate = parseDateReportParameter(rawEndDate);
-    } catch (IllegalArgumentException e) {
-      logInvalidDatesAndHandleResult(rawStartDate, rawEndDate, asyncResultHandler);
+  @Validate
+  @Override
+  public void postFeefineReportsJobs(ReportJobRequest entity, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    ReportJobRequest.ReportType reportType = entity.getReportType();
+
+    log.info("Report job requested, reportType={}", reportType);
+
+    // the job is allowed to build only the reports the user has permissions for
+    String requiredPermission = REPORT_PERMISSIONS.get(reportType);
+    if (!hasPermission(okapiHeaders, requiredPermission)) {
+      asyncResultHandler.handle(succeededFuture(PostFeefineReportsJobsResponse
+        .respond403WithTextPlain(ACCESS_REQUIRES_PERMISSION_MESSAGE + requiredPermission)));
       return;
     }
 
-    new FinancialTransactionsDetailReportService(okapiHeaders, vertxContext)
-      .build(new FinancialTransactionsDetailReportParameters(startDate, endDate, owner, createdAt))
+    getReportWriter(entity, okapiHeaders, vertxContext)
+      .compose(reportWriter -> new ReportJobService(okapiHeaders, vertxContext)
+        .startJob(entity, reportWriter))
       .onComplete(result -> handleReportResult(result, asyncResultHandler,
-        PostFeefineReportsFinancialTransactionsDetailResponse::respond200WithApplicationJson));
+        PostFeefineReportsJobsResponse::respond202WithApplicationJson));
   }
 
-  private <T> void handleReportResult(AsyncResult<T> asyncResult,
-    Handler<AsyncResult<Response>> asyncResultHandler) {
+  @Override
+  public void getFeefineReportsJobsByJobId(String jobId, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    new ReportJobService(okapiHeaders, vertxContext)
+      .getJob(jobId)
+      .map(job -> {
+        if (job == null) {
+          return GetFeefineReportsJobsByJobIdResponse.respond404WithTextPlain(
+            JOB_NOT_FOUND_MESSAGE + jobId);
+        }
+        String requiredPermission = getReportPermission(job);
+        if (!hasPermission(okapiHeaders, requiredPermission)) {
+          return GetFeefineReportsJobsByJobIdResponse.respond403WithTextPlain(
+            ACCESS_REQUIRES_PERMISSION_MESSAGE + requiredPermission);
+        }
+
+        return GetFeefineReportsJobsByJobIdResponse.respond200WithApplicationJson(job);
+      })
+      .onSuccess(response -> asyncResultHandler.handle(succeededFuture(response)))
+      .onFailure(throwable -> {
+        log.error("Failed to get report job {}", jobId, throwable);
+        asyncResultHandler.handle(succeededFuture(
+          GetFeefineReportsJobsByJobIdResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
+  @Override
+  public void getFeefineReportsJobsResultByJobId(String jobId, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    ReportJobService reportJobService = new ReportJobService(okapiHeaders, vertxContext);
+
+    reportJobService.getJob(jobId)
+      .compose(job -> {
+        if (job == null) {
+          return succeededFuture(GetFeefineReportsJobsResultByJobIdResponse
+            .respond404WithTextPlain(JOB_NOT_FOUND_MESSAGE + jobId));
+        }
+        String requiredPermission = getReportPermission(job);
+        if (!hasPermission(okapiHeaders, requiredPermission)) {
+          return succeededFuture(GetFeefineReportsJobsResultByJobIdResponse
+            .respond403WithTextPlain(ACCESS_REQUIRES_PERMISSION_MESSAGE + requiredPermission));
+        }
+        if (job.getStatus() != ReportJob.Status.COMPLETED) {
+          return succeededFuture(GetFeefineReportsJobsResultByJobIdResponse
+            .respond409WithTextPlain("Report job is not completed: " + job.getStatus()));
+        }
+
+        return reportJobService.getResult(job)
+          .map(result -> result == null
+            ? GetFeefineReportsJobsResultByJobIdResponse.respond404WithTextPlain(
+              "Report job result was not found: " + jobId)
+            : GetFeefineReportsJobsResultByJobIdResponse.respond200WithApplicationJson(
+              toBinaryOutStream(result),
+              GetFeefineReportsJobsResultByJobIdResponse.headersFor200()
+                .withContentEncoding(GZIP_ENCODING)));
+      })
+      .onSuccess(response -> asyncResultHandler.handle(succeededFuture(response)))
+      .onFailure(throwable -> {
+        log.error("Failed to get result of report job {}", jobId, throwable);
+        asyncResultHandler.handle(succeededFuture(GetFeefineReportsJobsResultByJobIdResponse
+          .respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
+  // stored result is sent as it is, without decoding and encoding the report again
+  private static BinaryOutStream toBinaryOutStream(Buffer result) {
+    BinaryOutStream outStream = new BinaryOutStream();
+    outStream.setData(result.getBytes());
+    return outStream;
+  }
+
+  // jobs and their results are available only to users who can build the report themselves
+  private static String getReportPermission(ReportJob job) {
+    return REPORT_PERMISSIONS.get(
+      ReportJobRequest.ReportType.fromValue(job.getReportType().value()));
+  }
+
+  private Future<ReportWriter> getReportWriter(ReportJobRequest entity,
+    Map<String, String> okapiHeaders, Context vertxContext) {
+
+    switch (entity.getReportType()) {
+    case REFUND:
+      return getReportRequest(entity.getRefundReportRequest())
+        .compose(FeeFineReportsAPI::toRefundReportParameters)
+        .map(params -> ReportWriter.of(vertxContext,
+          () -> new RefundReportService(okapiHeaders, vertxContext).build(params)));
+    case CASH_DRAWER_RECONCILIATION:
+      return getReportRequest(entity.getCashDrawerReconciliationReportRequest())
+        .compose(FeeFineReportsAPI::toCashDrawerReconciliationReportParameters)
+        .map(params -> ReportWriter.of(vertxContext,
+          () -> new CashDrawerReconciliationReportService(okapiHeaders, vertxContext)
+            .build(params)));
+    case FINANCIAL_TRANSACTIONS_DETAIL:
+      // entries of this report are written as they are built, it can have up to a million rows
+      return getReportRequest(entity.getFinancialTransactionsDetailReportRequest())
+        .compose(FeeFineReportsAPI::toFinancialTransactionsDetailReportParameters)
+        .map(params -> outputStream -> new FinancialTransactionsDetailReportService(okapiHeaders,
+          vertxContext).writeTo(params, outputStream));
+    default:
+      return failedFuture(new FailedValidationException(
+        "Unsupported report type: " + entity.getReportType()));
+    }
+  }
+
+  private static <T> Future<T> getReportRequest(T reportRequest) {
+    return reportRequest == null
+      ? failedFuture(new FailedValidationException(MISSING_REPORT_PARAMETERS_MESSAGE))
+      : succeededFuture(reportRequest);
+  }
+
+  private static Future<RefundReportParameters> toRefundReportParameters(
+    RefundReportRequest entity) {
+
+    String rawStartDate = entity.getStartDate();
+    String rawEndDate = entity.getEndDate();
+
+    if (rawStartDate == null && rawEndDate != null) {
+      log.error("startDate is null and endDate is not null");
+      return failedFuture(new FailedValidationException(INVALID_START_DATE_MESSAGE));
+    }
+
+    return parseDates(rawStartDate, rawEndDate, (startDate, endDate) ->
+      new RefundReportParameters(startDate, endDate, entity.getFeeFineOwners()));
+  }
+
+  private static Future<CashDrawerReconciliationReportParameters>
+  toCashDrawerReconciliationReportParameters(CashDrawerReconciliationReportRequest entity) {
+
+    return parseDates(entity.getStartDate(), entity.getEndDate(), (startDate, endDate) ->
+      new CashDrawerReconciliationReportParameters(startDate, endDate, entity.getCreatedAt(),
+        entity.getSources(), Boolean.TRUE.equals(entity.getStatsOnly())));
+  }
+
+  private static Future<FinancialTransactionsDetailReportParameters>
+  toFinancialTransactionsDetailReportParameters(FinancialTransactionsDetailReportRequest entity) {
 
-    handleReportResult(asyncResult, asyncResultHandler, null);
+    return parseDates(entity.getStartDate(), entity.getEndDate(), (startDate, endDate) ->
+      new FinancialTransactionsDetailReportParameters(startDate, endDate,
+        entity.getFeeFineOwner(), entity.getCreatedAt()));
+  }
+
+  private static <T> Future<T> parseDates(String rawStartDate, String rawEndDate,
+    BiFunction<DateTime, DateTime, T> parametersFunction) {
+
+    try {
+      return succeededFuture(parametersFunction.apply(parseDateReportParameter(rawStartDate),
+        parseDateReportParameter(rawEndDate)));
+    } catch (IllegalArgumentException e) {
+      log.error("Invalid request parameters: startDate={}, endDate={}", rawStartDate, rawEndDate);
+      return failedFuture(new FailedValidationException(INVALID_START_DATE_OR_END_DATE_MESSAGE));
+    }
   }
 
   private <T> void handleReportResult(AsyncResult<T> asyncResult,
@@ -178,14 +319,4 @@ public class FeeFineReportsAPI implements FeefineReports {
       }
     }
   }
-
-  private void logInvalidDatesAndHandleResult(String rawStartDate, String rawEndDate,
-    Handler<AsyncResult<Response>> asyncResultHandler) {
-
-    log.error("Invalid request parameters: startDate={}, endDate={}", rawStartDate, rawEndDate);
-
-    handleReportResult(
-      failedFuture(new FailedValidationException(INVALID_START_DATE_OR_END_DATE_MESSAGE)),
-      asyncResultHandler);
-  }
 }
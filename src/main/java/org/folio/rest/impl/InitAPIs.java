@@ -0,0 +1,47 @@
+package org.folio.rest.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.resource.interfaces.InitAPI;
+import org.folio.rest.service.BalanceChangedEventFlushVerticle;
+import org.folio.rest.service.EventOutboxRelayVerticle;
+import org.folio.rest.service.EventOutboxService;
+import org.folio.rest.service.JobHeartbeatService;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+public class InitAPIs implements InitAPI {
+  private static final Logger log = LogManager.getLogger(InitAPIs.class);
+  private static final AtomicBoolean initialized = new AtomicBoolean();
+
+  @Override
+  public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> handler) {
+    if (!initialized.compareAndSet(false, true)) {
+      handler.handle(Future.succeededFuture(true));
+      return;
+    }
+
+    JobHeartbeatService.failInterruptedJobsOnStart(vertx);
+
+    List<Future<String>> deployments = new ArrayList<>();
+    deployments.add(vertx.deployVerticle(new BalanceChangedEventFlushVerticle())
+      .onFailure(t -> log.error("Failed to deploy balance changed event flush", t)));
+
+    if (EventOutboxService.isEnabled()) {
+      deployments.add(vertx.deployVerticle(new EventOutboxRelayVerticle())
+        .onFailure(t -> log.error("Failed to deploy event outbox relay", t)));
+    }
+
+    Future.all(deployments)
+      .map(true)
+      .onComplete(handler);
+  }
+}
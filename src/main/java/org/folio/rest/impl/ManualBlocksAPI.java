@@ -4,6 +4,7 @@ import static org.folio.rest.service.LogEventPublisher.LogEventPayloadType.MANUA
 import static org.folio.rest.service.LogEventPublisher.LogEventPayloadType.MANUAL_BLOCK_DELETED;
 import static org.folio.rest.service.LogEventPublisher.LogEventPayloadType.MANUAL_BLOCK_MODIFIED;
 import static org.folio.rest.tools.messages.Messages.DEFAULT_LANGUAGE;
+import static org.folio.rest.utils.ProjectionHelper.projectedCollectionResponse;
 
 import java.io.IOException;
 import java.util.List;
@@ -31,10 +32,12 @@ import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.Criteria.Limit;
 import org.folio.rest.persist.Criteria.Offset;
 import org.folio.rest.persist.cql.CQLWrapper;
+import org.folio.rest.repository.ManualBlockRepository;
 import org.folio.rest.service.LogEventPublisher;
 import org.folio.rest.tools.messages.MessageConsts;
 import org.folio.rest.tools.messages.Messages;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.rest.utils.ProjectionHelper;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -57,9 +60,16 @@ public class ManualBlocksAPI implements Manualblocks {
 
   @Validate
   @Override
-  public void getManualblocks(String query, String orderBy, ManualblocksGetOrder order,
-    String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
-    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getManualblocks(String fields, String query, String orderBy,
+    ManualblocksGetOrder order, String totalRecords, int offset, int limit,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    if (fields != null) {
+      getProjectedManualblocks(fields, query, totalRecords, offset, limit, okapiHeaders,
+        asyncResultHandler, vertxContext);
+      return;
+    }
 
     String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
 
@@ -124,6 +134,25 @@ public class ManualBlocksAPI implements Manualblocks {
     }
   }
 
+  private void getProjectedManualblocks(String fields, String query, String totalRecords,
+    int offset, int limit, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    Future.succeededFuture(fields)
+      .map(ProjectionHelper::parseFields)
+      .compose(fieldList -> new ManualBlockRepository(okapiHeaders, vertxContext)
+        .getProjected(query, fieldList, offset, limit, totalRecords))
+      .onSuccess(collection -> asyncResultHandler.handle(Future.succeededFuture(
+        projectedCollectionResponse(collection))))
+      .onFailure(throwable -> {
+        logger.error("Failed to get projected manualblocks", throwable);
+        asyncResultHandler.handle(Future.succeededFuture(
+          throwable instanceof IllegalArgumentException
+            ? GetManualblocksResponse.respond400WithTextPlain(throwable.getMessage())
+            : GetManualblocksResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
   @Validate
   @Override
   public void postManualblocks(Manualblock entity, Map<String, String> okapiHeaders,
@@ -0,0 +1,57 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.UserBalanceSummariesRequest;
+import org.folio.rest.jaxrs.model.UserBalanceSummaryCollection;
+import org.folio.rest.jaxrs.resource.UserBalanceSummaries;
+import org.folio.rest.service.UserBalanceSummaryService;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+public class UserBalanceSummariesAPI implements UserBalanceSummaries {
+  private static final Logger log = LogManager.getLogger(UserBalanceSummariesAPI.class);
+
+  @Override
+  public void postUserBalanceSummariesBatch(UserBalanceSummariesRequest request,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    new UserBalanceSummaryService(okapiHeaders, vertxContext)
+      .getSummaries(request.getUserIds())
+      .onSuccess(summaries -> asyncResultHandler.handle(succeededFuture(
+        PostUserBalanceSummariesBatchResponse.respond200WithApplicationJson(
+          new UserBalanceSummaryCollection()
+            .withUserBalanceSummaries(summaries)
+            .withTotalRecords(summaries.size())))))
+      .onFailure(throwable -> {
+        log.error("Failed to get balance summaries of {} users", request.getUserIds().size(),
+          throwable);
+        asyncResultHandler.handle(succeededFuture(
+          PostUserBalanceSummariesBatchResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+
+  @Override
+  public void getUserBalanceSummariesByUserId(String userId, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    new UserBalanceSummaryService(okapiHeaders, vertxContext)
+      .getSummary(userId)
+      .onSuccess(summary -> asyncResultHandler.handle(succeededFuture(
+        GetUserBalanceSummariesByUserIdResponse.respond200WithApplicationJson(summary))))
+      .onFailure(throwable -> {
+        log.error("Failed to get balance summary of user {}", userId, throwable);
+        asyncResultHandler.handle(succeededFuture(
+          GetUserBalanceSummariesByUserIdResponse.respond500WithTextPlain(throwable.getMessage())));
+      });
+  }
+}
@@ -0,0 +1,65 @@
+package org.folio.rest.repository;
+
+import static java.lang.String.format;
+
+import java.util.UUID;
+
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Repository of jobs which run in the background of the module instance that started them. Jobs
+ * in progress update their heartbeat date every {@link #HEARTBEAT_INTERVAL_MILLIS}. A job in
+ * progress which missed its heartbeats was interrupted, e.g. by a restart of the instance.
+ */
+public abstract class AbstractJobRepository extends AbstractRepository {
+  public static final long HEARTBEAT_INTERVAL_MILLIS = 30_000;
+  public static final long HEARTBEAT_TIMEOUT_MILLIS = 4 * HEARTBEAT_INTERVAL_MILLIS;
+  static final String INTERRUPTED_JOB_MESSAGE = "Job was interrupted, e.g. by a module restart";
+  // same format as dates serialized by RMB
+  private static final String NOW_JSON = "to_jsonb(to_char(now() AT TIME ZONE 'UTC', " +
+    "'YYYY-MM-DD\"T\"HH24:MI:SS.MS\"Z\"'))";
+
+  private final String tableName;
+
+  AbstractJobRepository(PostgresClient pgClient, String tableName) {
+    super(pgClient);
+    this.tableName = tableName;
+  }
+
+  /**
+   * Records that the job is still running, unless it is no longer in progress.
+   */
+  public Future<Void> heartbeat(String jobId) {
+    String query = format("UPDATE %s.%s SET jsonb = jsonb_set(jsonb, '{heartbeatDate}', %s) " +
+      "WHERE id = $1 AND jsonb->>'status' = 'IN_PROGRESS'", getSchemaName(), tableName, NOW_JSON);
+
+    return pgClient.execute(query, Tuple.of(UUID.fromString(jobId)))
+      .mapEmpty();
+  }
+
+  /**
+   * Marks jobs in progress which missed their heartbeats as failed.
+   *
+   * @return number of failed jobs
+   */
+  public Future<Integer> failInterrupted() {
+    String query = format("UPDATE %1$s.%2$s SET jsonb = jsonb || jsonb_build_object(" +
+        "'status', 'FAILED', 'errorMessage', $1::text, 'completedDate', %3$s) " +
+        "WHERE jsonb->>'status' = 'IN_PROGRESS' AND NOT %4$s",
+      getSchemaName(), tableName, NOW_JSON, isRunning(tableName));
+
+    return pgClient.execute(query, Tuple.of(INTERRUPTED_JOB_MESSAGE))
+      .map(rowSet -> rowSet.rowCount());
+  }
+
+  /**
+   * Condition which is true for jobs whose last heartbeat is recent enough.
+   */
+  static String isRunning(String alias) {
+    return format("coalesce(%1$s.jsonb->>'heartbeatDate', %1$s.jsonb->>'startedDate')" +
+      "::timestamptz >= now() - interval '%2$d milliseconds'", alias, HEARTBEAT_TIMEOUT_MILLIS);
+  }
+}
@@ -1,29 +1,37 @@
 package org.folio.rest.repository;
 
+import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.model.SqlSelect;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.util.UuidUtil;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 
 public abstract class AbstractRepository {
   private static final Logger log = LogManager.getLogger(AbstractRepository.class);
@@ -49,29 +57,58 @@ public abstract class AbstractRepository {
 
   <T> Future<Collection<T>> getByIds(String tableName, Collection<String> ids, Class<T> objectType) {
     log.info("Fetching {} {} by ID", ids.size(), objectType.getSimpleName());
-    return getByKeyValues(tableName, "id", ids, objectType);
+    return getByUuidColumnValues(tableName, "id", ids, objectType);
   }
 
+  /**
+   * Fetches records by values of a jsonb field indexed by RMB ("index" in schema.json). Values
+   * are bound as a single array parameter, so the statement text does not depend on the values.
+   */
   <T> Future<Collection<T>> getByKeyValues(String tableName, String key, Collection<String> values,
     Class<T> objectType) {
 
-    Set<String> filteredValues = values.stream()
+    String[] filteredValues = values.stream()
       .filter(StringUtils::isNotBlank)
-      .collect(toSet());
+      .distinct()
+      .toArray(String[]::new);
 
-    if (filteredValues.isEmpty()) {
+    if (filteredValues.length == 0) {
       return succeededFuture(new ArrayList<>());
     }
 
-    String joinedValues = filteredValues.stream()
-      .map(value -> StringUtils.wrap(value, "'"))
-      .collect(Collectors.joining(","));
-
     String query = format(
-      "SELECT t.jsonb FROM %s.%s t WHERE left(lower(f_unaccent(jsonb->>'%s')), 600) IN (%s)",
-      getSchemaName(), tableName, key, joinedValues);
+      "SELECT t.jsonb FROM %s.%s t WHERE left(lower(f_unaccent(jsonb->>'%s')), 600) = ANY($1)",
+      getSchemaName(), tableName, key);
+
+    return getByQuery(query, Tuple.tuple().addArrayOfString(filteredValues), objectType);
+  }
+
+  /**
+   * Fetches records by values of a uuid column, e.g. the primary key. Values which are not UUIDs
+   * can't match and are skipped.
+   */
+  <T> Future<Collection<T>> getByUuidColumnValues(String tableName, String column,
+    Collection<String> values, Class<T> objectType) {
+
+    UUID[] uuids = values.stream()
+      .filter(UuidUtil::isUuid)
+      .distinct()
+      .map(UUID::fromString)
+      .toArray(UUID[]::new);
+
+    if (uuids.length == 0) {
+      return succeededFuture(new ArrayList<>());
+    }
 
-    return getByQuery(query, objectType);
+    String query = format("SELECT t.jsonb FROM %s.%s t WHERE t.%s = ANY($1)",
+      getSchemaName(), tableName, column);
+
+    return getByQuery(query, Tuple.tuple().addArrayOfUUID(uuids), objectType);
+  }
+
+  <T> Future<Collection<T>> getByQuery(String query, Tuple params, Class<T> objectType) {
+    return pgClient.select(query, params)
+      .map(rowSet -> mapRowSet(rowSet, objectType));
   }
 
   private static <T> Collection<T> mapRowSet(RowSet<Row> rowSet, Class<T> recordType) {
@@ -81,6 +118,198 @@ public abstract class AbstractRepository {
       .collect(toList());
   }
 
+  /**
+   * Fetches a page of records matching the CQL query ordered by the sort key expression, if any,
+   * and ID. Pages are chained by an opaque cursor pointing at the last record of the previous
+   * page ({@link KeysetPage#FIRST_PAGE_CURSOR} for the first one), so every page is an index range
+   * scan and deep pages cost the same as the first one. The query is matched against the table
+   * name used as alias, the same way as for CQL queries handled by RMB.
+   *
+   * @param sortKey SQL expression of the sort key, e.g. a typed column, or null to sort by ID only
+   * @param sortKeyType SQL type of the sort key
+   * @param totalRecords "exact", "estimated", "none" or "auto", see RMB pageable trait
+   */
+  <T> Future<KeysetPage<T>> getKeysetPage(String tableName, String cqlQuery, String sortKey,
+    String sortKeyType, String cursor, int limit, String totalRecords, Class<T> objectType) {
+
+    String condition;
+    List<String> after;
+    try {
+      condition = cqlToCondition(tableName, cqlQuery);
+      after = decodeCursor(cursor, sortKey == null ? 1 : 2);
+    } catch (IllegalArgumentException e) {
+      return failedFuture(e);
+    }
+
+    String idColumn = tableName + ".id";
+    String sortColumns = sortKey == null ? idColumn : sortKey + ", " + idColumn;
+    Tuple params = Tuple.of(limit + 1);
+    List<String> conditions = new ArrayList<>(List.of("(" + condition + ")"));
+
+    if (!after.isEmpty()) {
+      if (sortKey == null) {
+        conditions.add(format("%s > $2", idColumn));
+      } else {
+        params.addString(after.get(0));
+        conditions.add(format("(%s) > ($2::%s, $3)", sortColumns, sortKeyType));
+      }
+      params.addUUID(UUID.fromString(after.get(after.size() - 1)));
+    }
+
+    String query = format("SELECT %1$s.jsonb, %2$s::text, %1$s.id FROM %3$s.%1$s %1$s " +
+        "WHERE %4$s ORDER BY %5$s LIMIT $1",
+      tableName, sortKey == null ? idColumn : sortKey, getSchemaName(),
+      String.join(" AND ", conditions), sortColumns);
+
+    return countRecords(tableName, condition, totalRecords)
+      .compose(total -> pgClient.select(query, params)
+        .map(rowSet -> {
+          List<T> records = new ArrayList<>();
+          String nextCursor = null;
+          for (Row row : rowSet) {
+            if (records.size() == limit) {
+              break;
+            }
+            records.add(row.getJsonObject(0).mapTo(objectType));
+            nextCursor = encodeCursor(sortKey == null
+              ? List.of(row.getUUID(2).toString())
+              : List.of(row.getString(1), row.getUUID(2).toString()));
+          }
+          return new KeysetPage<>(records, rowSet.size() > limit ? nextCursor : null, total);
+        }));
+  }
+
+  /**
+   * Fetches records matching the CQL query with only the requested top-level properties. The
+   * projection is built in the database and rows are returned as JSON text, which is written
+   * to the response as is, so records are neither mapped to POJOs nor re-encoded.
+   *
+   * @param collectionName name of the records array in the returned collection
+   * @param fields names of top-level properties to return
+   * @param totalRecords "exact", "estimated", "none" or "auto", see RMB pageable trait
+   * @return encoded collection JSON object
+   */
+  Future<String> getProjectedCollection(String tableName, String collectionName,
+    String cqlQuery, List<String> fields, int offset, int limit, String totalRecords) {
+
+    SqlSelect sql;
+    try {
+      sql = cqlToSql(tableName, cqlQuery);
+    } catch (IllegalArgumentException e) {
+      return failedFuture(e);
+    }
+
+    Tuple params = Tuple.of(limit, offset);
+    List<String> projection = new ArrayList<>();
+    List<String> pairs = new ArrayList<>();
+    for (String field : fields) {
+      params.addString(field);
+      pairs.add(format("$%1$d::text, %2$s.jsonb->$%1$d::text", params.size(), tableName));
+      // jsonb_build_object accepts at most 100 arguments
+      if (pairs.size() == 50) {
+        projection.add(format("jsonb_build_object(%s)", String.join(", ", pairs)));
+        pairs.clear();
+      }
+    }
+    if (!pairs.isEmpty()) {
+      projection.add(format("jsonb_build_object(%s)", String.join(", ", pairs)));
+    }
+
+    // properties missing in a record are left out, nested null values are kept as stored
+    String query = format("SELECT (SELECT coalesce(jsonb_object_agg(key, value), '{}') " +
+        "FROM jsonb_each(%s) WHERE jsonb_typeof(value) <> 'null')::text " +
+        "FROM %s.%s %3$s WHERE %s%s LIMIT $1 OFFSET $2",
+      String.join(" || ", projection), getSchemaName(), tableName, sql.getWhere(),
+      StringUtils.isBlank(sql.getOrderBy()) ? "" : " ORDER BY " + sql.getOrderBy());
+
+    return countRecords(tableName, sql.getWhere(), totalRecords)
+      .compose(total -> pgClient.select(query, params)
+        .map(rowSet -> {
+          StringBuilder collection = new StringBuilder("{\"").append(collectionName)
+            .append("\":[");
+          for (Row row : rowSet) {
+            collection.append(row.getString(0)).append(',');
+          }
+          if (rowSet.size() > 0) {
+            collection.setLength(collection.length() - 1);
+          }
+          collection.append(']');
+          if (total != null) {
+            collection.append(",\"totalRecords\":").append(total);
+          }
+          return collection.append('}').toString();
+        }));
+  }
+
+  private Future<Integer> countRecords(String tableName, String condition, String totalRecords) {
+    if ("none".equals(totalRecords)) {
+      return succeededFuture(null);
+    }
+
+    String countQuery = format("SELECT count(*) FROM %s.%s %2$s WHERE %s",
+      getSchemaName(), tableName, condition);
+
+    if ("exact".equals(totalRecords)) {
+      return pgClient.select(countQuery)
+        .map(rowSet -> rowSet.iterator().next().getLong(0).intValue());
+    }
+
+    // RMB function, counts exactly when the estimate is small
+    return pgClient.select(format("SELECT %s.count_estimate($1)", getSchemaName()),
+        Tuple.of(countQuery.replaceFirst("count\\(\\*\\)", "*")))
+      .map(rowSet -> rowSet.iterator().next().getLong(0).intValue());
+  }
+
+  private static String cqlToCondition(String tableName, String cqlQuery) {
+    SqlSelect sql = cqlToSql(tableName, cqlQuery);
+
+    if (StringUtils.isNotBlank(sql.getOrderBy())) {
+      throw new IllegalArgumentException("sortBy is not supported with cursor, records are " +
+        "returned in a fixed order");
+    }
+
+    return sql.getWhere();
+  }
+
+  private static SqlSelect cqlToSql(String tableName, String cqlQuery) {
+    if (StringUtils.isBlank(cqlQuery)) {
+      return new SqlSelect("true", "");
+    }
+
+    try {
+      SqlSelect sql = new CQL2PgJSON(tableName + ".jsonb").toSql(cqlQuery);
+      return StringUtils.isBlank(sql.getWhere())
+        ? new SqlSelect("true", sql.getOrderBy())
+        : sql;
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Invalid CQL query: " + e.getMessage(), e);
+    }
+  }
+
+  private static String encodeCursor(List<String> key) {
+    return Base64.getUrlEncoder().withoutPadding()
+      .encodeToString(new JsonArray(key).encode().getBytes(UTF_8));
+  }
+
+  private static List<String> decodeCursor(String cursor, int keySize) {
+    if (KeysetPage.FIRST_PAGE_CURSOR.equals(cursor)) {
+      return List.of();
+    }
+
+    try {
+      List<String> key = new JsonArray(new String(Base64.getUrlDecoder().decode(cursor), UTF_8))
+        .stream()
+        .map(String.class::cast)
+        .collect(toList());
+      if (key.size() != keySize || !UuidUtil.isUuid(key.get(keySize - 1))) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+      return key;
+    } catch (DecodeException | ClassCastException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+  }
+
   String getSchemaName() {
     return pgClient.getSchemaName();
   }
@@ -98,4 +327,22 @@ public abstract class AbstractRepository {
     return conn.save(tableName, id, object)
       .map(object);
   }
+
+  <T> Future<List<T>> saveBatch(String tableName, List<T> objects, Conn conn) {
+    if (objects.isEmpty()) {
+      return succeededFuture(objects);
+    }
+
+    return conn.saveBatch(tableName, objects)
+      .map(objects);
+  }
+
+  <T> Future<List<T>> updateBatch(String tableName, List<T> objects, Conn conn) {
+    if (objects.isEmpty()) {
+      return succeededFuture(objects);
+    }
+
+    return conn.updateBatch(tableName, objects)
+      .map(objects);
+  }
 }
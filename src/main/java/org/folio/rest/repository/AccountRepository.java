@@ -33,6 +33,10 @@ public class AccountRepository extends AbstractRepository {
     return save(ACCOUNTS_TABLE, account.getId(), account, conn);
   }
 
+  public Future<List<Account>> saveAll(List<Account> accounts, Conn conn) {
+    return saveBatch(ACCOUNTS_TABLE, accounts, conn);
+  }
+
   public Future<Account> getAccountById(String accountId) {
     return pgClient.getById(ACCOUNTS_TABLE, accountId, Account.class);
   }
@@ -51,9 +55,27 @@ public class AccountRepository extends AbstractRepository {
       );
   }
 
+  public Future<KeysetPage<Account>> getPage(String query, String cursor, int limit,
+    String totalRecords) {
+
+    return getKeysetPage(ACCOUNTS_TABLE, query, null, null, cursor, limit, totalRecords,
+      Account.class);
+  }
+
+  public Future<String> getProjected(String query, List<String> fields, int offset, int limit,
+    String totalRecords) {
+
+    return getProjectedCollection(ACCOUNTS_TABLE, "accounts", query, fields, offset, limit,
+      totalRecords);
+  }
+
   public Future<Account> update(Account account) {
     return pgClient.update(ACCOUNTS_TABLE, account, account.getId())
       .map(account);
   }
 
+  public Future<List<Account>> updateAll(List<Account> accounts, Conn conn) {
+    return updateBatch(ACCOUNTS_TABLE, accounts, conn);
+  }
+
 }
@@ -0,0 +1,77 @@
+package org.folio.rest.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.Feefineaction;
+
+/**
+ * Report rows: fee/fine actions in query order, each paired with its account. Accounts are stored
+ * once and referenced by index, so actions of the same fee/fine share a single account object.
+ * Unlike a map keyed by {@link Feefineaction}, rows are never hashed or compared field by field.
+ */
+public class ActionsAndAccounts {
+  private static final int NO_ACCOUNT = -1;
+
+  private final List<Feefineaction> actions = new ArrayList<>();
+  private final List<Account> accounts = new ArrayList<>();
+  private final Map<String, Integer> accountIndexes = new HashMap<>();
+  private int[] actionAccountIndexes = new int[16];
+
+  public void add(Feefineaction action, Account account) {
+    if (actions.size() == actionAccountIndexes.length) {
+      int[] newIndexes = new int[actionAccountIndexes.length * 2];
+      System.arraycopy(actionAccountIndexes, 0, newIndexes, 0, actionAccountIndexes.length);
+      actionAccountIndexes = newIndexes;
+    }
+
+    actionAccountIndexes[actions.size()] = indexOf(account);
+    actions.add(action);
+  }
+
+  public int size() {
+    return actions.size();
+  }
+
+  public Feefineaction getAction(int row) {
+    return actions.get(row);
+  }
+
+  public Account getAccount(int row) {
+    int accountIndex = actionAccountIndexes[row];
+    return accountIndex == NO_ACCOUNT ? null : accounts.get(accountIndex);
+  }
+
+  public List<Feefineaction> getActions() {
+    return Collections.unmodifiableList(actions);
+  }
+
+  /**
+   * Returns distinct accounts of all rows, rows without an account are skipped.
+   */
+  public List<Account> getAccounts() {
+    return Collections.unmodifiableList(accounts);
+  }
+
+  public void forEach(BiConsumer<Feefineaction, Account> consumer) {
+    for (int row = 0; row < actions.size(); row++) {
+      consumer.accept(getAction(row), getAccount(row));
+    }
+  }
+
+  private int indexOf(Account account) {
+    if (account == null) {
+      return NO_ACCOUNT;
+    }
+
+    return accountIndexes.computeIfAbsent(account.getId(), id -> {
+      accounts.add(account);
+      return accounts.size() - 1;
+    });
+  }
+}
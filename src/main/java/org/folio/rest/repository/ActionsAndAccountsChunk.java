@@ -0,0 +1,25 @@
+package org.folio.rest.repository;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ActionsAndAccountsChunk {
+  private final ActionsAndAccounts actionsAndAccounts;
+  // null when this is the last chunk
+  private final Cursor next;
+
+  public boolean isLast() {
+    return next == null;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Cursor {
+    private final String dateAction;
+    private final UUID actionId;
+  }
+}
@@ -0,0 +1,27 @@
+package org.folio.rest.repository;
+
+import org.folio.rest.jaxrs.model.BulkActionJob;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+
+public class BulkActionJobRepository extends AbstractJobRepository {
+  public static final String BULK_ACTION_JOBS_TABLE = "bulk_action_jobs";
+
+  public BulkActionJobRepository(PostgresClient pgClient) {
+    super(pgClient, BULK_ACTION_JOBS_TABLE);
+  }
+
+  public Future<BulkActionJob> getById(String id) {
+    return getById(BULK_ACTION_JOBS_TABLE, id, BulkActionJob.class);
+  }
+
+  public Future<BulkActionJob> save(BulkActionJob job) {
+    return save(BULK_ACTION_JOBS_TABLE, job.getId(), job);
+  }
+
+  public Future<BulkActionJob> update(BulkActionJob job) {
+    return pgClient.update(BULK_ACTION_JOBS_TABLE, job, job.getId())
+      .map(job);
+  }
+}
@@ -0,0 +1,84 @@
+package org.folio.rest.repository;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.folio.rest.domain.EventType;
+import org.folio.rest.domain.OutboxEvent;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+public class EventOutboxRepository extends AbstractRepository {
+  private static final String EVENT_OUTBOX_TABLE = "event_outbox";
+  // arbitrary constant identifying the relay lock, locks are scoped by database
+  private static final long RELAY_LOCK_ID = 7_395_301_117L;
+
+  public EventOutboxRepository(PostgresClient pgClient) {
+    super(pgClient);
+  }
+
+  public Future<Void> save(List<OutboxEvent> events, Conn conn) {
+    if (events.isEmpty()) {
+      return succeededFuture();
+    }
+
+    String query = format("INSERT INTO %s.%s (event_type, partition_key, payload) " +
+      "VALUES ($1, $2, $3)", getSchemaName(), EVENT_OUTBOX_TABLE);
+
+    List<Tuple> params = events.stream()
+      .map(event -> Tuple.of(event.getEventType().name(), event.getPartitionKey(),
+        event.getPayload()))
+      .collect(toList());
+
+    return conn.execute(query, params)
+      .mapEmpty();
+  }
+
+  /**
+   * Tries to become the only relay of this tenant until the end of the transaction.
+   */
+  public Future<Boolean> tryLockForRelay(Conn conn) {
+    return conn.execute(format("SELECT pg_try_advisory_xact_lock(%d, hashtext('%s'))",
+        RELAY_LOCK_ID, getSchemaName()))
+      .map(rowSet -> rowSet.iterator().next().getBoolean(0));
+  }
+
+  public Future<List<OutboxEvent>> getOldest(int limit, Conn conn) {
+    String query = format("SELECT id, event_type, partition_key, payload FROM %s.%s " +
+      "ORDER BY id LIMIT $1", getSchemaName(), EVENT_OUTBOX_TABLE);
+
+    return conn.execute(query, Tuple.of(limit))
+      .map(rowSet -> StreamSupport.stream(rowSet.spliterator(), false)
+        .map(EventOutboxRepository::toOutboxEvent)
+        .collect(toList()));
+  }
+
+  /**
+   * Deletes the given events only. Ids are assigned when an event is saved, not when its
+   * transaction commits, so events with lower ids than the relayed ones may still be on their way.
+   */
+  public Future<Void> delete(List<OutboxEvent> events, Conn conn) {
+    String query = format("DELETE FROM %s.%s WHERE id = ANY($1)", getSchemaName(),
+      EVENT_OUTBOX_TABLE);
+
+    Long[] ids = events.stream()
+      .map(OutboxEvent::getId)
+      .toArray(Long[]::new);
+
+    return conn.execute(query, Tuple.of(ids))
+      .mapEmpty();
+  }
+
+  private static OutboxEvent toOutboxEvent(Row row) {
+    return new OutboxEvent(row.getLong(0), EventType.valueOf(row.getString(1)), row.getString(2),
+      row.getString(3));
+  }
+}
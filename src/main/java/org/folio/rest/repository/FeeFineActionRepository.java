@@ -10,13 +10,14 @@ import static org.folio.rest.domain.Action.TRANSFER;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.domain.Action;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.Feefineaction;
@@ -24,10 +25,10 @@ import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.Criteria.Criteria;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.Criteria.GroupedCriterias;
-import org.folio.rest.persist.Criteria.Limit;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.utils.FeeFineActionHelper;
+import org.folio.util.UuidUtil;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -43,16 +44,22 @@ public class FeeFineActionRepository extends AbstractRepository {
   private static final String ACCOUNTS_TABLE = "accounts";
   public static final String ACTIONS_TABLE_ALIAS = "actions";
   private static final String ACCOUNTS_TABLE_ALIAS = "accounts";
-  private static final String DATE_FIELD = "dateAction";
   private static final String TYPE_FIELD = "typeAction";
-  private static final String ACCOUNT_ID_FIELD = "accountId";
-  private static final String CREATED_AT_FIELD = "createdAt";
-  private static final String SOURCE_FIELD = "source";
   private static final String OWNER_ID_FIELD = "ownerId";
+  // typed columns generated from jsonb, see add-feefineactions-report-columns.sql
+  private static final String TYPE_ACTION_COLUMN = "gen_type_action";
+  private static final String DATE_ACTION_COLUMN = "gen_date_action";
+  private static final String CREATED_AT_COLUMN = "gen_created_at";
+  private static final String SOURCE_COLUMN = "gen_source";
+  private static final String ACCOUNT_ID_COLUMN = "gen_account_id";
   private static final int ACTIONS_LIMIT = 1000;
-  public static final String ORDER_BY_ACTION_DATE_ASC = "actions.jsonb->>'dateAction' ASC";
+  public static final String ORDER_BY_ACTION_DATE_ASC = "actions.gen_date_action ASC";
+  private static final String DATE_ACTION_SORT_KEY =
+    "coalesce(actions.gen_date_action, '-infinity'::timestamptz)";
+  private static final String PAGE_SORT_KEY =
+    "coalesce(feefineactions.gen_date_action, '-infinity'::timestamptz)";
   public static final String ORDER_BY_OWNER_SOURCE_DATE_ASC = "accounts.jsonb->>'feeFineOwner', " +
-    "actions.jsonb->>'source' ASC, actions.jsonb->>'dateAction' ASC";
+    "actions.gen_source ASC, actions.gen_date_action ASC";
 
   public FeeFineActionRepository(Map<String, String> headers, Context context) {
     super(headers, context);
@@ -70,6 +77,28 @@ public class FeeFineActionRepository extends AbstractRepository {
     return save(ACTIONS_TABLE, action.getId(), action, conn);
   }
 
+  public Future<List<Feefineaction>> saveAll(List<Feefineaction> actions, Conn conn) {
+    return saveBatch(ACTIONS_TABLE, actions, conn);
+  }
+
+  /**
+   * Keyset-paginated actions ordered by action date and ID, the same order as report chunks,
+   * which is covered by the feefineactions_gen_date_action_sort_key_id_idx index.
+   */
+  public Future<KeysetPage<Feefineaction>> getPage(String query, String cursor, int limit,
+    String totalRecords) {
+
+    return getKeysetPage(ACTIONS_TABLE, query, PAGE_SORT_KEY, "timestamptz", cursor, limit,
+      totalRecords, Feefineaction.class);
+  }
+
+  public Future<String> getProjected(String query, List<String> fields, int offset, int limit,
+    String totalRecords) {
+
+    return getProjectedCollection(ACTIONS_TABLE, ACTIONS_TABLE, query, fields, offset, limit,
+      totalRecords);
+  }
+
   public Future<List<Feefineaction>> get(Criterion criterion) {
     return pgClient.get(ACTIONS_TABLE, Feefineaction.class, criterion, true)
       .map(Results::getResults);
@@ -94,7 +123,8 @@ public class FeeFineActionRepository extends AbstractRepository {
       .map(Account::getId)
       .collect(Collectors.toSet());
 
-    return getByKeyValues(ACTIONS_TABLE, ACCOUNT_ID_FIELD, accountIds, Feefineaction.class);
+    return getByUuidColumnValues(ACTIONS_TABLE, ACCOUNT_ID_COLUMN, accountIds,
+      Feefineaction.class);
   }
 
   public Future<List<Feefineaction>> findActionsOfTypesForAccount(String accountId,
@@ -138,19 +168,22 @@ public class FeeFineActionRepository extends AbstractRepository {
       .filter(Objects::nonNull)
       .collect(toList());
 
-    GroupedCriterias accountIdsCriterias = buildGroupedCriterias(
-      buildEqualsCriteriaList(ACCOUNT_ID_FIELD, accountIds), "OR");
-
-    GroupedCriterias typeCriterias = buildGroupedCriterias(
-      buildEqualsCriteriaList(TYPE_FIELD, actionResults), "OR");
+    Tuple params = Tuple.of(ACTIONS_LIMIT)
+      .addArrayOfUUID(accountIds.stream()
+        .filter(UuidUtil::isUuid)
+        .map(UUID::fromString)
+        .toArray(UUID[]::new))
+      .addArrayOfString(actionResults.toArray(String[]::new));
 
-    Criterion criterion = new Criterion()
-      .addGroupOfCriterias(typeCriterias)
-      .addGroupOfCriterias(accountIdsCriterias)
-      .setLimit(new Limit(ACTIONS_LIMIT));
+    String query = format(
+      "SELECT %3$s.jsonb FROM %1$s.%2$s %3$s " +
+        "WHERE %3$s.%4$s = ANY($2) AND %3$s.%5$s = ANY($3) " +
+        "LIMIT $1",
+      getSchemaName(), ACTIONS_TABLE, ACTIONS_TABLE_ALIAS,
+      ACCOUNT_ID_COLUMN, TYPE_ACTION_COLUMN);
 
-    return pgClient.get(ACTIONS_TABLE, Feefineaction.class, criterion, false)
-      .map(Results::getResults);
+    return getByQuery(query, params, Feefineaction.class)
+      .map(ArrayList::new);
   }
 
   public Future<Feefineaction> findChargeForAccount(String accountId) {
@@ -167,11 +200,10 @@ public class FeeFineActionRepository extends AbstractRepository {
 
     return findFeeFineActionsAndAccounts(typeAction, startDate, endDate, ownerIds,
       null, null, ORDER_BY_ACTION_DATE_ASC, limit)
-      .map(Map::keySet)
-      .map(ArrayList::new);
+      .map(ActionsAndAccounts::getActions);
   }
 
-  public Future<Map<Feefineaction, Account>> findFeeFineActionsAndAccounts(
+  public Future<ActionsAndAccounts> findFeeFineActionsAndAccounts(
     Action actionType, String startDate, String endDate, List<String> ownerIds, String createdAt,
     List<String> sources, String orderBy, int limit) {
 
@@ -182,33 +214,17 @@ public class FeeFineActionRepository extends AbstractRepository {
       ownerIds, Collections.singletonList(createdAt), sources, orderBy, limit);
   }
 
-  public Future<Map<Feefineaction, Account>> findFeeFineActionsAndAccounts(
+  public Future<ActionsAndAccounts> findFeeFineActionsAndAccounts(
     List<String> actionTypes, String startDate, String endDate, List<String> ownerIds,
     List<String> createdAt, List<String> sources, String orderBy, int limit) {
 
     Tuple params = Tuple.of(limit);
-    List<String> conditions = new ArrayList<>();
-
-    addFilterByListToConditions(conditions, ACTIONS_TABLE_ALIAS, TYPE_FIELD, actionTypes);
-
-    if (startDate != null) {
-      params.addString(startDate);
-      conditions.add(format("%s.jsonb->>'%s' >= $%d", ACTIONS_TABLE_ALIAS, DATE_FIELD,
-        params.size()));
-    }
-    if (endDate != null) {
-      params.addString(endDate);
-      conditions.add(format("%s.jsonb->>'%s' < $%d", ACTIONS_TABLE_ALIAS, DATE_FIELD,
-        params.size()));
-    }
-
-    addFilterByListToConditions(conditions, ACTIONS_TABLE_ALIAS, CREATED_AT_FIELD, createdAt);
-    addFilterByListToConditions(conditions, ACCOUNTS_TABLE_ALIAS, OWNER_ID_FIELD, ownerIds);
-    addFilterByListToConditions(conditions, ACTIONS_TABLE_ALIAS, SOURCE_FIELD, sources);
+    List<String> conditions = buildReportConditions(params, actionTypes, startDate, endDate,
+      ownerIds, createdAt, sources);
 
     String query = format(
       "SELECT actions.jsonb, accounts.jsonb FROM %1$s.%2$s %3$s " +
-        "LEFT OUTER JOIN %1$s.%4$s %5$s ON left(lower(f_unaccent(%3$s.jsonb->>'accountId')), 600) = %5$s.jsonb->>'id' " +
+        "LEFT OUTER JOIN %1$s.%4$s %5$s ON %5$s.id = %3$s.gen_account_id " +
         "WHERE " + join(" AND ", conditions) + " " +
         "ORDER BY %6$s " +
         "LIMIT $1",
@@ -223,22 +239,79 @@ public class FeeFineActionRepository extends AbstractRepository {
     return promise.future().map(this::mapToFeeFineActionsAndAccounts);
   }
 
-  public Future<List<String>> findSources(Action typeAction, String createdAt, int limit) {
-    Tuple params = Tuple.of(limit);
+  /**
+   * Fetches a single chunk of actions and their accounts ordered by action date and ID. The next
+   * chunk is requested by passing the cursor of the previous one, so every query is a bounded
+   * index-friendly range scan instead of an ever-growing OFFSET.
+   */
+  public Future<ActionsAndAccountsChunk> findFeeFineActionsAndAccountsChunk(
+    List<String> actionTypes, String startDate, String endDate, List<String> ownerIds,
+    List<String> createdAt, ActionsAndAccountsChunk.Cursor after, int chunkSize) {
+
+    Tuple params = Tuple.of(chunkSize);
+    List<String> conditions = buildReportConditions(params, actionTypes, startDate, endDate,
+      ownerIds, createdAt, null);
+
+    if (after != null) {
+      params.addString(after.getDateAction());
+      params.addUUID(after.getActionId());
+      conditions.add(format("(%s, %s.id) > ($%d::timestamptz, $%d)", DATE_ACTION_SORT_KEY,
+        ACTIONS_TABLE_ALIAS, params.size() - 1, params.size()));
+    }
+
+    String query = format(
+      "SELECT actions.jsonb, accounts.jsonb, %6$s::text, %3$s.id FROM %1$s.%2$s %3$s " +
+        "LEFT OUTER JOIN %1$s.%4$s %5$s ON %5$s.id = %3$s.gen_account_id " +
+        "WHERE " + join(" AND ", conditions) + " " +
+        "ORDER BY %6$s, %3$s.id " +
+        "LIMIT $1",
+      getSchemaName(),
+      ACTIONS_TABLE, ACTIONS_TABLE_ALIAS,
+      ACCOUNTS_TABLE, ACCOUNTS_TABLE_ALIAS,
+      DATE_ACTION_SORT_KEY);
+
+    Promise<RowSet<Row>> promise = Promise.promise();
+    pgClient.select(query, params, promise::handle);
+
+    return promise.future().map(rowSet -> mapToActionsAndAccountsChunk(rowSet, chunkSize));
+  }
+
+  private List<String> buildReportConditions(Tuple params, List<String> actionTypes,
+    String startDate, String endDate, List<String> ownerIds, List<String> createdAt,
+    List<String> sources) {
+
     List<String> conditions = new ArrayList<>();
 
-    params.addString(typeAction.getFullResult());
-    params.addString(typeAction.getPartialResult());
-    conditions.add(format("%s.jsonb->>'%s' IN ($2, $3)", ACTIONS_TABLE_ALIAS, TYPE_FIELD));
+    addColumnFilterToConditions(conditions, params, TYPE_ACTION_COLUMN, actionTypes);
 
-    if (createdAt != null) {
-      params.addString(createdAt);
-      conditions.add(format("%s.jsonb->>'%s' = $%d", ACTIONS_TABLE_ALIAS, CREATED_AT_FIELD,
+    if (startDate != null) {
+      params.addString(startDate);
+      conditions.add(format("%s.%s >= $%d::timestamptz", ACTIONS_TABLE_ALIAS, DATE_ACTION_COLUMN,
+        params.size()));
+    }
+    if (endDate != null) {
+      params.addString(endDate);
+      conditions.add(format("%s.%s < $%d::timestamptz", ACTIONS_TABLE_ALIAS, DATE_ACTION_COLUMN,
         params.size()));
     }
 
+    addCreatedAtFilterToConditions(conditions, params, createdAt);
+    addAccountFieldFilterToConditions(conditions, params, OWNER_ID_FIELD, ownerIds);
+    addColumnFilterToConditions(conditions, params, SOURCE_COLUMN, sources);
+
+    return conditions;
+  }
+
+  public Future<List<String>> findSources(Action typeAction, String createdAt, int limit) {
+    Tuple params = Tuple.of(limit);
+    List<String> conditions = new ArrayList<>();
+
+    addColumnFilterToConditions(conditions, params, TYPE_ACTION_COLUMN,
+      List.of(typeAction.getFullResult(), typeAction.getPartialResult()));
+    addCreatedAtFilterToConditions(conditions, params, Collections.singletonList(createdAt));
+
     String query = format(
-      "SELECT DISTINCT actions.jsonb->>'source' " +
+      "SELECT DISTINCT actions.gen_source " +
         "FROM %1$s.%2$s %3$s " +
         "WHERE " + join(" AND ", conditions) + " " +
         "LIMIT $1",
@@ -250,18 +323,61 @@ public class FeeFineActionRepository extends AbstractRepository {
     return promise.future().map(this::mapToListOfStrings);
   }
 
-  private void addFilterByListToConditions(List<String> conditions, String tableName,
+  private void addColumnFilterToConditions(List<String> conditions, Tuple params,
+    String columnName, List<String> valueList) {
+
+    List<String> values = filterNonNull(valueList);
+    if (values.isEmpty()) {
+      return;
+    }
+
+    params.addArrayOfString(values.toArray(String[]::new));
+    conditions.add(format("%s.%s = ANY($%d)", ACTIONS_TABLE_ALIAS, columnName, params.size()));
+  }
+
+  private void addCreatedAtFilterToConditions(List<String> conditions, Tuple params,
+    List<String> createdAt) {
+
+    List<String> values = filterNonNull(createdAt);
+    if (values.isEmpty()) {
+      return;
+    }
+
+    // the column is NULL for non-UUID values, so those can never match
+    UUID[] uuids = values.stream()
+      .filter(UuidUtil::isUuid)
+      .map(UUID::fromString)
+      .toArray(UUID[]::new);
+
+    params.addArrayOfUUID(uuids);
+    conditions.add(format("%s.%s = ANY($%d)", ACTIONS_TABLE_ALIAS, CREATED_AT_COLUMN,
+      params.size()));
+  }
+
+  private static List<String> filterNonNull(List<String> values) {
+    if (values == null) {
+      return Collections.emptyList();
+    }
+
+    return values.stream()
+      .filter(Objects::nonNull)
+      .collect(toList());
+  }
+
+  // matches the expression of the index RMB creates for the field
+  private void addAccountFieldFilterToConditions(List<String> conditions, Tuple params,
     String fieldName, List<String> valueList) {
 
-    if (valueList == null || valueList.isEmpty() || valueList.stream().allMatch(Objects::isNull)) {
+    List<String> values = filterNonNull(valueList);
+    if (values.isEmpty()) {
       return;
     }
 
-    conditions.add(format("%s.jsonb->>'%s' IN (%s)", tableName, fieldName,
-      valueList.stream()
-        .filter(Objects::nonNull)
-        .map(value -> format("'%s'", value))
-        .collect(Collectors.joining(", "))));
+    params.addArrayOfString(values.stream()
+      .map(value -> StringUtils.left(value.toLowerCase(), 600))
+      .toArray(String[]::new));
+    conditions.add(format("left(lower(f_unaccent(%s.jsonb->>'%s')), 600) = ANY($%d)",
+      ACCOUNTS_TABLE_ALIAS, fieldName, params.size()));
   }
 
   private List<Criteria> getTypeCriterias(List<Action> actions) {
@@ -281,29 +397,34 @@ public class FeeFineActionRepository extends AbstractRepository {
       .collect(toList());
   }
 
-  private List<Criteria> buildEqualsCriteriaList(String fieldName, Collection<String> values) {
-    return values.stream()
-      .map(value ->
-        new Criteria()
-          .addField(format("'%s'", fieldName))
-          .setOperation("=")
-          .setVal(value)
-          .setJSONB(true))
-      .collect(toList());
-  }
-
-  private Map<Feefineaction, Account> mapToFeeFineActionsAndAccounts(RowSet<Row> rowSet) {
+  private ActionsAndAccounts mapToFeeFineActionsAndAccounts(RowSet<Row> rowSet) {
     RowIterator<Row> iterator = rowSet.iterator();
-    Map<Feefineaction, Account> feeFineActionsToAccountsMap = new LinkedHashMap<>();
+    ActionsAndAccounts actionsAndAccounts = new ActionsAndAccounts();
     iterator.forEachRemaining(row -> {
       JsonObject actionJsonObject = row.get(JsonObject.class, 0);
       JsonObject accountJsonObject = row.get(JsonObject.class, 1);
-      feeFineActionsToAccountsMap.put(
+      actionsAndAccounts.add(
         actionJsonObject != null ? actionJsonObject.mapTo(Feefineaction.class) : null,
         accountJsonObject != null ? accountJsonObject.mapTo(Account.class) : null);
     });
 
-    return feeFineActionsToAccountsMap;
+    return actionsAndAccounts;
+  }
+
+  private ActionsAndAccountsChunk mapToActionsAndAccountsChunk(RowSet<Row> rowSet, int chunkSize) {
+    ActionsAndAccounts actionsAndAccounts = mapToFeeFineActionsAndAccounts(rowSet);
+
+    if (rowSet.size() < chunkSize) {
+      return new ActionsAndAccountsChunk(actionsAndAccounts, null);
+    }
+
+    Row lastRow = null;
+    for (Row row : rowSet) {
+      lastRow = row;
+    }
+
+    return new ActionsAndAccountsChunk(actionsAndAccounts,
+      new ActionsAndAccountsChunk.Cursor(lastRow.getString(2), lastRow.getUUID(3)));
   }
 
   private List<String> mapToListOfStrings(RowSet<Row> rowSet) {
@@ -1,9 +1,15 @@
 package org.folio.rest.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.folio.rest.jaxrs.model.Feefine;
 import org.folio.rest.persist.PostgresClient;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
 
 public class FeeFineRepository {
 
@@ -18,4 +24,11 @@ public class FeeFineRepository {
   public Future<Feefine> getById(String id) {
     return pgClient.getById(FEEFINES_TABLE, id, Feefine.class);
   }
+
+  public Future<Map<String, Feefine>> getByIds(Collection<String> ids) {
+    Promise<Map<String, Feefine>> promise = Promise.promise();
+    pgClient.getById(FEEFINES_TABLE, new JsonArray(List.copyOf(ids)), Feefine.class,
+      promise::handle);
+    return promise.future();
+  }
 }
@@ -0,0 +1,22 @@
+package org.folio.rest.repository;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A page of records fetched with keyset pagination, see
+ * {@link AbstractRepository#getKeysetPage}.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+  public static final String FIRST_PAGE_CURSOR = "*";
+
+  private final List<T> records;
+  // opaque cursor of the next page, null for the last page
+  private final String nextCursor;
+  // null when the total number of records was not requested
+  private final Integer totalRecords;
+}
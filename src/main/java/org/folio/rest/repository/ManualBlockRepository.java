@@ -0,0 +1,22 @@
+package org.folio.rest.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+
+public class ManualBlockRepository extends AbstractRepository {
+  private static final String MANUAL_BLOCKS_TABLE = "manualblocks";
+
+  public ManualBlockRepository(Map<String, String> headers, Context context) {
+    super(headers, context);
+  }
+
+  public Future<String> getProjected(String query, List<String> fields, int offset, int limit,
+    String totalRecords) {
+
+    return getProjectedCollection(MANUAL_BLOCKS_TABLE, MANUAL_BLOCKS_TABLE, query, fields,
+      offset, limit, totalRecords);
+  }
+}
@@ -0,0 +1,75 @@
+package org.folio.rest.repository;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.domain.PaymentTotals;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Reads payment totals maintained by the database, see add-payment-hourly-totals.sql.
+ */
+public class PaymentHourlyTotalsRepository extends AbstractRepository {
+  private static final String PAYMENT_HOURLY_TOTALS_TABLE = "payment_hourly_totals";
+
+  public PaymentHourlyTotalsRepository(Map<String, String> headers, Context context) {
+    super(headers, context);
+  }
+
+  /**
+   * Sums totals of payments made at the service point between the dates, optionally by given
+   * sources only. Dates must be full UTC hours, end date is exclusive and optional.
+   */
+  public Future<List<PaymentTotals>> findTotals(String startDate, String endDate,
+    UUID createdAt, List<String> sources) {
+
+    Tuple params = Tuple.of(createdAt, startDate);
+    List<String> conditions = new ArrayList<>(List.of("created_at = $1",
+      "hour >= $2::timestamptz"));
+
+    if (endDate != null) {
+      params.addString(endDate);
+      conditions.add(format("hour < $%d::timestamptz", params.size()));
+    }
+
+    List<String> sourceList = sources == null ? List.of() : sources.stream()
+      .filter(Objects::nonNull)
+      .collect(toList());
+
+    if (!sourceList.isEmpty()) {
+      params.addArrayOfString(sourceList.toArray(String[]::new));
+      conditions.add(format("source = ANY($%d)", params.size()));
+    }
+
+    String query = format("SELECT source, payment_method, account_found, fee_fine_owner, " +
+        "fee_fine_type, sum(amount)::text, sum(count)::bigint FROM %s.%s " +
+        "WHERE %s " +
+        "GROUP BY source, payment_method, account_found, fee_fine_owner, fee_fine_type " +
+        "HAVING sum(count) > 0 " +
+        "ORDER BY fee_fine_owner, source, payment_method, fee_fine_type",
+      getSchemaName(), PAYMENT_HOURLY_TOTALS_TABLE, String.join(" AND ", conditions));
+
+    return pgClient.execute(query, params)
+      .map(rowSet -> StreamSupport.stream(rowSet.spliterator(), false)
+        .map(PaymentHourlyTotalsRepository::toPaymentTotals)
+        .collect(toList()));
+  }
+
+  private static PaymentTotals toPaymentTotals(Row row) {
+    return new PaymentTotals(row.getString(0), row.getString(1), row.getBoolean(2),
+      row.getString(3), row.getString(4), new MonetaryValue(row.getString(5)),
+      row.getLong(6));
+  }
+}
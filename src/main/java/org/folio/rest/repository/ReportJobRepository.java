@@ -0,0 +1,92 @@
+package org.folio.rest.repository;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.lang.String.format;
+
+import java.util.UUID;
+
+import org.folio.rest.jaxrs.model.ReportJob;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.Tuple;
+
+public class ReportJobRepository extends AbstractJobRepository {
+  public static final String REPORT_JOBS_TABLE = "report_jobs";
+  private static final String REPORT_JOB_RESULTS_TABLE = "report_job_results";
+  private static final int REQUEST_HASH_LOCK_ID = 1_846_905_213;
+
+  public ReportJobRepository(PostgresClient pgClient) {
+    super(pgClient, REPORT_JOBS_TABLE);
+  }
+
+  public Future<ReportJob> getById(String id) {
+    return getById(REPORT_JOBS_TABLE, id, ReportJob.class);
+  }
+
+  /**
+   * Saves the job unless a running job started by a request with the same hash exists, which is
+   * returned instead. Interrupted jobs are skipped. Identical concurrent requests are serialized
+   * by a transaction level advisory lock on the hash, so only one of them saves a job.
+   */
+  public Future<ReportJob> saveUnlessInProgress(ReportJob job) {
+    String lockQuery = format("SELECT pg_advisory_xact_lock(%d, hashtext($1))",
+      REQUEST_HASH_LOCK_ID);
+    String query = format("SELECT t.jsonb FROM %s.%s t " +
+        "WHERE left(lower(f_unaccent(t.jsonb->>'requestHash')), 600) = $1 " +
+        "AND t.jsonb->>'status' = '%s' AND %s LIMIT 1",
+      getSchemaName(), REPORT_JOBS_TABLE, ReportJob.Status.IN_PROGRESS.value(), isRunning("t"));
+
+    return pgClient.withTrans(conn -> conn.execute(lockQuery,
+        Tuple.of(getSchemaName() + "|" + job.getRequestHash()))
+      .compose(ignored -> conn.execute(query, Tuple.of(job.getRequestHash())))
+      .compose(rowSet -> {
+        RowIterator<Row> iterator = rowSet.iterator();
+        return iterator.hasNext()
+          ? succeededFuture(iterator.next().getJsonObject("jsonb").mapTo(ReportJob.class))
+          : save(REPORT_JOBS_TABLE, job.getId(), job, conn);
+      }));
+  }
+
+  public Future<ReportJob> update(ReportJob job) {
+    return pgClient.update(REPORT_JOBS_TABLE, job, job.getId())
+      .map(job);
+  }
+
+  public Future<Void> saveResult(String jobId, Buffer result) {
+    String query = format("INSERT INTO %s.%s (id, result) VALUES ($1, $2) " +
+      "ON CONFLICT (id) DO UPDATE SET result = EXCLUDED.result",
+      getSchemaName(), REPORT_JOB_RESULTS_TABLE);
+
+    return pgClient.execute(query, Tuple.of(UUID.fromString(jobId), result))
+      .mapEmpty();
+  }
+
+  /**
+   * Returns stored result of the job or null if there is none.
+   */
+  public Future<Buffer> getResult(String jobId) {
+    String query = format("SELECT result FROM %s.%s WHERE id = $1",
+      getSchemaName(), REPORT_JOB_RESULTS_TABLE);
+
+    return pgClient.execute(query, Tuple.of(UUID.fromString(jobId)))
+      .map(rowSet -> {
+        RowIterator<Row> iterator = rowSet.iterator();
+        return iterator.hasNext() ? iterator.next().getBuffer(0) : null;
+      });
+  }
+
+  /**
+   * Deletes expired jobs, their results are deleted by the database.
+   */
+  public Future<Integer> deleteExpired() {
+    String query = format("DELETE FROM %s.%s WHERE (jsonb->>'expirationDate')::timestamptz < now()",
+      getSchemaName(), REPORT_JOBS_TABLE);
+
+    return pgClient.execute(query)
+      .map(rowSet -> rowSet.rowCount());
+  }
+}
@@ -0,0 +1,64 @@
+package org.folio.rest.repository;
+
+import static java.lang.String.format;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.OwnerBalanceSummary;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Reads balance summaries maintained by the database, see add-user-balance-summary.sql.
+ */
+public class UserBalanceSummaryRepository extends AbstractRepository {
+  private static final String USER_BALANCE_SUMMARY_TABLE = "user_balance_summary";
+
+  public UserBalanceSummaryRepository(Map<String, String> headers, Context context) {
+    super(headers, context);
+  }
+
+  /**
+   * Returns per-owner summaries of patrons who have open fees/fines, keyed by patron ID.
+   */
+  public Future<Map<String, List<OwnerBalanceSummary>>> findByUserIds(
+    Collection<String> userIds) {
+
+    String query = format("SELECT user_id, owner_id, fee_fine_owner, open_count, " +
+        "total_remaining::text, oldest_open_date FROM %s.%s WHERE user_id = ANY($1) " +
+        "ORDER BY user_id, fee_fine_owner, owner_id",
+      getSchemaName(), USER_BALANCE_SUMMARY_TABLE);
+
+    Tuple params = Tuple.tuple()
+      .addArrayOfString(userIds.stream().distinct().toArray(String[]::new));
+
+    return pgClient.execute(query, params)
+      .map(rowSet -> {
+        Map<String, List<OwnerBalanceSummary>> summaries = new HashMap<>();
+        rowSet.forEach(row -> summaries.computeIfAbsent(row.getString(0),
+          key -> new ArrayList<>()).add(toOwnerBalanceSummary(row)));
+        return summaries;
+      });
+  }
+
+  private static OwnerBalanceSummary toOwnerBalanceSummary(Row row) {
+    OffsetDateTime oldestOpenDate = row.getOffsetDateTime(5);
+
+    return new OwnerBalanceSummary()
+      .withOwnerId(row.getString(1))
+      .withFeeFineOwner(row.getString(2))
+      .withOpenCount(Math.toIntExact(row.getLong(3)))
+      .withTotalRemaining(new MonetaryValue(row.getString(4)))
+      .withOldestOpenDate(oldestOpenDate == null ? null : Date.from(oldestOpenDate.toInstant()));
+  }
+}
@@ -1,11 +1,12 @@
 package org.folio.rest.service;
 
-import static org.folio.rest.domain.EventType.FEE_FINE_BALANCE_CHANGED;
 import static org.folio.rest.domain.EventType.LOAN_RELATED_FEE_FINE_CLOSED;
 import static org.folio.rest.domain.LoanRelatedFeeFineClosedEvent.forActualCostRecord;
 import static org.folio.rest.utils.JsonHelper.write;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -21,6 +22,8 @@ import io.vertx.core.json.JsonObject;
 
 public class AccountEventPublisher {
   private final EventPublisher eventPublisher;
+  private final BalanceChangedEventCoalescer balanceChangedEventCoalescer;
+  private final Map<String, String> headers;
 
   public AccountEventPublisher(Context context, Map<String, String> headers) {
     this(context.owner(), headers);
@@ -28,12 +31,20 @@ public class AccountEventPublisher {
 
   public AccountEventPublisher(Vertx vertx, Map<String, String> headers) {
     eventPublisher = new EventPublisher(vertx, headers);
+    balanceChangedEventCoalescer = BalanceChangedEventCoalescer.getInstance(vertx);
+    this.headers = headers;
   }
 
   public void publishAccountBalanceChangeEvent(Account account) {
-    final String payload = createBalanceChangedPayload(account);
+    publishAccountBalanceChangeEvents(List.of(account));
+  }
 
-    eventPublisher.publishEventAsynchronously(FEE_FINE_BALANCE_CHANGED, payload);
+  /**
+   * Publishes a balance change event per account. Only when a debounce window is configured,
+   * repeated events of the same fee/fine are coalesced by {@link BalanceChangedEventCoalescer}.
+   */
+  public void publishAccountBalanceChangeEvents(Collection<Account> accounts) {
+    balanceChangedEventCoalescer.publish(accounts, headers);
   }
 
   public void publishDeletedAccountBalanceChangeEvent(String accountId) {
@@ -41,7 +52,7 @@ public class AccountEventPublisher {
       .withId(accountId)
       .withRemaining(new MonetaryValue(BigDecimal.ZERO));
 
-    publishAccountBalanceChangeEvent(account);
+    balanceChangedEventCoalescer.publishDeleted(account, headers);
   }
 
   public CompletableFuture<Void> publishLoanRelatedFeeFineClosedEvent(String loanId) {
@@ -56,7 +67,7 @@ public class AccountEventPublisher {
       forActualCostRecord(actualCostRecord).toJsonString());
   }
 
-  private String createBalanceChangedPayload(Account account) {
+  public static String createBalanceChangedPayload(Account account) {
     JsonObject payload = new JsonObject();
     write(payload, "userId", account.getUserId());
     write(payload, "feeFineId", account.getId());
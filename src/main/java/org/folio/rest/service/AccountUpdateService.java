@@ -1,21 +1,32 @@
 package org.folio.rest.service;
 
 import static io.vertx.core.Future.succeededFuture;
+import static java.util.stream.Collectors.toList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.HttpStatus.HTTP_NO_CONTENT;
+import static org.folio.rest.domain.EventType.FEE_FINE_BALANCE_CHANGED;
+import static org.folio.rest.domain.EventType.LOAN_RELATED_FEE_FINE_CLOSED;
 import static org.folio.rest.jaxrs.resource.Accounts.PutAccountsByAccountIdResponse;
 import static org.folio.rest.jaxrs.resource.Accounts.PutAccountsByAccountIdResponse.respond500WithTextPlain;
 import static org.folio.rest.persist.PgUtil.put;
+import static org.folio.rest.service.AccountEventPublisher.createBalanceChangedPayload;
 import static org.folio.rest.utils.AccountHelper.isClosedAndHasZeroRemainingAmount;
 import static org.folio.rest.utils.MetadataHelper.populateMetadata;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javax.ws.rs.core.Response;
 
 import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.domain.LoanRelatedFeeFineClosedEvent;
+import org.folio.rest.domain.OutboxEvent;
 import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.persist.Conn;
 import org.folio.rest.repository.AccountRepository;
 import org.folio.rest.service.action.context.ActionContext;
 import org.slf4j.Logger;
@@ -68,19 +79,42 @@ public class AccountUpdateService {
     });
   }
 
-  public Future<Account> updateAccount(Account account, Map<String, String> headers) {
-    populateMetadata(account, headers);
+  public Future<List<Account>> updateAccounts(Collection<Account> accounts,
+    Map<String, String> headers, Conn conn) {
 
-    return accountRepository.update(account)
-      .onSuccess(a -> eventPublisher.publishAccountBalanceChangeEvent(account));
+    accounts.forEach(account -> populateMetadata(account, headers));
+
+    return accountRepository.updateAll(new ArrayList<>(accounts), conn);
+  }
+
+  public void publishAccountBalanceChangeEvents(ActionContext actionContext) {
+    eventPublisher.publishAccountBalanceChangeEvents(actionContext.getAccounts().values());
   }
 
   public void publishLoanRelatedFeeFineClosedEvent(ActionContext actionContext) {
-    actionContext.getAccounts().values().stream()
+    getClosedLoanIds(actionContext)
+      .forEach(eventPublisher::publishLoanRelatedFeeFineClosedEvent);
+  }
+
+  public List<OutboxEvent> createOutboxEvents(ActionContext actionContext) {
+    List<OutboxEvent> events = actionContext.getAccounts().values().stream()
+      .map(account -> new OutboxEvent(FEE_FINE_BALANCE_CHANGED, account.getId(),
+        createBalanceChangedPayload(account)))
+      .collect(toList());
+
+    getClosedLoanIds(actionContext)
+      .map(loanId -> new OutboxEvent(LOAN_RELATED_FEE_FINE_CLOSED, loanId,
+        new LoanRelatedFeeFineClosedEvent(loanId).toJsonString()))
+      .forEach(events::add);
+
+    return events;
+  }
+
+  private Stream<String> getClosedLoanIds(ActionContext actionContext) {
+    return actionContext.getAccounts().values().stream()
       .filter(this::isFeeFineWithLoanClosed)
       .map(Account::getLoanId)
-      .distinct()
-      .forEach(eventPublisher::publishLoanRelatedFeeFineClosedEvent);
+      .distinct();
   }
 
   private boolean isFeeFineWithLoanClosed(Account feeFine) {
@@ -0,0 +1,146 @@
+package org.folio.rest.service;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.domain.EventType.FEE_FINE_BALANCE_CHANGED;
+import static org.folio.rest.service.AccountEventPublisher.createBalanceChangedPayload;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.Account;
+
+import io.vertx.core.Vertx;
+import lombok.AllArgsConstructor;
+
+/**
+ * Coalesces FEE_FINE_BALANCE_CHANGED events. An event carries the current balance of a fee/fine,
+ * so when the same fee/fine changes several times, only the latest event matters to consumers.
+ * <p>
+ * By default no debounce window is configured and every balance change is published right away,
+ * one event per fee/fine, the same as without the coalescer. Even with a window, only repeated
+ * changes of the same fee/fine are merged: consumers expect an event per fee/fine, so e.g. a bulk
+ * payment of 200 fees/fines of a patron still publishes 200 events.
+ * <p>
+ * With a debounce window configured, events are held back for that long and repeated changes of
+ * the same fee/fine made by subsequent requests are merged into one event. Held back events keep
+ * only the tenant and the payload, not the headers of the request, so they are published with the
+ * tenant header only. This is why the window applies to Kafka publishing only, pub/sub requires
+ * the token of the user. Held back events are published by {@link BalanceChangedEventFlushVerticle}
+ * when the module instance is shut down.
+ */
+public class BalanceChangedEventCoalescer {
+  private static final Logger log = LogManager.getLogger(BalanceChangedEventCoalescer.class);
+
+  static final String DEBOUNCE_MS_ENV = "BALANCE_CHANGED_EVENT_DEBOUNCE_MS";
+  private static final long DEFAULT_DEBOUNCE_MS = 0;
+
+  private static final Map<Vertx, BalanceChangedEventCoalescer> instances =
+    new ConcurrentHashMap<>();
+
+  private final Vertx vertx;
+  private final long debounceMs;
+  private final BiFunction<String, Map<String, String>, CompletableFuture<Void>> sender;
+  // keyed by tenant and fee/fine ID, guarded by "this"
+  private final Map<String, PendingEvent> pendingEvents = new LinkedHashMap<>();
+  private boolean flushScheduled;
+
+  BalanceChangedEventCoalescer(Vertx vertx, long debounceMs,
+    BiFunction<String, Map<String, String>, CompletableFuture<Void>> sender) {
+
+    this.vertx = vertx;
+    this.debounceMs = debounceMs;
+    this.sender = sender;
+  }
+
+  /**
+   * Returns coalescer shared by all requests handled by the given Vert.x instance.
+   */
+  public static BalanceChangedEventCoalescer getInstance(Vertx vertx) {
+    return instances.computeIfAbsent(vertx, v -> new BalanceChangedEventCoalescer(v,
+      getDebounceMs(),
+      (payload, headers) -> new EventPublisher(v, headers)
+        .publishEventAsynchronously(FEE_FINE_BALANCE_CHANGED, payload)));
+  }
+
+  public void publish(Collection<Account> accounts, Map<String, String> okapiHeaders) {
+    if (debounceMs <= 0) {
+      accounts.forEach(account -> sender.apply(createBalanceChangedPayload(account),
+        okapiHeaders));
+      return;
+    }
+
+    String tenantId = tenantId(okapiHeaders);
+
+    synchronized (this) {
+      accounts.forEach(account -> pendingEvents.put(getKey(tenantId, account.getId()),
+        new PendingEvent(tenantId, createBalanceChangedPayload(account))));
+
+      if (!flushScheduled) {
+        flushScheduled = true;
+        vertx.setTimer(debounceMs, timerId -> flush());
+      }
+    }
+  }
+
+  /**
+   * Publishes the event of a deleted fee/fine right away. A held back event of the fee/fine is
+   * dropped, otherwise it would be published after the deletion with an outdated balance.
+   */
+  public void publishDeleted(Account account, Map<String, String> okapiHeaders) {
+    synchronized (this) {
+      pendingEvents.remove(getKey(tenantId(okapiHeaders), account.getId()));
+    }
+
+    sender.apply(createBalanceChangedPayload(account), okapiHeaders);
+  }
+
+  /**
+   * Publishes all held back events. Returned future is completed once they are published.
+   */
+  CompletableFuture<Void> flush() {
+    List<PendingEvent> events;
+
+    synchronized (this) {
+      events = new ArrayList<>(pendingEvents.values());
+      pendingEvents.clear();
+      flushScheduled = false;
+    }
+
+    log.debug("Publishing {} coalesced {} events", events.size(), FEE_FINE_BALANCE_CHANGED);
+
+    return CompletableFuture.allOf(events.stream()
+      .map(event -> sender.apply(event.payload, Map.of(OKAPI_HEADER_TENANT, event.tenantId)))
+      .toArray(CompletableFuture[]::new));
+  }
+
+  private static String getKey(String tenantId, String accountId) {
+    return tenantId + ":" + accountId;
+  }
+
+  private static long getDebounceMs() {
+    long debounceMs = getLongSetting(DEBOUNCE_MS_ENV, DEFAULT_DEBOUNCE_MS);
+
+    if (debounceMs > 0 && !EventPublisher.KAFKA_PUBLISHING_ENABLED) {
+      log.warn("{} is ignored, it applies to events published to Kafka only", DEBOUNCE_MS_ENV);
+      return 0;
+    }
+
+    return debounceMs;
+  }
+
+  @AllArgsConstructor
+  private static class PendingEvent {
+    private final String tenantId;
+    private final String payload;
+  }
+}
@@ -0,0 +1,18 @@
+package org.folio.rest.service;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Publishes balance changed events held back by {@link BalanceChangedEventCoalescer} when the
+ * verticle is undeployed, e.g. when the module instance is shut down, so that they are not lost.
+ */
+public class BalanceChangedEventFlushVerticle extends AbstractVerticle {
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    Future.fromCompletionStage(BalanceChangedEventCoalescer.getInstance(vertx).flush())
+      .onComplete(stopPromise);
+  }
+}
@@ -0,0 +1,215 @@
+package org.folio.rest.service;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static java.lang.System.currentTimeMillis;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.rest.service.JobHeartbeatService.startHeartbeat;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
+import static org.folio.rest.utils.MetadataHelper.populateMetadata;
+import static org.folio.rest.utils.TokenHelper.getExpirationMillis;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.domain.ActionRequest;
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.BulkActionJob;
+import org.folio.rest.jaxrs.model.BulkActionJob.Status;
+import org.folio.rest.jaxrs.model.BulkActionJobRequest;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.repository.BulkActionJobRepository;
+import org.folio.rest.service.action.ActionService;
+import org.folio.rest.service.action.CancelActionService;
+import org.folio.rest.service.action.PayActionService;
+import org.folio.rest.service.action.RefundActionService;
+import org.folio.rest.service.action.TransferActionService;
+import org.folio.rest.service.action.WaiveActionService;
+import org.folio.rest.service.action.context.ActionContext;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+
+/**
+ * Performs bulk actions on large sets of accounts in the background. The request is validated
+ * up front, then accounts are processed in chunks, each chunk in its own transaction. Progress
+ * is saved to the job after every chunk. If a chunk fails, the job is marked as failed and
+ * chunks processed before it stay in effect. Jobs interrupted e.g. by a restart are recognized
+ * by their missing heartbeats and marked as failed.
+ * <p>
+ * Chunks are processed on behalf of the user who started the job, with the token of the
+ * request. Once the token expires, the job is failed before the next chunk instead of sending
+ * requests to other modules which would be rejected.
+ */
+public class BulkActionJobService {
+  private static final Logger log = LogManager.getLogger(BulkActionJobService.class);
+
+  static final String CHUNK_SIZE_ENV = "BULK_ACTION_JOB_CHUNK_SIZE";
+  private static final int DEFAULT_CHUNK_SIZE = 100;
+  private static final int CHUNK_SIZE = (int) getLongSetting(CHUNK_SIZE_ENV, DEFAULT_CHUNK_SIZE);
+  static final String TOKEN_EXPIRED_MESSAGE = "Token of the user who started the job expired, " +
+    "remaining accounts were not processed";
+
+  private final Map<String, String> headers;
+  private final Context context;
+  private final BulkActionJobRepository jobRepository;
+
+  public BulkActionJobService(Map<String, String> headers, Context context) {
+    this.headers = headers;
+    this.context = context;
+    this.jobRepository = new BulkActionJobRepository(
+      PostgresClient.getInstance(context.owner(), tenantId(headers)));
+  }
+
+  public Future<BulkActionJob> getJob(String jobId) {
+    return jobRepository.getById(jobId);
+  }
+
+  /**
+   * Validates the request and starts the job. Returned future is completed as soon as the job
+   * is saved, before any account is processed.
+   */
+  public Future<BulkActionJob> startJob(BulkActionJobRequest request) {
+    final ActionService actionService = createActionService(request.getAction());
+
+    failInterruptedJobs();
+
+    return actionService.splitIntoChunks(ActionRequest.from(request), CHUNK_SIZE)
+      .compose(chunks -> createJob(request)
+        .onSuccess(job -> processChunks(job, actionService, chunks)));
+  }
+
+  private Future<BulkActionJob> createJob(BulkActionJobRequest request) {
+    Date now = new Date();
+
+    BulkActionJob job = new BulkActionJob()
+      .withId(UUID.randomUUID().toString())
+      .withAction(BulkActionJob.Action.fromValue(request.getAction().value()))
+      .withStatus(Status.IN_PROGRESS)
+      .withTotalAccounts(request.getAccountIds().size())
+      .withProcessedAccounts(0)
+      .withFeeFineActionCount(0)
+      .withStartedDate(now)
+      .withHeartbeatDate(now);
+
+    if (request.getAction() != BulkActionJobRequest.Action.CANCEL) {
+      job.withAmount(new MonetaryValue(request.getAmount()).toString())
+        .withProcessedAmount(MonetaryValue.ZERO.toString());
+    }
+
+    populateMetadata(job, headers);
+
+    return jobRepository.save(job);
+  }
+
+  private Future<Void> processChunks(BulkActionJob job, ActionService actionService,
+    List<ActionRequest> chunks) {
+
+    log.info("Starting bulk action job {}: action={}, accounts={}, chunks={}", job.getId(),
+      job.getAction(), job.getTotalAccounts(), chunks.size());
+
+    long heartbeatTimerId = startHeartbeat(context.owner(), jobRepository, job.getId());
+
+    Future<Void> result = succeededFuture();
+    for (ActionRequest chunk : chunks) {
+      result = result.compose(ignored -> checkTokenNotExpired())
+        .compose(ignored -> actionService.performAction(chunk))
+        .compose(actionContext -> updateProgress(job, chunk, actionContext));
+    }
+
+    return result
+      .compose(ignored -> completeJob(job))
+      .recover(throwable -> failJob(job, throwable))
+      .onComplete(ignored -> context.owner().cancelTimer(heartbeatTimerId))
+      .onFailure(throwable -> log.error("Failed to update bulk action job {}", job.getId(),
+        throwable));
+  }
+
+  private Future<Void> updateProgress(BulkActionJob job, ActionRequest chunk,
+    ActionContext actionContext) {
+
+    job.setProcessedAccounts(job.getProcessedAccounts() + chunk.getAccountIds().size());
+    job.setFeeFineActionCount(job.getFeeFineActionCount()
+      + actionContext.getFeeFineActions().size());
+    job.setHeartbeatDate(new Date());
+
+    if (actionContext.getRequestedAmount() != null) {
+      job.setProcessedAmount(new MonetaryValue(job.getProcessedAmount())
+        .add(actionContext.getRequestedAmount())
+        .toString());
+    }
+
+    return updateJob(job);
+  }
+
+  private Future<Void> checkTokenNotExpired() {
+    Long tokenExpirationMillis = getExpirationMillis(headers.get(OKAPI_HEADER_TOKEN));
+
+    if (tokenExpirationMillis != null && tokenExpirationMillis <= currentTimeMillis()) {
+      return failedFuture(TOKEN_EXPIRED_MESSAGE);
+    }
+
+    return succeededFuture();
+  }
+
+  private Future<Void> completeJob(BulkActionJob job) {
+    log.info("Bulk action job {} completed", job.getId());
+
+    // accounts which got no share of the requested amount are skipped, but count as processed
+    job.withStatus(Status.COMPLETED)
+      .withProcessedAccounts(job.getTotalAccounts())
+      .withCompletedDate(new Date());
+
+    return updateJob(job);
+  }
+
+  private Future<Void> failJob(BulkActionJob job, Throwable throwable) {
+    log.error("Bulk action job {} failed after processing {} of {} accounts", job.getId(),
+      job.getProcessedAccounts(), job.getTotalAccounts(), throwable);
+
+    job.withStatus(Status.FAILED)
+      .withErrorMessage(throwable.getMessage())
+      .withCompletedDate(new Date());
+
+    return updateJob(job);
+  }
+
+  private Future<Void> updateJob(BulkActionJob job) {
+    populateMetadata(job, headers);
+
+    return jobRepository.update(job)
+      .mapEmpty();
+  }
+
+  private void failInterruptedJobs() {
+    jobRepository.failInterrupted()
+      .onSuccess(count -> {
+        if (count > 0) {
+          log.warn("Marked {} interrupted bulk action jobs as failed", count);
+        }
+      })
+      .onFailure(t -> log.warn("Failed to fail interrupted bulk action jobs", t));
+  }
+
+  private ActionService createActionService(BulkActionJobRequest.Action action) {
+    switch (action) {
+    case PAY:
+      return new PayActionService(headers, context);
+    case WAIVE:
+      return new WaiveActionService(headers, context);
+    case TRANSFER:
+      return new TransferActionService(headers, context);
+    case REFUND:
+      return new RefundActionService(headers, context);
+    case CANCEL:
+      return new CancelActionService(headers, context);
+    default:
+      throw new IllegalArgumentException("Unsupported bulk action: " + action);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package org.folio.rest.service;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.util.stream.Collectors.toList;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.service.EventOutboxService.RELAY_ADDRESS;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
+import static org.folio.rest.utils.TenantSchemaHelper.findTenantsWithTable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.domain.OutboxEvent;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.repository.EventOutboxRepository;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+
+/**
+ * Drains event outbox tables of all tenants to Kafka. A tenant is drained when one of its requests
+ * commits new events and periodically, to pick up events left by failed or interrupted relays.
+ * Only one relay drains the outbox of a tenant at a time, so events with the same partition key
+ * are delivered in the order they were saved.
+ */
+public class EventOutboxRelayVerticle extends AbstractVerticle {
+  private static final Logger log = LogManager.getLogger(EventOutboxRelayVerticle.class);
+
+  static final String RELAY_INTERVAL_MS_ENV = "EVENT_OUTBOX_RELAY_INTERVAL_MS";
+  static final String RELAY_BATCH_SIZE_ENV = "EVENT_OUTBOX_RELAY_BATCH_SIZE";
+  private static final long DEFAULT_RELAY_INTERVAL_MS = 5_000;
+  private static final long DEFAULT_RELAY_BATCH_SIZE = 500;
+  private static final String EVENT_OUTBOX_TABLE = "event_outbox";
+
+  private final Set<String> tenantsInProgress = new HashSet<>();
+  private final Set<String> tenantsToRelayAgain = new HashSet<>();
+  private KafkaEventProducer kafkaEventProducer;
+  private final int batchSize;
+
+  public EventOutboxRelayVerticle() {
+    this(null, (int) getLongSetting(RELAY_BATCH_SIZE_ENV, DEFAULT_RELAY_BATCH_SIZE));
+  }
+
+  EventOutboxRelayVerticle(KafkaEventProducer kafkaEventProducer, int batchSize) {
+    this.kafkaEventProducer = kafkaEventProducer;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void start() {
+    if (kafkaEventProducer == null) {
+      kafkaEventProducer = KafkaEventProducer.getInstance(vertx);
+    }
+
+    vertx.eventBus().<String>consumer(RELAY_ADDRESS, message -> relay(message.body()));
+    vertx.setPeriodic(getLongSetting(RELAY_INTERVAL_MS_ENV, DEFAULT_RELAY_INTERVAL_MS),
+      timerId -> relayAllTenants());
+
+    log.info("Event outbox relay started, batch size {}", batchSize);
+  }
+
+  private void relayAllTenants() {
+    findTenantsWithTable(vertx, EVENT_OUTBOX_TABLE)
+      .onSuccess(tenants -> tenants.forEach(this::relay))
+      .onFailure(t -> log.error("Failed to find tenants with event outbox", t));
+  }
+
+  private void relay(String tenantId) {
+    if (!tenantsInProgress.add(tenantId)) {
+      tenantsToRelayAgain.add(tenantId);
+      return;
+    }
+
+    relayAll(tenantId)
+      .onFailure(t -> log.error("Failed to relay outbox events of tenant {}", tenantId, t))
+      .onComplete(ignored -> {
+        tenantsInProgress.remove(tenantId);
+        if (tenantsToRelayAgain.remove(tenantId)) {
+          relay(tenantId);
+        }
+      });
+  }
+
+  Future<Void> relayAll(String tenantId) {
+    return relayBatch(tenantId)
+      .compose(relayedCount -> relayedCount < batchSize
+        ? succeededFuture()
+        : relayAll(tenantId));
+  }
+
+  private Future<Integer> relayBatch(String tenantId) {
+    PostgresClient pgClient = PostgresClient.getInstance(vertx, tenantId);
+    EventOutboxRepository eventOutboxRepository = new EventOutboxRepository(pgClient);
+    Map<String, String> headers = Map.of(OKAPI_HEADER_TENANT, tenantId);
+
+    return pgClient.withTrans(conn -> eventOutboxRepository.tryLockForRelay(conn)
+      .compose(locked -> Boolean.TRUE.equals(locked)
+        ? eventOutboxRepository.getOldest(batchSize, conn)
+        : succeededFuture(List.<OutboxEvent>of()))
+      .compose(events -> {
+        if (events.isEmpty()) {
+          return succeededFuture(0);
+        }
+
+        return publish(events, headers)
+          .compose(ignored -> eventOutboxRepository.delete(events, conn))
+          .onSuccess(ignored -> log.debug("Relayed {} events of tenant {}", events.size(),
+            tenantId))
+          .map(events.size());
+      }));
+  }
+
+  private Future<Void> publish(List<OutboxEvent> events, Map<String, String> headers) {
+    // records are handed to the producer in outbox order, producer keeps the order per key
+    return Future.all(events.stream()
+        .map(event -> kafkaEventProducer.publish(event.getEventType(),
+          event.getPartitionKey() == null ? event.getEventType().name() : event.getPartitionKey(),
+          event.getPayload(), headers))
+        .collect(toList()))
+      .mapEmpty();
+  }
+}
@@ -0,0 +1,66 @@
+package org.folio.rest.service;
+
+import static org.folio.rest.utils.EnvironmentUtils.getSetting;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.domain.OutboxEvent;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.repository.EventOutboxRepository;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Saves events to the outbox table in the transaction which changes the data the events are about.
+ * Saved events are delivered to Kafka by {@link EventOutboxRelayVerticle}.
+ */
+public class EventOutboxService {
+  private static final Logger log = LogManager.getLogger(EventOutboxService.class);
+
+  static final String OUTBOX_ENABLED_ENV = "EVENT_OUTBOX_ENABLED";
+  static final String RELAY_ADDRESS = "mod-feesfines.event-outbox.relay";
+  private static final boolean OUTBOX_ENABLED = isOutboxEnabled();
+
+  private final Vertx vertx;
+  private final String tenantId;
+  private final EventOutboxRepository eventOutboxRepository;
+
+  public EventOutboxService(Vertx vertx, PostgresClient pgClient) {
+    this.vertx = vertx;
+    this.tenantId = pgClient.getTenantId();
+    this.eventOutboxRepository = new EventOutboxRepository(pgClient);
+  }
+
+  public static boolean isEnabled() {
+    return OUTBOX_ENABLED;
+  }
+
+  public Future<Void> save(List<OutboxEvent> events, Conn conn) {
+    return eventOutboxRepository.save(events, conn);
+  }
+
+  /**
+   * Wakes up the relay so that committed events don't wait for the next poll.
+   */
+  public void notifyRelay() {
+    vertx.eventBus().send(RELAY_ADDRESS, tenantId);
+  }
+
+  private static boolean isOutboxEnabled() {
+    if (!Boolean.parseBoolean(getSetting(OUTBOX_ENABLED_ENV, "false"))) {
+      return false;
+    }
+
+    if (!EventPublisher.isKafkaPublishingMode()) {
+      log.warn("{} is set, but events are not published to Kafka, event outbox is disabled",
+        OUTBOX_ENABLED_ENV);
+      return false;
+    }
+
+    return true;
+  }
+}
@@ -1,6 +1,7 @@
 package org.folio.rest.service;
 
 import static org.folio.rest.tools.utils.TenantTool.tenantId;
+import static org.folio.rest.utils.EnvironmentUtils.getSetting;
 
 import java.util.Map;
 import java.util.UUID;
@@ -17,29 +18,58 @@ import org.folio.util.pubsub.PubSubClientUtils;
 import io.vertx.core.Vertx;
 
 public class EventPublisher {
-  private final Logger logger = LogManager.getLogger(EventPublisher.class);
+  private static final Logger logger = LogManager.getLogger(EventPublisher.class);
+
+  static final String PUBLISHING_MODE_ENV = "EVENT_PUBLISHING_MODE";
+  static final String KAFKA_PUBLISHING_MODE = "KAFKA";
+  static final boolean KAFKA_PUBLISHING_ENABLED = isKafkaPublishingEnabled();
+
   private final FeeFinePubSubClient pubSubClient;
+  // null when events are published through pub/sub
+  private final KafkaEventProducer kafkaEventProducer;
+  private final Map<String, String> okapiHeaders;
   private final String tenantId;
 
   public EventPublisher(Vertx vertx, Map<String, String> okapiHeaders) {
+    this(vertx, okapiHeaders,
+      KAFKA_PUBLISHING_ENABLED ? KafkaEventProducer.getInstance(vertx) : null);
+  }
+
+  EventPublisher(Vertx vertx, Map<String, String> okapiHeaders,
+    KafkaEventProducer kafkaEventProducer) {
+
     pubSubClient = new FeeFinePubSubClient(vertx, okapiHeaders);
+    this.kafkaEventProducer = kafkaEventProducer;
+    this.okapiHeaders = okapiHeaders;
     tenantId = tenantId(okapiHeaders);
   }
 
   public CompletableFuture<Void> publishEvent(EventType type, String payload) {
-    return publishEvent(createEvent(type, payload));
+    return publishEvent(type, createEvent(type, payload));
   }
 
-  private CompletableFuture<Void> publishEvent(Event event) {
+  private CompletableFuture<Void> publishEvent(EventType type, Event event) {
+    if (kafkaEventProducer != null) {
+      return kafkaEventProducer.publish(type, event.getEventPayload(), okapiHeaders)
+        .toCompletionStage()
+        .toCompletableFuture();
+    }
+
     return pubSubClient.publishEvent(event);
   }
 
-  public void publishEventAsynchronously(EventType type, String payload) {
-    publishEventAsynchronously(createEvent(type, payload));
+  /**
+   * Publishes the event without failing the caller, failures are logged. Returned future is
+   * completed once publishing is over, whether it succeeded or not.
+   */
+  public CompletableFuture<Void> publishEventAsynchronously(EventType type, String payload) {
+    return publishEventAsynchronously(type, createEvent(type, payload));
   }
 
-  private void publishEventAsynchronously(final Event event) {
-    publishEvent(event).whenComplete((noResult, error) -> {
+  private CompletableFuture<Void> publishEventAsynchronously(EventType eventType,
+    final Event event) {
+
+    return publishEvent(eventType, event).handle((noResult, error) -> {
       final String id = event.getId();
       final String type = event.getEventType();
       final String payload = event.getEventPayload();
@@ -50,6 +80,7 @@ public class EventPublisher {
         logger.error("Failed to publish event [id={}, type={}, payload={}]: cause {}",
           id, type, payload, error);
       }
+      return null;
     });
   }
 
@@ -63,4 +94,23 @@ public class EventPublisher {
         .withTenantId(tenantId)
         .withEventTTL(1));
   }
+
+  static boolean isKafkaPublishingMode() {
+    return KAFKA_PUBLISHING_ENABLED;
+  }
+
+  private static boolean isKafkaPublishingEnabled() {
+    if (!KAFKA_PUBLISHING_MODE.equalsIgnoreCase(getSetting(PUBLISHING_MODE_ENV, ""))) {
+      return false;
+    }
+
+    if (!KafkaService.isKafkaConfigured()) {
+      logger.warn("{} is {}, but Kafka is not configured, events will be published to pub/sub",
+        PUBLISHING_MODE_ENV, KAFKA_PUBLISHING_MODE);
+      return false;
+    }
+
+    logger.info("Events will be published directly to Kafka");
+    return true;
+  }
 }
@@ -1,32 +1,68 @@
 package org.folio.rest.service;
 
+import static io.vertx.core.Future.all;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.apache.commons.lang3.BooleanUtils.isTrue;
+import static org.folio.rest.domain.EventType.FEE_FINE_BALANCE_CHANGED;
+import static org.folio.rest.domain.EventType.LOG_RECORD;
+import static org.folio.rest.domain.logs.LogEventPayloadHelper.buildFeeFineLogEventPayload;
+import static org.folio.rest.service.AccountEventPublisher.createBalanceChangedPayload;
+import static org.folio.rest.service.LogEventPublisher.LogEventPayloadType.FEE_FINE;
+import static org.folio.rest.service.LogEventPublisher.createLogRecordPayload;
+import static org.folio.rest.utils.MetadataHelper.populateMetadata;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.rest.domain.OutboxEvent;
+import org.folio.rest.exception.FailedValidationException;
 import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.FeeFineCharge;
+import org.folio.rest.jaxrs.model.Feefine;
 import org.folio.rest.jaxrs.model.Feefineaction;
+import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.repository.AccountRepository;
 import org.folio.rest.repository.FeeFineActionRepository;
+import org.folio.rest.repository.FeeFineRepository;
 import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 
 public class FeeFineChargeService {
   private static final Logger log = LogManager.getLogger(FeeFineChargeService.class);
 
+  private final Vertx vertx;
+  private final Map<String, String> headers;
   private final PostgresClient pgClient;
   private final AccountRepository accountRepository;
   private final FeeFineActionRepository feeFineActionRepository;
+  private final FeeFineRepository feeFineRepository;
   private final AccountEventPublisher accountEventPublisher;
+  private final EventOutboxService eventOutboxService;
 
   public FeeFineChargeService(Context context, Map<String, String> headers) {
+    this.vertx = context.owner();
+    this.headers = headers;
     this.pgClient = PostgresClient.getInstance(context.owner(), TenantTool.tenantId(headers));
     this.accountRepository = new AccountRepository(pgClient);
     this.feeFineActionRepository = new FeeFineActionRepository(pgClient);
+    this.feeFineRepository = new FeeFineRepository(pgClient);
     this.accountEventPublisher = new AccountEventPublisher(context, headers);
+    this.eventOutboxService = new EventOutboxService(context.owner(), pgClient);
   }
 
   public Future<Void> chargeFeeFine(Account account, Feefineaction action) {
@@ -46,4 +82,136 @@ public class FeeFineChargeService {
       .mapEmpty();
   }
 
+  /**
+   * Charges multiple fees/fines at once: all accounts and charge actions are inserted with
+   * batch statements in a single transaction. Events are not reduced: as for fees/fines created
+   * one by one, a balance change event is published per fee/fine and a log event per charge
+   * action, and patron notices are sent. Only the database round trips are batched.
+   */
+  public Future<List<FeeFineCharge>> chargeFeeFines(List<FeeFineCharge> charges) {
+    log.info("Charging {} fees/fines", charges.size());
+
+    try {
+      validateCharges(charges);
+    } catch (FailedValidationException e) {
+      return failedFuture(e);
+    }
+
+    List<Account> accounts = charges.stream()
+      .map(FeeFineCharge::getAccount)
+      .collect(toList());
+    List<Feefineaction> actions = charges.stream()
+      .map(FeeFineCharge::getAction)
+      .collect(toList());
+
+    accounts.forEach(account -> populateMetadata(account, headers));
+    actions.forEach(action -> populateMetadata(action, headers));
+
+    return createLogEventPayloads(charges)
+      .compose(logEventPayloads -> pgClient.withTrans(conn ->
+          feeFineActionRepository.saveAll(actions, conn)
+            .compose(ignored -> accountRepository.saveAll(accounts, conn))
+            .compose(ignored -> saveOutboxEvents(accounts, actions, logEventPayloads, conn)))
+        .onSuccess(ignored -> publishEvents(accounts, logEventPayloads)))
+      .onSuccess(ignored -> sendPatronNotices(actions))
+      .onSuccess(ignored -> log.info("Successfully charged {} fees/fines", charges.size()))
+      .onFailure(t -> log.error("Failed to charge {} fees/fines: {}", charges.size(),
+        t.getMessage()))
+      .map(charges);
+  }
+
+  private static void validateCharges(List<FeeFineCharge> charges) {
+    Set<String> accountIds = new HashSet<>();
+
+    for (FeeFineCharge charge : charges) {
+      Account account = charge.getAccount();
+      Feefineaction action = charge.getAction();
+
+      if (account.getId() == null) {
+        account.setId(action.getAccountId() != null
+          ? action.getAccountId()
+          : UUID.randomUUID().toString());
+      }
+      if (action.getAccountId() == null) {
+        action.setAccountId(account.getId());
+      }
+      if (!Objects.equals(account.getId(), action.getAccountId())) {
+        throw new FailedValidationException("Charge action must belong to the charged fee/fine: "
+          + account.getId());
+      }
+      if (!Objects.equals(account.getUserId(), action.getUserId())) {
+        throw new FailedValidationException(
+          "Charge action must belong to the user of the charged fee/fine: " + account.getId());
+      }
+      if (!accountIds.add(account.getId())) {
+        throw new FailedValidationException("Fee/fine is charged more than once: "
+          + account.getId());
+      }
+      if (action.getId() == null) {
+        action.setId(UUID.randomUUID().toString());
+      }
+    }
+  }
+
+  private Future<List<JsonObject>> createLogEventPayloads(List<FeeFineCharge> charges) {
+    Set<String> feeFineIds = charges.stream()
+      .map(charge -> charge.getAccount().getFeeFineId())
+      .filter(Objects::nonNull)
+      .collect(toSet());
+
+    return feeFineRepository.getByIds(feeFineIds)
+      .compose(feeFinesById -> all(charges.stream()
+        .map(charge -> buildLogEventPayload(charge, feeFinesById))
+        .collect(toList())))
+      .map(payloads -> payloads.<JsonObject>list());
+  }
+
+  private static Future<JsonObject> buildLogEventPayload(FeeFineCharge charge,
+    Map<String, Feefine> feeFinesById) {
+
+    return buildFeeFineLogEventPayload(charge.getAction(), charge.getAccount(),
+      feeFinesById.get(charge.getAccount().getFeeFineId()));
+  }
+
+  private Future<Void> saveOutboxEvents(List<Account> accounts, List<Feefineaction> actions,
+    List<JsonObject> logEventPayloads, Conn conn) {
+
+    if (!EventOutboxService.isEnabled()) {
+      return succeededFuture();
+    }
+
+    List<OutboxEvent> events = new ArrayList<>();
+    for (int i = 0; i < actions.size(); i++) {
+      events.add(new OutboxEvent(LOG_RECORD, actions.get(i).getAccountId(),
+        createLogRecordPayload(logEventPayloads.get(i), FEE_FINE).encode()));
+    }
+    accounts.forEach(account -> events.add(new OutboxEvent(FEE_FINE_BALANCE_CHANGED,
+      account.getId(), createBalanceChangedPayload(account))));
+
+    return eventOutboxService.save(events, conn);
+  }
+
+  private void publishEvents(List<Account> accounts, List<JsonObject> logEventPayloads) {
+    if (EventOutboxService.isEnabled()) {
+      eventOutboxService.notifyRelay();
+      return;
+    }
+
+    LogEventPublisher logEventPublisher = new LogEventPublisher(vertx, headers);
+    logEventPayloads.forEach(payload -> logEventPublisher.publishLogEvent(payload, FEE_FINE));
+    accountEventPublisher.publishAccountBalanceChangeEvents(accounts);
+  }
+
+  private void sendPatronNotices(List<Feefineaction> actions) {
+    List<Feefineaction> actionsToNotify = actions.stream()
+      .filter(action -> isTrue(action.getNotify()))
+      .collect(toList());
+
+    if (actionsToNotify.isEmpty()) {
+      return;
+    }
+
+    PatronNoticeService patronNoticeService = new PatronNoticeService(vertx, headers);
+    actionsToNotify.forEach(patronNoticeService::sendPatronNotice);
+  }
 }
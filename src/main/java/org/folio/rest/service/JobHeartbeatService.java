@@ -0,0 +1,74 @@
+package org.folio.rest.service;
+
+import static java.util.stream.Collectors.toList;
+import static org.folio.rest.repository.AbstractJobRepository.HEARTBEAT_INTERVAL_MILLIS;
+import static org.folio.rest.repository.AbstractJobRepository.HEARTBEAT_TIMEOUT_MILLIS;
+import static org.folio.rest.utils.TenantSchemaHelper.findTenantsWithTable;
+
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.repository.AbstractJobRepository;
+import org.folio.rest.repository.BulkActionJobRepository;
+import org.folio.rest.repository.ReportJobRepository;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Keeps heartbeats of running background jobs and fails jobs which were interrupted before they
+ * finished, see {@link AbstractJobRepository}.
+ */
+public class JobHeartbeatService {
+  private static final Logger log = LogManager.getLogger(JobHeartbeatService.class);
+
+  private JobHeartbeatService() {
+  }
+
+  /**
+   * Starts updating the heartbeat of the job, returns ID of the timer to cancel once the job
+   * is finished.
+   */
+  public static long startHeartbeat(Vertx vertx, AbstractJobRepository repository, String jobId) {
+    return vertx.setPeriodic(HEARTBEAT_INTERVAL_MILLIS, timerId -> repository.heartbeat(jobId)
+      .onFailure(t -> log.warn("Failed to update heartbeat of job {}", jobId, t)));
+  }
+
+  /**
+   * Fails interrupted jobs of all tenants on module start, and once more when heartbeats of jobs
+   * interrupted right before the start have timed out.
+   */
+  public static void failInterruptedJobsOnStart(Vertx vertx) {
+    failInterruptedJobs(vertx);
+    vertx.setTimer(HEARTBEAT_TIMEOUT_MILLIS, timerId -> failInterruptedJobs(vertx));
+  }
+
+  public static Future<Void> failInterruptedJobs(Vertx vertx) {
+    return Future.all(
+        failInterruptedJobs(vertx, ReportJobRepository.REPORT_JOBS_TABLE,
+          ReportJobRepository::new),
+        failInterruptedJobs(vertx, BulkActionJobRepository.BULK_ACTION_JOBS_TABLE,
+          BulkActionJobRepository::new))
+      .mapEmpty();
+  }
+
+  private static Future<Void> failInterruptedJobs(Vertx vertx, String tableName,
+    Function<PostgresClient, AbstractJobRepository> repositoryFactory) {
+
+    return findTenantsWithTable(vertx, tableName)
+      .compose(tenants -> Future.all(tenants.stream()
+        .map(tenantId -> repositoryFactory.apply(PostgresClient.getInstance(vertx, tenantId))
+          .failInterrupted()
+          .onSuccess(count -> {
+            if (count > 0) {
+              log.warn("Marked {} interrupted jobs in {} of tenant {} as failed", count,
+                tableName, tenantId);
+            }
+          }))
+        .collect(toList())))
+      .onFailure(t -> log.error("Failed to fail interrupted jobs in {}", tableName, t))
+      .mapEmpty();
+  }
+}
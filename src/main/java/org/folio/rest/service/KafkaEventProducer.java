@@ -2,13 +2,18 @@ package org.folio.rest.service;
 
 import static java.util.Objects.requireNonNull;
 import static org.folio.rest.tools.utils.TenantTool.tenantId;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.util.RawValue;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.kafka.KafkaConfig;
-import org.folio.kafka.SimpleKafkaProducerManager;
 import org.folio.kafka.services.KafkaEnvironmentProperties;
 import org.folio.kafka.services.KafkaProducerRecordBuilder;
 import org.folio.rest.domain.EventType;
@@ -20,7 +25,15 @@ import io.vertx.kafka.client.producer.KafkaProducer;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
 
 public class KafkaEventProducer {
+  private static final Logger log = LogManager.getLogger(KafkaEventProducer.class);
+
   private static final String PRODUCER_NAME = "mod-feesfines-events";
+  static final String LINGER_MS_ENV = "KAFKA_PRODUCER_LINGER_MS";
+  static final String BATCH_SIZE_ENV = "KAFKA_PRODUCER_BATCH_SIZE";
+  private static final long DEFAULT_LINGER_MS = 5;
+  private static final long DEFAULT_BATCH_SIZE = 16_384;
+
+  private static final Map<Vertx, KafkaEventProducer> producers = new ConcurrentHashMap<>();
 
   private final Function<KafkaProducerRecord<String, String>, Future<Void>> sender;
 
@@ -28,23 +41,39 @@ public class KafkaEventProducer {
     this(createSender(vertx));
   }
 
+  /**
+   * Returns producer shared by all requests handled by the given Vert.x instance.
+   */
+  public static KafkaEventProducer getInstance(Vertx vertx) {
+    return producers.computeIfAbsent(vertx, KafkaEventProducer::new);
+  }
+
   KafkaEventProducer(Function<KafkaProducerRecord<String, String>, Future<Void>> sender) {
 
     this.sender = requireNonNull(sender);
   }
 
   public Future<Void> publish(EventType eventType, String payload, Map<String, String> okapiHeaders) {
-    return sender.apply(createRecord(eventType, payload, okapiHeaders));
+    return publish(eventType, eventType.name(), payload, okapiHeaders);
   }
 
-  private KafkaProducerRecord<String, String> createRecord(EventType eventType, String payload,
+  /**
+   * Publishes event with the given record key, events with the same key keep their order.
+   */
+  public Future<Void> publish(EventType eventType, String key, String payload,
     Map<String, String> okapiHeaders) {
 
+    return sender.apply(createRecord(eventType, key, payload, okapiHeaders));
+  }
+
+  private KafkaProducerRecord<String, String> createRecord(EventType eventType, String key,
+    String payload, Map<String, String> okapiHeaders) {
+
     String tenantId = tenantId(okapiHeaders);
     String kafkaTopic = FeeFineKafkaTopic.from(eventType).fullTopicName(tenantId);
 
     return new KafkaProducerRecordBuilder<String, Object>(tenantId)
-      .key(eventType.name())
+      .key(key)
       .value(new RawValue(payload))
       .topic(kafkaTopic)
       .propagateOkapiHeaders(okapiHeaders)
@@ -59,9 +88,20 @@ public class KafkaEventProducer {
       .replicationFactor(KafkaEnvironmentProperties.replicationFactor())
       .build();
 
-    KafkaProducer<String, String> producer = new SimpleKafkaProducerManager(vertx, kafkaConfig)
-      .createShared(PRODUCER_NAME);
-
-    return producerRecord -> producer.send(producerRecord).mapEmpty();
+    Map<String, String> producerProps = new HashMap<>(kafkaConfig.getProducerProps());
+    producerProps.put(ProducerConfig.LINGER_MS_CONFIG,
+      String.valueOf(getLongSetting(LINGER_MS_ENV, DEFAULT_LINGER_MS)));
+    producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG,
+      String.valueOf(getLongSetting(BATCH_SIZE_ENV, DEFAULT_BATCH_SIZE)));
+
+    KafkaProducer<String, String> producer = KafkaProducer.createShared(vertx, PRODUCER_NAME,
+      producerProps);
+
+    return producerRecord -> producer.send(producerRecord)
+      .onSuccess(metadata -> log.debug("Event {} delivered to {}, partition {}, offset {}",
+        producerRecord.key(), metadata.getTopic(), metadata.getPartition(), metadata.getOffset()))
+      .onFailure(t -> log.error("Failed to deliver event {} to {}", producerRecord.key(),
+        producerRecord.topic(), t))
+      .mapEmpty();
   }
 }
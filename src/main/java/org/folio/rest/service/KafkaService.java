@@ -74,7 +74,7 @@ public class KafkaService {
     return (topics, tenantId) -> Future.succeededFuture();
   }
 
-  private static boolean isKafkaConfigured() {
+  static boolean isKafkaConfigured() {
     return isKafkaConfigured(System.getenv(KAFKA_HOST_ENV),
       System.getProperty(KAFKA_HOST_ENV), System.getProperty(KAFKA_HOST_SYS_PROP));
   }
@@ -27,7 +27,9 @@ public class LogEventPublisher {
     eventPublisher.publishEventAsynchronously(LOG_RECORD, payload.encode());
   }
 
-  private JsonObject createLogRecordPayload(JsonObject payload, LogEventPayloadType logEventPayloadType) {
+  public static JsonObject createLogRecordPayload(JsonObject payload,
+    LogEventPayloadType logEventPayloadType) {
+
     JsonObject logEventPayload = new JsonObject();
     write(logEventPayload, LOG_EVENT_TYPE, logEventPayloadType.value());
     write(logEventPayload, PAYLOAD, payload);
@@ -0,0 +1,60 @@
+package org.folio.rest.service;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.OwnerBalanceSummary;
+import org.folio.rest.jaxrs.model.UserBalanceSummary;
+import org.folio.rest.repository.UserBalanceSummaryRepository;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+
+public class UserBalanceSummaryService {
+  private final UserBalanceSummaryRepository repository;
+
+  public UserBalanceSummaryService(Map<String, String> headers, Context context) {
+    repository = new UserBalanceSummaryRepository(headers, context);
+  }
+
+  public Future<UserBalanceSummary> getSummary(String userId) {
+    return getSummaries(List.of(userId))
+      .map(summaries -> summaries.get(0));
+  }
+
+  /**
+   * Returns a summary for every requested patron, in the order of the IDs. Patrons without open
+   * fees/fines get zero totals.
+   */
+  public Future<List<UserBalanceSummary>> getSummaries(Collection<String> userIds) {
+    return repository.findByUserIds(userIds)
+      .map(ownerSummaries -> userIds.stream()
+        .map(userId -> buildSummary(userId, ownerSummaries.getOrDefault(userId, List.of())))
+        .collect(toList()));
+  }
+
+  private static UserBalanceSummary buildSummary(String userId,
+    List<OwnerBalanceSummary> ownerSummaries) {
+
+    return new UserBalanceSummary()
+      .withUserId(userId)
+      .withOpenCount(ownerSummaries.stream()
+        .mapToInt(OwnerBalanceSummary::getOpenCount)
+        .sum())
+      .withTotalRemaining(ownerSummaries.stream()
+        .map(OwnerBalanceSummary::getTotalRemaining)
+        .reduce(MonetaryValue.ZERO, MonetaryValue::add))
+      .withOldestOpenDate(ownerSummaries.stream()
+        .map(OwnerBalanceSummary::getOldestOpenDate)
+        .filter(Objects::nonNull)
+        .min(naturalOrder())
+        .orElse(null))
+      .withOwners(ownerSummaries);
+  }
+}
@@ -6,27 +6,34 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 import static org.folio.rest.domain.Action.CREDIT;
+import static org.folio.rest.domain.EventType.LOG_RECORD;
 import static org.folio.rest.domain.FeeFineStatus.CLOSED;
 import static org.folio.rest.jaxrs.model.PaymentStatus.Name.fromValue;
 import static org.folio.rest.persist.PostgresClient.getInstance;
 import static org.folio.rest.service.LogEventPublisher.LogEventPayloadType.FEE_FINE;
+import static org.folio.rest.service.LogEventPublisher.createLogRecordPayload;
 import static org.folio.rest.tools.utils.TenantTool.tenantId;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
+import org.apache.commons.collections4.ListUtils;
 import org.folio.rest.domain.Action;
 import org.folio.rest.domain.ActionRequest;
 import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.domain.OutboxEvent;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.Feefineaction;
+import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.repository.AccountRepository;
 import org.folio.rest.repository.FeeFineActionRepository;
 import org.folio.rest.service.AccountUpdateService;
+import org.folio.rest.service.EventOutboxService;
 import org.folio.rest.service.LogEventPublisher;
 import org.folio.rest.service.LogEventService;
 import org.folio.rest.service.PatronNoticeService;
@@ -50,6 +57,8 @@ public abstract class ActionService {
   protected final BulkActionAmountSplitterStrategy amountSplitterStrategy;
   private final LogEventService logEventService;
   private final LogEventPublisher logEventPublisher;
+  private final EventOutboxService eventOutboxService;
+  private final PostgresClient pgClient;
   private final Map<String, String> headers;
 
   protected ActionService(Action action, ActionValidationService validationService,
@@ -66,6 +75,8 @@ public abstract class ActionService {
     this.amountSplitterStrategy = new SplitEvenlyRecursively();
     this.logEventService = new LogEventService(context.owner(), headers);
     this.logEventPublisher = new LogEventPublisher(context.owner(), headers);
+    this.eventOutboxService = new EventOutboxService(context.owner(), postgresClient);
+    this.pgClient = postgresClient;
     this.headers = headers;
   }
 
@@ -84,6 +95,8 @@ public abstract class ActionService {
     this.amountSplitterStrategy = bulkActionAmountSplitterStrategy;
     this.logEventService = new LogEventService(context.owner(), headers);
     this.logEventPublisher = new LogEventPublisher(context.owner(), headers);
+    this.eventOutboxService = new EventOutboxService(context.owner(), postgresClient);
+    this.pgClient = postgresClient;
     this.headers = headers;
   }
 
@@ -92,10 +105,60 @@ public abstract class ActionService {
       .compose(this::findAccounts)
       .compose(this::validateAction)
       .compose(this::createFeeFineActions)
-      .compose(this::publishLogEvents)
-      .compose(this::updateAccounts)
-      .compose(this::sendPatronNotice)
-      .onSuccess(accountUpdateService::publishLoanRelatedFeeFineClosedEvent);
+      .compose(this::createLogEventPayloads)
+      .compose(this::saveChanges)
+      .onSuccess(this::publishEvents)
+      .compose(this::sendPatronNotice);
+  }
+
+  /**
+   * Validates the request against all requested accounts and splits it into requests for chunks
+   * of at most {@code chunkSize} accounts. The requested amount is distributed between accounts
+   * the same way {@link #performAction(ActionRequest)} would do it, so each chunk request carries
+   * the share of the amount belonging to its accounts. Chunks which get no share of the amount
+   * are left out.
+   */
+  public Future<List<ActionRequest>> splitIntoChunks(ActionRequest request, int chunkSize) {
+    return succeededFuture(new ActionContext(request))
+      .compose(this::findAccounts)
+      .compose(this::validateAction)
+      .compose(context -> getActionableAmounts(context)
+        .map(actionableAmounts -> buildChunks(context, actionableAmounts, chunkSize)));
+  }
+
+  protected Future<Map<String, MonetaryValue>> getActionableAmounts(ActionContext context) {
+    return succeededFuture(context.getAccounts().values().stream()
+      .collect(toMap(Account::getId, Account::getRemaining)));
+  }
+
+  private List<ActionRequest> buildChunks(ActionContext context,
+    Map<String, MonetaryValue> actionableAmounts, int chunkSize) {
+
+    final ActionRequest request = context.getRequest();
+    final MonetaryValue requestedAmount = context.getRequestedAmount();
+    final Map<String, MonetaryValue> distributedAmounts = requestedAmount == null
+      ? null : amountSplitterStrategy.split(requestedAmount, actionableAmounts);
+
+    List<ActionRequest> chunks = new ArrayList<>();
+    for (List<String> accountIds : ListUtils.partition(request.getAccountIds(), chunkSize)) {
+      String chunkAmount = null;
+      if (distributedAmounts != null) {
+        MonetaryValue amount = accountIds.stream()
+          .map(distributedAmounts::get)
+          .filter(Objects::nonNull)
+          .reduce(MonetaryValue.ZERO, MonetaryValue::add);
+        if (!amount.isPositive()) {
+          continue;
+        }
+        chunkAmount = amount.toString();
+      }
+
+      chunks.add(new ActionRequest(accountIds, chunkAmount, request.getComments(),
+        request.getTransactionInfo(), request.getServicePointId(), request.getUserName(),
+        request.getPaymentMethod(), request.getNotifyPatron(), request.getReasonForAction()));
+    }
+
+    return chunks;
   }
 
   private Future<ActionContext> findAccounts(ActionContext context) {
@@ -115,19 +178,13 @@ public abstract class ActionService {
     final List<Account> accounts = new ArrayList<>(context.getAccounts().values());
     final MonetaryValue requestedAmount = context.getRequestedAmount();
 
-    Map<String, MonetaryValue> actionableAmounts = accounts.stream()
-      .collect(toMap(Account::getId, Account::getRemaining));
-
-    Map<String, MonetaryValue> distributedAmounts = amountSplitterStrategy.split(
-      requestedAmount, actionableAmounts);
-
-    List<Feefineaction> feeFineActions = accounts.stream()
-      .map(account -> createFeeFineActionAndUpdateAccount(
-        account, distributedAmounts.get(account.getId()), request))
-      .collect(toList());
-
-    return all(feeFineActions.stream().map(feeFineActionRepository::save).collect(toList()))
-      .map(context.withFeeFineActions(feeFineActions));
+    return getActionableAmounts(context)
+      .map(actionableAmounts -> amountSplitterStrategy.split(requestedAmount, actionableAmounts))
+      .map(distributedAmounts -> accounts.stream()
+        .map(account -> createFeeFineActionAndUpdateAccount(
+          account, distributedAmounts.get(account.getId()), request))
+        .collect(toList()))
+      .map(context::withFeeFineActions);
   }
 
   protected Feefineaction createFeeFineActionAndUpdateAccount(Account account, MonetaryValue amount,
@@ -165,14 +222,56 @@ public abstract class ActionService {
     return feeFineAction;
   }
 
-  private Future<ActionContext> updateAccounts(ActionContext context) {
-    return all(
-      context.getAccounts()
-        .values()
-        .stream()
-        .map(account -> accountUpdateService.updateAccount(account, headers))
-        .collect(toList())
-    ).map(context);
+  private Future<ActionContext> createLogEventPayloads(ActionContext context) {
+    return all(context.getFeeFineActions().stream()
+      .map(ffa -> logEventService.createFeeFineLogEventPayload(ffa,
+        context.getAccounts().get(ffa.getAccountId())))
+      .collect(toList()))
+      .map(payloads -> context.withLogEventPayloads(payloads.list()));
+  }
+
+  private Future<ActionContext> saveChanges(ActionContext context) {
+    return pgClient.withTrans(conn -> saveFeeFineActions(context, conn)
+        .compose(ignored -> updateAccounts(context, conn))
+        .compose(ignored -> saveOutboxEvents(context, conn)))
+      .map(context);
+  }
+
+  private Future<Void> saveFeeFineActions(ActionContext context, Conn conn) {
+    return feeFineActionRepository.saveAll(context.getFeeFineActions(), conn)
+      .mapEmpty();
+  }
+
+  private Future<Void> updateAccounts(ActionContext context, Conn conn) {
+    return accountUpdateService.updateAccounts(context.getAccounts().values(), headers, conn)
+      .mapEmpty();
+  }
+
+  private Future<Void> saveOutboxEvents(ActionContext context, Conn conn) {
+    if (!EventOutboxService.isEnabled()) {
+      return succeededFuture();
+    }
+
+    List<OutboxEvent> events = new ArrayList<>();
+    for (int i = 0; i < context.getFeeFineActions().size(); i++) {
+      events.add(new OutboxEvent(LOG_RECORD, context.getFeeFineActions().get(i).getAccountId(),
+        createLogRecordPayload(context.getLogEventPayloads().get(i), FEE_FINE).encode()));
+    }
+    events.addAll(accountUpdateService.createOutboxEvents(context));
+
+    return eventOutboxService.save(events, conn);
+  }
+
+  private void publishEvents(ActionContext context) {
+    if (EventOutboxService.isEnabled()) {
+      eventOutboxService.notifyRelay();
+      return;
+    }
+
+    context.getLogEventPayloads()
+      .forEach(payload -> logEventPublisher.publishLogEvent(payload, FEE_FINE));
+    accountUpdateService.publishAccountBalanceChangeEvents(context);
+    accountUpdateService.publishLoanRelatedFeeFineClosedEvent(context);
   }
 
   private Future<ActionContext> sendPatronNotice(ActionContext context) {
@@ -184,16 +283,4 @@ public abstract class ActionService {
     }
     return succeededFuture(context);
   }
-
-  private Future<ActionContext> publishLogEvents(ActionContext actionContext) {
-    return all(actionContext.getFeeFineActions().stream()
-      .map(ffa -> logEventService.createFeeFineLogEventPayload(ffa,
-          actionContext.getAccounts().get(ffa.getAccountId()))
-        .compose(eventPayload -> {
-          logEventPublisher.publishLogEvent(eventPayload, FEE_FINE);
-          return succeededFuture();
-        }))
-      .collect(toList()))
-      .map(actionContext);
-  }
 }
@@ -12,11 +12,13 @@ import static org.folio.rest.utils.FeeFineActionHelper.getTotalAmounts;
 import static org.folio.rest.utils.FeeFineActionHelper.groupFeeFineActionsByAccountId;
 import static org.folio.rest.utils.FeeFineActionHelper.groupTransferredAmountsByTransferAccount;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.apache.commons.collections4.ListUtils;
 import org.folio.rest.domain.Action;
 import org.folio.rest.domain.ActionRequest;
 import org.folio.rest.domain.MonetaryValue;
@@ -30,6 +32,7 @@ import io.vertx.core.Future;
 
 public class RefundActionService extends ActionService {
   private static final String PAYMENT_REFUND_RECIPIENT = "patron";
+  private static final int ACCOUNTS_LOOKUP_CHUNK_SIZE = 100;
 
   public RefundActionService(Map<String, String> headers, Context context) {
     super(Action.REFUND, new RefundActionValidationService(headers, context), headers, context);
@@ -41,6 +44,20 @@ public class RefundActionService extends ActionService {
       .compose(feeFineActions -> processRefund(context, feeFineActions));
   }
 
+  @Override
+  protected Future<Map<String, MonetaryValue>> getActionableAmounts(ActionContext context) {
+    List<String> accountIds = new ArrayList<>(context.getAccounts().keySet());
+
+    // refundable actions are looked up in chunks to stay within the actions query limit
+    return Future.all(ListUtils.partition(accountIds, ACCOUNTS_LOOKUP_CHUNK_SIZE).stream()
+        .map(feeFineActionRepository::findRefundableActionsForAccounts)
+        .collect(toList()))
+      .map(result -> result.<List<Feefineaction>>list().stream()
+        .flatMap(List::stream)
+        .collect(toList()))
+      .map(actions -> getTotalAmounts(groupFeeFineActionsByAccountId(actions)));
+  }
+
   private Future<ActionContext> processRefund(ActionContext context,
     List<Feefineaction> refundableFeeFineActions) {
 
@@ -125,8 +142,7 @@ public class RefundActionService extends ActionService {
 
     updateAccountInMemory(account, feeFineAction);
 
-    return feeFineActionRepository.save(feeFineAction)
-      .map(context::withFeeFineAction);
+    return succeededFuture(context.withFeeFineAction(feeFineAction));
   }
 
   private Feefineaction buildFeeFineAction(Account account, Action action, MonetaryValue amount,
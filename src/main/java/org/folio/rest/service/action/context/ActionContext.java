@@ -10,16 +10,20 @@ import org.folio.rest.domain.MonetaryValue;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.Feefineaction;
 
+import io.vertx.core.json.JsonObject;
+
 public class ActionContext {
   private final ActionRequest request;
   private List<Feefineaction> feeFineActions;
   private MonetaryValue requestedAmount;
   private Map<String, Account> accounts;
+  private List<JsonObject> logEventPayloads;
 
   public ActionContext(ActionRequest request) {
     this.request = request;
     this.feeFineActions = new ArrayList<>();
     this.accounts = new HashMap<>();
+    this.logEventPayloads = new ArrayList<>();
   }
 
   public ActionContext withFeeFineAction(Feefineaction feeFineAction) {
@@ -42,6 +46,11 @@ public class ActionContext {
     return this;
   }
 
+  public ActionContext withLogEventPayloads(List<JsonObject> logEventPayloads) {
+    this.logEventPayloads = logEventPayloads;
+    return this;
+  }
+
   public ActionRequest getRequest() {
     return request;
   }
@@ -58,4 +67,8 @@ public class ActionContext {
     return requestedAmount;
   }
 
+  public List<JsonObject> getLogEventPayloads() {
+    return logEventPayloads;
+  }
+
 }
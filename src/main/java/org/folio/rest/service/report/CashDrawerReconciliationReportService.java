@@ -2,30 +2,34 @@ package org.folio.rest.service.report;
 
 import static org.folio.rest.domain.Action.PAY;
 import static org.folio.rest.repository.FeeFineActionRepository.ORDER_BY_OWNER_SOURCE_DATE_ASC;
-import static org.folio.rest.service.report.utils.ReportStatsHelper.calculateTotals;
 import static org.folio.rest.utils.FeeFineActionHelper.getPatronInfoFromComment;
 import static org.folio.rest.utils.FeeFineActionHelper.getStaffInfoFromComment;
+import static org.folio.util.UuidUtil.isUuid;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.domain.PaymentTotals;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.CashDrawerReconciliationReport;
 import org.folio.rest.jaxrs.model.CashDrawerReconciliationReportEntry;
 import org.folio.rest.jaxrs.model.CashDrawerReconciliationReportSources;
 import org.folio.rest.jaxrs.model.CashDrawerReconciliationReportStats;
 import org.folio.rest.jaxrs.model.Feefineaction;
-import org.folio.rest.jaxrs.model.ReportTotalsEntry;
+import org.folio.rest.repository.ActionsAndAccounts;
 import org.folio.rest.repository.FeeFineActionRepository;
+import org.folio.rest.repository.PaymentHourlyTotalsRepository;
 import org.folio.rest.service.report.parameters.CashDrawerReconciliationReportParameters;
+import org.folio.rest.service.report.utils.ReportTotalsAggregator;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -38,13 +42,16 @@ public class CashDrawerReconciliationReportService extends
 
   private static final int REPORT_ROWS_LIMIT = 1_000_000;
   private static final String EMPTY_VALUE = "-";
+  private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
 
   private final FeeFineActionRepository feeFineActionRepository;
+  private final PaymentHourlyTotalsRepository paymentHourlyTotalsRepository;
 
   public CashDrawerReconciliationReportService(Map<String, String> headers, Context context) {
     super(headers, context);
 
     feeFineActionRepository = new FeeFineActionRepository(headers, context);
+    paymentHourlyTotalsRepository = new PaymentHourlyTotalsRepository(headers, context);
   }
 
   public Future<CashDrawerReconciliationReportSources> findSources(String createdAt) {
@@ -68,22 +75,51 @@ public class CashDrawerReconciliationReportService extends
         "endDate={}, createdAt={}, sources={}, tz={}", params.getStartDate(), params.getEndDate(),
       params.getCreatedAt(), params.getSources(), timeZone);
 
+    if (params.isStatsOnly() && canUseHourlyTotals(params)) {
+      return buildStatsFromHourlyTotals(params);
+    }
+
     return feeFineActionRepository.findFeeFineActionsAndAccounts(PAY,
         params.getStartDate(), params.getEndDate(), null, params.getCreatedAt(), params.getSources(),
         ORDER_BY_OWNER_SOURCE_DATE_ASC, REPORT_ROWS_LIMIT)
-      .map(this::buildReport);
+      .map(this::buildReport)
+      .map(report -> params.isStatsOnly() ? report.withReportData(new ArrayList<>()) : report);
+  }
+
+  /**
+   * Hourly totals are kept per UTC hour, so they add up to the report period only when the
+   * period starts and ends at a full hour, i.e. the tenant time zone has a whole-hour offset.
+   */
+  private static boolean canUseHourlyTotals(CashDrawerReconciliationReportParameters params) {
+    return isUuid(params.getCreatedAt())
+      && isFullHour(params.getStartDate())
+      && (params.getEndDate() == null || isFullHour(params.getEndDate()));
   }
 
-  private CashDrawerReconciliationReport buildReport(Map<Feefineaction,
-    Account> actionsToAccounts) {
+  private static boolean isFullHour(String date) {
+    return date != null
+      && DateTime.parse(date).withZone(DateTimeZone.UTC).getMillisOfDay() % HOUR_MILLIS == 0;
+  }
 
-    List<CashDrawerReconciliationReportEntry> entryList = actionsToAccounts.keySet().stream()
-      .map(action -> buildReportEntry(action, actionsToAccounts.get(action)))
-      .collect(Collectors.toList());
+  private Future<CashDrawerReconciliationReport> buildStatsFromHourlyTotals(
+    CashDrawerReconciliationReportParameters params) {
+
+    return paymentHourlyTotalsRepository.findTotals(params.getStartDate(), params.getEndDate(),
+        UUID.fromString(params.getCreatedAt()), params.getSources())
+      .map(totals -> new CashDrawerReconciliationReport()
+        .withReportData(new ArrayList<>())
+        .withReportStats(buildCashDrawerReconciliationReportStats(totals)));
+  }
+
+  private CashDrawerReconciliationReport buildReport(ActionsAndAccounts actionsAndAccounts) {
+    List<CashDrawerReconciliationReportEntry> entryList = new ArrayList<>(
+      actionsAndAccounts.size());
+    actionsAndAccounts.forEach((action, account) -> entryList.add(
+      buildReportEntry(action, account)));
 
     return new CashDrawerReconciliationReport()
       .withReportData(entryList)
-      .withReportStats(buildCashDrawerReconciliationReportStats(actionsToAccounts));
+      .withReportStats(buildCashDrawerReconciliationReportStats(actionsAndAccounts));
   }
 
   private CashDrawerReconciliationReportEntry buildReportEntry(Feefineaction action,
@@ -115,92 +151,52 @@ public class CashDrawerReconciliationReportService extends
   }
 
   private CashDrawerReconciliationReportStats buildCashDrawerReconciliationReportStats(
-    Map<Feefineaction, Account> actionsToAccounts) {
+    ActionsAndAccounts actionsAndAccounts) {
 
     CashDrawerReconciliationReportStats stats =
       new CashDrawerReconciliationReportStats();
 
-    List<Feefineaction> actions = new ArrayList<>(actionsToAccounts.keySet());
-
-    Function<Feefineaction, String> feeFineTypeCategoryNameFunction = action -> {
-      Account account = actionsToAccounts.get(action);
-      if (account == null) {
-        return EMPTY_VALUE;
-      }
-      return account.getFeeFineType();
-    };
+    ReportTotalsAggregator<Integer> totals = new ReportTotalsAggregator<Integer>()
+      .withDimension(row -> actionsAndAccounts.getAction(row).getSource(), stats.getBySource(),
+        "Source totals", false)
+      .withDimension(row -> actionsAndAccounts.getAction(row).getPaymentMethod(),
+        stats.getByPaymentMethod(), "Payment method totals", false)
+      .withDimension(row -> getAccountField(actionsAndAccounts.getAccount(row),
+        Account::getFeeFineType), stats.getByFeeFineType(), "Fee/fine type totals", false)
+      .withDimension(row -> getAccountField(actionsAndAccounts.getAccount(row),
+        Account::getFeeFineOwner), stats.getByFeeFineOwner(), "Fee/fine owner totals", false);
+
+    for (int row = 0; row < actionsAndAccounts.size(); row++) {
+      totals.add(row, actionsAndAccounts.getAction(row).getAmountAction());
+    }
+    totals.writeTotals();
 
-    Function<Feefineaction, String> feeFineOwnerCategoryNameFunction = action -> {
-      Account account = actionsToAccounts.get(action);
-      if (account == null) {
-        return EMPTY_VALUE;
-      }
-      return account.getFeeFineOwner();
-    };
+    return stats;
+  }
 
-    calculateTotals(stats.getBySource(), actions, Feefineaction::getSource,
-      "Source totals");
+  private CashDrawerReconciliationReportStats buildCashDrawerReconciliationReportStats(
+    List<PaymentTotals> paymentTotals) {
 
-    calculateTotals(stats.getByPaymentMethod(), actions, Feefineaction::getPaymentMethod,
-      "Payment method totals");
+    CashDrawerReconciliationReportStats stats =
+      new CashDrawerReconciliationReportStats();
 
-    calculateTotals(stats.getByFeeFineType(), actions, feeFineTypeCategoryNameFunction,
-      "Fee/fine type totals");
+    ReportTotalsAggregator<PaymentTotals> totals = new ReportTotalsAggregator<PaymentTotals>()
+      .withDimension(PaymentTotals::getSource, stats.getBySource(), "Source totals", false)
+      .withDimension(PaymentTotals::getPaymentMethod, stats.getByPaymentMethod(),
+        "Payment method totals", false)
+      .withDimension(row -> row.isAccountFound() ? row.getFeeFineType() : EMPTY_VALUE,
+        stats.getByFeeFineType(), "Fee/fine type totals", false)
+      .withDimension(row -> row.isAccountFound() ? row.getFeeFineOwner() : EMPTY_VALUE,
+        stats.getByFeeFineOwner(), "Fee/fine owner totals", false);
 
-    calculateTotals(stats.getByFeeFineOwner(), actions, feeFineOwnerCategoryNameFunction,
-      "Fee/fine owner totals");
+    paymentTotals.forEach(row -> totals.add(row, row.getAmount(), row.getCount()));
+    totals.writeTotals();
 
     return stats;
   }
 
-  private void calculateTotals(List<ReportTotalsEntry> totalsEntries, List<Feefineaction> actions,
-    Function<Feefineaction, String> categoryNameFunction, String totalsCategoryName) {
-
-    List<String> categories = actions.stream()
-      .map(categoryNameFunction)
-      .filter(Objects::nonNull)
-      .distinct()
-      .collect(Collectors.toList());
-
-    // Calculate categories
-    categories.forEach(category -> totalsEntries.add(new ReportTotalsEntry()
-      .withName(category)
-      .withTotalAmount(actions.stream()
-        .filter(filterByCategory(category, categoryNameFunction))
-        .map(Feefineaction::getAmountAction)
-        .filter(Objects::nonNull)
-        .reduce(MonetaryValue::add)
-        .orElse(MonetaryValue.ZERO)
-        .toString())
-      .withTotalCount(String.valueOf(actions.stream()
-        .filter(filterByCategory(category, categoryNameFunction))
-        .count()))));
-
-    // Calculate total
-    totalsEntries.add(new ReportTotalsEntry()
-      .withName(totalsCategoryName)
-      .withTotalAmount(actions.stream()
-        .filter(filterByCategories(categories, categoryNameFunction))
-        .map(Feefineaction::getAmountAction)
-        .filter(Objects::nonNull)
-        .reduce(MonetaryValue::add)
-        .orElse(MonetaryValue.ZERO)
-        .toString())
-      .withTotalCount(String.valueOf(actions.stream()
-        .filter(filterByCategories(categories, categoryNameFunction))
-        .count())));
-  }
-
-  private Predicate<Feefineaction> filterByCategory(String category,
-    Function<Feefineaction, String> categoryNameFunction) {
-
-    return action -> category.equals(categoryNameFunction.apply(action));
-  }
-
-  private Predicate<Feefineaction> filterByCategories(List<String> categories,
-    Function<Feefineaction, String> categoryNameFunction) {
-
-    return action -> categories.contains(categoryNameFunction.apply(action));
+  private static String getAccountField(Account account, Function<Account, String> getter) {
+    return account == null ? EMPTY_VALUE : getter.apply(account);
   }
 
   private String formatMonetaryValue(MonetaryValue value) {
@@ -5,6 +5,7 @@ import static org.folio.util.UuidUtil.isUuid;
 import static org.joda.time.DateTimeZone.UTC;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@ import org.folio.rest.jaxrs.model.OverdueFinePolicy;
 import org.folio.rest.jaxrs.model.ServicePoint;
 import org.folio.rest.jaxrs.model.User;
 import org.folio.rest.jaxrs.model.UserGroup;
+import org.folio.rest.repository.ActionsAndAccounts;
 import org.folio.rest.service.report.context.HasItemInfo;
 import org.folio.rest.service.report.context.HasLoanInfo;
 import org.folio.rest.service.report.context.HasServicePointsInfo;
@@ -28,33 +30,54 @@ import org.folio.rest.service.report.context.HasUserInfo;
 import org.joda.time.DateTimeZone;
 
 import io.vertx.core.Future;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.With;
 
 @With
-@AllArgsConstructor
 @Getter
 public class FinancialTransactionsDetailReportContext
   implements HasUserInfo, HasItemInfo, HasServicePointsInfo,
   HasLoanInfo {
 
   final DateTimeZone timeZone;
-  final Map<Feefineaction, Account> actionsToAccounts;
+  final ActionsAndAccounts actionsAndAccounts;
   final Map<String, AccountContextData> accountContexts;
   final Map<String, User> users;
   final Map<String, UserGroup> userGroups;
   final Map<String, Item> items;
   final Map<String, ServicePoint> servicePoints;
 
+  // index of accounts from actionsAndAccounts, rebuilt whenever a new context is created
+  @With(AccessLevel.NONE)
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Account> accountsById = new HashMap<>();
+
   public FinancialTransactionsDetailReportContext() {
-    timeZone = UTC;
-    actionsToAccounts = new HashMap<>();
-    accountContexts = new HashMap<>();
-    users = new HashMap<>();
-    userGroups = new HashMap<>();
-    items = new HashMap<>();
-    servicePoints = new HashMap<>();
+    this(UTC, new ActionsAndAccounts(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+      new HashMap<>(), new HashMap<>());
+  }
+
+  public FinancialTransactionsDetailReportContext(DateTimeZone timeZone,
+    ActionsAndAccounts actionsAndAccounts, Map<String, AccountContextData> accountContexts,
+    Map<String, User> users, Map<String, UserGroup> userGroups, Map<String, Item> items,
+    Map<String, ServicePoint> servicePoints) {
+
+    this.timeZone = timeZone;
+    this.actionsAndAccounts = actionsAndAccounts;
+    this.accountContexts = accountContexts;
+    this.users = users;
+    this.userGroups = userGroups;
+    this.items = items;
+    this.servicePoints = servicePoints;
+
+    actionsAndAccounts.getAccounts()
+      .forEach(account -> accountsById.putIfAbsent(account.getId(), account));
+  }
+
+  @Override
+  public Collection<Account> getAccounts() {
+    return actionsAndAccounts.getAccounts();
   }
 
   AccountContextData getAccountContextById(String accountId) {
@@ -67,11 +90,7 @@ public class FinancialTransactionsDetailReportContext
       return existingContext;
     }
 
-    Account account = actionsToAccounts.values().stream()
-      .filter(a -> accountId.equals(a.getId()))
-      .findFirst()
-      .orElse(null);
-
+    Account account = accountsById.get(accountId);
     if (account != null) {
       AccountContextData accountContext = new AccountContextData().withAccount(account);
       accountContexts.put(accountId, accountContext);
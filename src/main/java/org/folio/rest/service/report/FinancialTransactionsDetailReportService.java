@@ -1,27 +1,33 @@
 package org.folio.rest.service.report;
 
+import static io.vertx.core.Future.succeededFuture;
 import static java.lang.System.currentTimeMillis;
 import static org.folio.rest.domain.Action.CANCEL;
 import static org.folio.rest.domain.Action.PAY;
 import static org.folio.rest.domain.Action.REFUND;
 import static org.folio.rest.domain.Action.TRANSFER;
 import static org.folio.rest.domain.Action.WAIVE;
-import static org.folio.rest.service.report.utils.ReportStatsHelper.calculateTotals;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
 import static org.folio.rest.utils.FeeFineActionHelper.getPatronInfoFromComment;
 import static org.folio.rest.utils.FeeFineActionHelper.getStaffInfoFromComment;
 import static org.folio.rest.utils.PatronHelper.buildFormattedName;
 import static org.folio.rest.utils.PatronHelper.getEmail;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.domain.Action;
+import org.folio.rest.domain.MonetaryValue;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.Contributor;
 import org.folio.rest.jaxrs.model.Feefineaction;
@@ -36,16 +42,25 @@ import org.folio.rest.jaxrs.model.OverdueFinePolicy;
 import org.folio.rest.jaxrs.model.ServicePoint;
 import org.folio.rest.jaxrs.model.User;
 import org.folio.rest.jaxrs.model.UserGroup;
+import org.folio.rest.repository.ActionsAndAccounts;
+import org.folio.rest.repository.ActionsAndAccountsChunk;
 import org.folio.rest.service.report.parameters.FinancialTransactionsDetailReportParameters;
 import org.folio.rest.service.report.utils.LookupHelper;
+import org.folio.rest.service.report.utils.ReportTotalsAccumulator;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
 
 public class FinancialTransactionsDetailReportService extends
   DateBasedReportService<FinancialTransactionsDetailReport, FinancialTransactionsDetailReportParameters> {
 
   private static final Logger log = LogManager.getLogger(FinancialTransactionsDetailReportService.class);
 
+  static final String CHUNK_SIZE_ENV = "FINANCIAL_TRANSACTIONS_DETAIL_REPORT_CHUNK_SIZE";
+  private static final int REPORT_ROWS_LIMIT = 1_000_000;
+  private static final long DEFAULT_REPORT_CHUNK_SIZE = 5_000;
   private static final String EMPTY_VALUE = "-";
   private static final Map<String, String> ACTION_NAMES = new HashMap<>();
 
@@ -63,27 +78,63 @@ public class FinancialTransactionsDetailReportService extends
     ACTION_NAMES.put("Staff info only", "Staff info only");
   }
 
+  private final Context context;
   private final LookupHelper lookupHelper;
+  private final int chunkSize;
 
-  public FinancialTransactionsDetailReportService(Map<String, String> headers, io.vertx.core.Context context) {
+  public FinancialTransactionsDetailReportService(Map<String, String> headers, Context context) {
     super(headers, context);
+    this.context = context;
     lookupHelper = new LookupHelper(headers, context);
+    chunkSize = (int) getLongSetting(CHUNK_SIZE_ENV, DEFAULT_REPORT_CHUNK_SIZE);
   }
 
   @Override
   public Future<FinancialTransactionsDetailReport> build(
     FinancialTransactionsDetailReportParameters params) {
 
+    List<FinancialTransactionsDetailReportEntry> entries = new ArrayList<>();
+
+    return build(params, chunkEntries -> {
+      entries.addAll(chunkEntries);
+      return succeededFuture();
+    })
+      .map(stats -> new FinancialTransactionsDetailReport()
+        .withReportData(entries)
+        .withReportStats(stats));
+  }
+
+  /**
+   * Builds the report and writes it to the stream as JSON. Entries of a chunk are written as soon
+   * as the chunk is processed, so that entries of earlier chunks are not kept in memory.
+   */
+  public Future<Void> writeTo(FinancialTransactionsDetailReportParameters params,
+    OutputStream outputStream) {
+
+    ReportDataWriter reportDataWriter = new ReportDataWriter(outputStream);
+
+    return write(outputStream, () -> Buffer.buffer("{\"reportData\":["))
+      .compose(v -> build(params, reportDataWriter::write))
+      .compose(stats -> write(outputStream, () -> Buffer.buffer("],\"reportStats\":")
+        .appendBuffer(Json.encodeToBuffer(stats))
+        .appendString("}")));
+  }
+
+  private Future<FinancialTransactionsDetailReportStats> build(
+    FinancialTransactionsDetailReportParameters params,
+    Function<List<FinancialTransactionsDetailReportEntry>, Future<Void>> entriesConsumer) {
+
     long startTimeMillis = currentTimeMillis();
 
     return adjustDates(params)
-      .compose(v -> buildWithAdjustedDates(params))
+      .compose(v -> buildWithAdjustedDates(params, entriesConsumer))
       .onSuccess(r -> log.info("Report built in {} ms", currentTimeMillis() - startTimeMillis))
       .onFailure(t -> log.error("Report construction failed", t));
   }
 
-  private Future<FinancialTransactionsDetailReport> buildWithAdjustedDates(
-    FinancialTransactionsDetailReportParameters params) {
+  private Future<FinancialTransactionsDetailReportStats> buildWithAdjustedDates(
+    FinancialTransactionsDetailReportParameters params,
+    Function<List<FinancialTransactionsDetailReportEntry>, Future<Void>> entriesConsumer) {
 
     log.info("Building financial transactions detail report with parameters: startDate={}, " +
         "endDate={}, owner={}, createdAt={}, tz={}", params.getStartDate(), params.getEndDate(),
@@ -96,9 +147,38 @@ public class FinancialTransactionsDetailReportService extends
       CANCEL.getFullResult(),
       "Staff info only");
 
-    FinancialTransactionsDetailReportContext ctx = new FinancialTransactionsDetailReportContext();
+    return buildChunk(params, actionTypes, null, new ReportBuilder(entriesConsumer))
+      .map(ReportBuilder::buildStats);
+  }
+
+  private Future<ReportBuilder> buildChunk(FinancialTransactionsDetailReportParameters params,
+    List<String> actionTypes, ActionsAndAccountsChunk.Cursor after, ReportBuilder reportBuilder) {
+
+    int limit = Math.min(chunkSize, REPORT_ROWS_LIMIT - reportBuilder.rowCount);
 
-    return lookupHelper.findActionsAndAccounts(params, actionTypes, ctx)
+    return lookupHelper.findActionsAndAccountsChunk(params, actionTypes, after, limit)
+      .compose(chunk -> enrichChunk(chunk.getActionsAndAccounts())
+        .compose(reportBuilder::addChunk)
+        .compose(builder -> buildNextChunk(params, actionTypes, chunk, builder)));
+  }
+
+  private Future<ReportBuilder> buildNextChunk(FinancialTransactionsDetailReportParameters params,
+    List<String> actionTypes, ActionsAndAccountsChunk chunk, ReportBuilder reportBuilder) {
+
+    if (chunk.isLast() || reportBuilder.rowCount >= REPORT_ROWS_LIMIT) {
+      return succeededFuture(reportBuilder);
+    }
+
+    return buildChunk(params, actionTypes, chunk.getNext(), reportBuilder);
+  }
+
+  private Future<FinancialTransactionsDetailReportContext> enrichChunk(
+    ActionsAndAccounts actionsAndAccounts) {
+
+    log.info("Enriching chunk of {} actions", actionsAndAccounts.size());
+
+    return succeededFuture(new FinancialTransactionsDetailReportContext()
+        .withActionsAndAccounts(actionsAndAccounts))
       .compose(lookupHelper::lookupActionsForAccounts)
       .compose(lookupHelper::lookupServicePointsForFeeFineActions)
       .compose(lookupHelper::lookupUsersForAccounts)
@@ -106,23 +186,12 @@ public class FinancialTransactionsDetailReportService extends
       .compose(lookupHelper::lookupItemsForAccounts)
       .compose(lookupHelper::lookupInstancesForItems)
       .compose(lookupHelper::lookupLocationsForItems)
-      .compose(lookupHelper::lookupLoansForAccounts)
-      .map(this::buildReport);
-  }
-
-  private FinancialTransactionsDetailReport buildReport(FinancialTransactionsDetailReportContext ctx) {
-    List<FinancialTransactionsDetailReportEntry> entryList = ctx.actionsToAccounts.keySet().stream()
-      .map(action -> buildReportEntry(ctx, action))
-      .collect(Collectors.toList());
-
-    return new FinancialTransactionsDetailReport()
-      .withReportData(entryList)
-      .withReportStats(buildFinancialTransactionsDetailReportStats(ctx));
+      .compose(lookupHelper::lookupLoansForAccounts);
   }
 
   private FinancialTransactionsDetailReportEntry buildReportEntry(
     FinancialTransactionsDetailReportContext ctx,
-    Feefineaction feeFineAction) {
+    Feefineaction feeFineAction, Account account) {
 
     FinancialTransactionsDetailReportEntry entry = new FinancialTransactionsDetailReportEntry();
 
@@ -150,7 +219,6 @@ public class FinancialTransactionsDetailReportService extends
         entry = entry.withActionAmount(amountAction.toString());
       }
 
-      Account account = ctx.actionsToAccounts.get(feeFineAction);
       if (account != null) {
         AccountContextData accountCtx = ctx.getAccountContextById(account.getId());
         if (accountCtx != null) {
@@ -251,61 +319,107 @@ public class FinancialTransactionsDetailReportService extends
     return entry;
   }
 
-  private FinancialTransactionsDetailReportStats buildFinancialTransactionsDetailReportStats(
-    FinancialTransactionsDetailReportContext ctx) {
-
-    FinancialTransactionsDetailReportStats stats = new FinancialTransactionsDetailReportStats();
+  private String getPaymentMethod(Action action, Feefineaction feeFineAction) {
+    return List.of(action.getPartialResult(), action.getFullResult())
+      .contains(feeFineAction.getTypeAction()) ? feeFineAction.getPaymentMethod() : "";
+  }
 
-    List<Feefineaction> actions = new ArrayList<>(ctx.actionsToAccounts.keySet());
 
-    // Fee/fine owner totals
-    Function<Feefineaction, String> feeFineOwnerCategoryNameFunction = action -> {
-      Account account = ctx.actionsToAccounts.get(action);
-      if (account == null) {
-        return EMPTY_VALUE;
-      }
-      return account.getFeeFineOwner();
-    };
-    calculateTotals(stats.getByFeeFineOwner(), actions, feeFineOwnerCategoryNameFunction,
-      "Fee/fine owner totals");
-
-    // Fee/fine type totals
-    Function<Feefineaction, String> feeFineTypeCategoryNameFunction = action -> {
-      Account account = ctx.actionsToAccounts.get(action);
-      if (account == null) {
-        return EMPTY_VALUE;
+  private Future<Void> write(OutputStream outputStream, Supplier<Buffer> content) {
+    return context.owner().executeBlocking(() -> {
+      try {
+        outputStream.write(content.get().getBytes());
+        return null;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
       }
-      return account.getFeeFineType();
-    };
-    calculateTotals(stats.getByFeeFineType(), actions, feeFineTypeCategoryNameFunction,
-      "Fee/fine type totals");
+    });
+  }
+
+  /**
+   * Writes entries of the report chunk by chunk, separated by commas.
+   */
+  private class ReportDataWriter {
+    private final OutputStream outputStream;
+    private boolean empty = true;
+
+    private ReportDataWriter(OutputStream outputStream) {
+      this.outputStream = outputStream;
+    }
+
+    private Future<Void> write(List<FinancialTransactionsDetailReportEntry> entries) {
+      return FinancialTransactionsDetailReportService.this.write(outputStream, () -> {
+        Buffer buffer = Buffer.buffer();
+        for (FinancialTransactionsDetailReportEntry entry : entries) {
+          if (!empty) {
+            buffer.appendString(",");
+          }
+          buffer.appendBuffer(Json.encodeToBuffer(entry));
+          empty = false;
+        }
+        return buffer;
+      });
+    }
+  }
 
-    // Action totals
-    calculateTotals(stats.getByAction(), actions,
-      action -> ACTION_NAMES.get(action.getTypeAction()), "Action totals");
+  /**
+   * Builds report entries and accumulates totals chunk by chunk. Entries of a chunk are handed
+   * over to the consumer, lookup results of a chunk are dropped as soon as its entries are built.
+   */
+  private class ReportBuilder {
+    private final Function<List<FinancialTransactionsDetailReportEntry>, Future<Void>> entriesConsumer;
+    private final ReportTotalsAccumulator byFeeFineOwner = new ReportTotalsAccumulator();
+    private final ReportTotalsAccumulator byFeeFineType = new ReportTotalsAccumulator();
+    private final ReportTotalsAccumulator byAction = new ReportTotalsAccumulator();
+    private final ReportTotalsAccumulator byPaymentMethod = new ReportTotalsAccumulator();
+    private final ReportTotalsAccumulator byWaiveReason = new ReportTotalsAccumulator();
+    private final ReportTotalsAccumulator byRefundReason = new ReportTotalsAccumulator();
+    private final ReportTotalsAccumulator byTransferAccount = new ReportTotalsAccumulator();
+    private int rowCount;
+
+    private ReportBuilder(
+      Function<List<FinancialTransactionsDetailReportEntry>, Future<Void>> entriesConsumer) {
+
+      this.entriesConsumer = entriesConsumer;
+    }
 
-    // Payment method totals
-    calculateTotals(stats.getByPaymentMethod(), actions, action -> getPaymentMethod(PAY, action),
-      "Payment method totals");
+    private Future<ReportBuilder> addChunk(FinancialTransactionsDetailReportContext ctx) {
+      List<FinancialTransactionsDetailReportEntry> entries = new ArrayList<>(
+        ctx.actionsAndAccounts.size());
+      ctx.actionsAndAccounts.forEach((action, account) -> {
+        entries.add(buildReportEntry(ctx, action, account));
+        addToTotals(action, account);
+      });
+      rowCount += ctx.actionsAndAccounts.size();
+
+      return entriesConsumer.apply(entries)
+        .map(this);
+    }
 
-    // Waive reason totals
-    calculateTotals(stats.getByWaiveReason(), actions, action -> getPaymentMethod(WAIVE, action),
-      "Waive reason totals");
+    private void addToTotals(Feefineaction action, Account account) {
+      MonetaryValue amount = action.getAmountAction();
 
-    // Refund reason totals
-    calculateTotals(stats.getByRefundReason(), actions, action -> getPaymentMethod(REFUND, action),
-      "Refund reason totals");
+      byFeeFineOwner.add(account == null ? EMPTY_VALUE : account.getFeeFineOwner(), amount);
+      byFeeFineType.add(account == null ? EMPTY_VALUE : account.getFeeFineType(), amount);
+      byAction.add(ACTION_NAMES.get(action.getTypeAction()), amount);
+      byPaymentMethod.add(getPaymentMethod(PAY, action), amount);
+      byWaiveReason.add(getPaymentMethod(WAIVE, action), amount);
+      byRefundReason.add(getPaymentMethod(REFUND, action), amount);
+      byTransferAccount.add(getPaymentMethod(TRANSFER, action), amount);
+    }
 
-    // Transfer account totals
-    calculateTotals(stats.getByTransferAccount(), actions,
-      action -> getPaymentMethod(TRANSFER, action), "Transfer account totals");
+    private FinancialTransactionsDetailReportStats buildStats() {
+      FinancialTransactionsDetailReportStats stats = new FinancialTransactionsDetailReportStats();
 
-    return stats;
-  }
+      byFeeFineOwner.writeTo(stats.getByFeeFineOwner(), "Fee/fine owner totals");
+      byFeeFineType.writeTo(stats.getByFeeFineType(), "Fee/fine type totals");
+      byAction.writeTo(stats.getByAction(), "Action totals");
+      byPaymentMethod.writeTo(stats.getByPaymentMethod(), "Payment method totals");
+      byWaiveReason.writeTo(stats.getByWaiveReason(), "Waive reason totals");
+      byRefundReason.writeTo(stats.getByRefundReason(), "Refund reason totals");
+      byTransferAccount.writeTo(stats.getByTransferAccount(), "Transfer account totals");
 
-  private String getPaymentMethod(Action action, Feefineaction feeFineAction) {
-    return List.of(action.getPartialResult(), action.getFullResult())
-      .contains(feeFineAction.getTypeAction()) ? feeFineAction.getPaymentMethod() : "";
+      return stats;
+    }
   }
-
 }
@@ -1,7 +1,6 @@
 package org.folio.rest.service.report;
 
 import static io.vertx.core.Future.succeededFuture;
-import static java.lang.String.format;
 import static java.math.BigDecimal.ZERO;
 import static org.folio.rest.domain.Action.PAY;
 import static org.folio.rest.domain.Action.REFUND;
@@ -13,22 +12,17 @@ import static org.folio.util.UuidUtil.isUuid;
 import static org.joda.time.DateTimeZone.UTC;
 
 import java.util.ArrayList;
-import java.util.Currency;
-import java.util.Date;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.rest.client.SettingsClient;
 import org.folio.rest.domain.Action;
-import org.folio.rest.domain.LocaleSettings;
 import org.folio.rest.domain.MonetaryValue;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.Feefineaction;
@@ -43,12 +37,9 @@ import org.folio.rest.repository.AccountRepository;
 import org.folio.rest.repository.FeeFineActionRepository;
 import org.folio.rest.service.report.context.HasItemInfo;
 import org.folio.rest.service.report.context.HasUserInfo;
+import org.folio.rest.service.report.parameters.RefundReportParameters;
 import org.folio.rest.service.report.utils.LookupHelper;
-import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
-import org.joda.time.format.ISODateTimeFormat;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -58,8 +49,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.With;
 
-// TODO: inherit from DateBasedReportService<RefundReport>
-public class RefundReportService {
+public class RefundReportService extends
+  DateBasedReportService<RefundReport, RefundReportParameters> {
+
   private static final Logger log = LogManager.getLogger(RefundReportService.class);
 
   private static final int REPORT_ROWS_LIMIT = 1_000_000;
@@ -67,77 +59,45 @@ public class RefundReportService {
   private static final String SEE_FEE_FINE_DETAILS_PAGE_MESSAGE = "See Fee/fine details page";
   private static final String REFUNDED_TO_PATRON = "Refunded to patron";
   private static final String REFUNDED_TO_BURSAR = "Refunded to Bursar";
-  private static final LocaleSettings FALLBACK_LOCALE_SETTINGS =
-    new LocaleSettings(Locale.US.toLanguageTag(), UTC.getID(),
-      Currency.getInstance(Locale.US).getCurrencyCode());
 
-  private final SettingsClient settingsClient;
   private final FeeFineActionRepository feeFineActionRepository;
   private final AccountRepository accountRepository;
 
   private final LookupHelper lookupHelper;
 
-  private DateTimeZone timeZone;
-  private DateTimeFormatter dateTimeFormatter;
-  private Currency currency;
-
   public RefundReportService(Map<String, String> headers, Context context) {
-    settingsClient = new SettingsClient(context.owner(), headers);
+    super(headers, context);
+
     feeFineActionRepository = new FeeFineActionRepository(headers, context);
     accountRepository = new AccountRepository(context, headers);
 
     lookupHelper = new LookupHelper(headers, context);
   }
 
-  public Future<RefundReport> buildReport(DateTime startDate, DateTime endDate,
-    List<String> ownerIds) {
-
-    return settingsClient.getLocaleSettings()
-      .recover(throwable -> succeededFuture(FALLBACK_LOCALE_SETTINGS))
-      .compose(localeSettings -> buildReportWithLocale(startDate, endDate, ownerIds,
-        localeSettings));
+  @Override
+  public Future<RefundReport> build(RefundReportParameters params) {
+    return adjustDates(params)
+      .compose(v -> buildWithAdjustedDates(params));
   }
 
-  private Future<RefundReport> buildReportWithLocale(DateTime startDate, DateTime endDate,
-    List<String> ownerIds, LocaleSettings localeSettings) {
-
-    setUpLocale(localeSettings);
-
-    String startDateTimeFormatted = null;
-    String endDateTimeFormatted = null;
-    String logStartDate = "null";
-    String logEndDate = "null";
-
-    if (startDate != null) {
-      startDateTimeFormatted = startDate
-        .withTimeAtStartOfDay()
-        .withZoneRetainFields(timeZone)
-        .withZone(UTC)
-        .toString(ISODateTimeFormat.dateTime());
-      logStartDate = startDate.toDateTimeISO().toString();
-    }
-
-    if (endDate != null) {
-      endDateTimeFormatted = endDate
-        .withTimeAtStartOfDay()
-        .plusDays(1)
-        .withZoneRetainFields(timeZone)
-        .withZone(UTC)
-        .toString(ISODateTimeFormat.dateTime());
-      logEndDate = endDate.toDateTimeISO().toString();
-    }
-
+  private Future<RefundReport> buildWithAdjustedDates(RefundReportParameters params) {
     log.info("Building refund report with parameters: startDate={}, endDate={}, ownerIds={}, tz={}",
-      logStartDate, logEndDate, ownerIds, timeZone);
+      params.getStartDate(), params.getEndDate(), params.getOwnerIds(), timeZone);
 
     RefundReportContext ctx = new RefundReportContext().withTimeZone(timeZone);
 
     return feeFineActionRepository
-      .find(REFUND, startDateTimeFormatted, endDateTimeFormatted,
-        ownerIds, REPORT_ROWS_LIMIT)
+      .find(REFUND, params.getStartDate(), params.getEndDate(), params.getOwnerIds(),
+        REPORT_ROWS_LIMIT)
       .map(RefundReportService::toRefundDataMap)
       .map(ctx::withRefunds)
-      .compose(this::processAllRefundActions)
+      .compose(this::lookupAccounts)
+      .compose(lookupHelper::lookupItemsForAccounts)
+      .compose(lookupHelper::lookupInstancesForItems)
+      .compose(lookupHelper::lookupUsersForAccounts)
+      .compose(lookupHelper::lookupGroupsForUsers)
+      .compose(lookupHelper::lookupActionsForAccounts)
+      .map(this::processAllRefundActions)
       .map(this::buildReportFromContext);
   }
 
@@ -147,40 +107,26 @@ public class RefundReportService {
       .collect(Collectors.toList()));
   }
 
-  private Future<RefundReportContext> processAllRefundActions(RefundReportContext ctx) {
-    return ctx.refunds.values().stream().reduce(succeededFuture(ctx),
-      (f, r) -> f.compose(result -> processSingleRefundAction(ctx, r.refundAction)),
-      (a, b) -> succeededFuture(ctx));
-  }
-
-  private Future<RefundReportContext> processSingleRefundAction(RefundReportContext ctx,
-    Feefineaction refundAction) {
+  private RefundReportContext processAllRefundActions(RefundReportContext ctx) {
+    List<String> accountIds = ctx.refunds.values().stream()
+      .map(refundData -> refundData.refundAction.getAccountId())
+      .distinct()
+      .collect(Collectors.toList());
 
-    String accountId = refundAction.getAccountId();
+    accountIds.forEach(accountId -> processAccount(ctx, accountId));
 
-    if (ctx.processedAccounts.contains(accountId)) {
-      return succeededFuture(ctx);
-    }
-
-    return lookupAccount(ctx, refundAction)
-      .compose(r -> lookupHelper.lookupItemForAccount(ctx, accountId))
-      .compose(r -> lookupHelper.lookupInstanceForAccount(ctx, accountId))
-      .compose(r -> lookupHelper.lookupUserForAccount(ctx, ctx.getAccountById(accountId)))
-      .compose(r -> lookupHelper.lookupUserGroupForUser(ctx, accountId))
-      .compose(r -> lookupHelper.lookupRefundPayTransferFeeFineActionsForAccount(ctx, accountId))
-      .map(actions -> processAccount(ctx, accountId));
+    return ctx;
   }
 
-  private RefundReportContext processAccount(RefundReportContext ctx, String accountId) {
+  private void processAccount(RefundReportContext ctx, String accountId) {
     AccountContextData accountData = ctx.accounts.get(accountId);
 
     if (accountData != null) {
       accountData.actions.forEach(action -> processAccountAction(ctx, accountId, action));
     }
 
-    ctx.markAccountProcessed(accountId);
-
-    return ctx;
+    // the account is not needed anymore once all of its refunds are processed
+    ctx.accounts.remove(accountId);
   }
 
   private void processAccountAction(RefundReportContext ctx,
@@ -227,7 +173,7 @@ public class RefundReportService {
 
       reportEntry
         .withFeeFineId(accountId)
-        .withRefundDate(formatDate(feeFineAction.getDateAction(), ctx.timeZone))
+        .withRefundDate(formatDate(feeFineAction.getDateAction()))
         .withRefundAction(feeFineAction.getTypeAction())
         .withRefundReason(feeFineAction.getPaymentMethod())
         .withStaffInfo(getStaffInfoFromComment(feeFineAction))
@@ -257,7 +203,7 @@ public class RefundReportService {
         reportEntry
           .withFeeFineType(account.getFeeFineType())
           .withBilledAmount(account.getAmount().toString())
-          .withDateBilled(formatDate(account.getMetadata().getCreatedDate(), ctx.timeZone))
+          .withDateBilled(formatDate(account.getMetadata().getCreatedDate()))
           .withFeeFineOwner(account.getFeeFineOwner());
       } else {
         log.error("Refund report - account is null, refund action {}", feeFineAction.getId());
@@ -287,42 +233,44 @@ public class RefundReportService {
     }
   }
 
-  private Future<RefundReportContext> lookupAccount(RefundReportContext ctx,
-    Feefineaction refundAction) {
-
-    String accountId = refundAction.getAccountId();
+  private Future<RefundReportContext> lookupAccounts(RefundReportContext ctx) {
+    List<String> accountIds = ctx.refunds.values().stream()
+      .map(refundData -> refundData.refundAction)
+      .filter(RefundReportService::hasValidAccountId)
+      .map(Feefineaction::getAccountId)
+      .distinct()
+      .collect(Collectors.toList());
 
-    if (!isUuid(accountId)) {
-      String message = format("Account ID is not a valid UUID in fee/fine action %s",
-        refundAction.getId());
-      log.error(message);
+    if (accountIds.isEmpty()) {
       return succeededFuture(ctx);
     }
 
-    return accountRepository.getAccountById(accountId)
-      .map(account -> addAccountContextData(ctx, account, accountId))
+    return accountRepository.getAccountsById(accountIds)
+      .onSuccess(accounts -> accountIds.forEach(accountId -> addAccountContextData(ctx,
+        accounts.get(accountId), accountId)))
       .map(ctx)
+      .onFailure(t -> log.error("Failed to fetch accounts", t))
       .otherwise(ctx);
   }
 
-  private AccountContextData addAccountContextData(RefundReportContext ctx,
-    Account account, String accountId) {
-
-    if (account == null) {
-      String message = format("Account %s not found", accountId);
-      log.error(message);
-      return null;
+  private static boolean hasValidAccountId(Feefineaction refundAction) {
+    if (!isUuid(refundAction.getAccountId())) {
+      log.error("Account ID is not a valid UUID in fee/fine action {}", refundAction.getId());
+      return false;
     }
 
-    return ctx.accounts.computeIfAbsent(accountId,
-      key -> new AccountContextData().withAccount(account));
+    return true;
   }
 
-  private void setUpLocale(LocaleSettings localeSettings) {
-    timeZone = localeSettings.getDateTimeZone();
-    dateTimeFormatter = DateTimeFormat.forPattern(DateTimeFormat.patternForStyle("SS",
-      Locale.forLanguageTag(localeSettings.getLocale())));
-    currency = Currency.getInstance(localeSettings.getCurrency());
+  private static void addAccountContextData(RefundReportContext ctx, Account account,
+    String accountId) {
+
+    if (account == null) {
+      log.error("Account {} not found", accountId);
+      return;
+    }
+
+    ctx.accounts.put(accountId, new AccountContextData().withAccount(account));
   }
 
   private static boolean actionIsOfType(Feefineaction feeFineAction, Action action) {
@@ -360,10 +308,6 @@ public class RefundReportService {
     return item.getBarcode();
   }
 
-  private String formatDate(Date date, DateTimeZone timeZone) {
-    return new DateTime(date).withZone(timeZone).toString(dateTimeFormatter);
-  }
-
   private boolean isRefundedToPatron(Feefineaction feeFineAction) {
     return REFUNDED_TO_PATRON.equals(feeFineAction.getTransactionInformation());
   }
@@ -396,7 +340,6 @@ public class RefundReportService {
     final DateTimeZone timeZone;
     final Map<String, RefundData> refunds;
     final Map<String, AccountContextData> accounts;
-    final Set<String> processedAccounts;
     final Map<String, User> users;
     final Map<String, UserGroup> userGroups;
     final Map<String, Item> items;
@@ -405,14 +348,21 @@ public class RefundReportService {
       timeZone = UTC;
       refunds = new HashMap<>();
       accounts = new HashMap<>();
-      processedAccounts = new HashSet<>();
       users = new HashMap<>();
       userGroups = new HashMap<>();
       items = new HashMap<>();
     }
 
+    @Override
+    public Collection<Account> getAccounts() {
+      return accounts.values()
+        .stream()
+        .map(AccountContextData::getAccount)
+        .collect(Collectors.toList());
+    }
+
     AccountContextData getAccountContextById(String accountId) {
-      return accounts.computeIfAbsent(accountId, key -> null);
+      return accounts.get(accountId);
     }
 
     public Account getAccountById(String accountId) {
@@ -453,11 +403,6 @@ public class RefundReportService {
       return null;
     }
 
-    void markAccountProcessed(String accountId) {
-      processedAccounts.add(accountId);
-      accounts.remove(accountId);
-    }
-
     public Future<Void> updateAccountContextWithInstance(String accountId, Instance instance) {
       accounts.put(accountId, getAccountContextById(accountId).withInstance(instance.getTitle()));
       return succeededFuture();
@@ -0,0 +1,186 @@
+package org.folio.rest.service.report;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.folio.rest.service.JobHeartbeatService.startHeartbeat;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
+import static org.folio.rest.utils.EnvironmentUtils.getLongSetting;
+import static org.folio.rest.utils.MetadataHelper.populateMetadata;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.ReportJob;
+import org.folio.rest.jaxrs.model.ReportJob.ReportType;
+import org.folio.rest.jaxrs.model.ReportJob.Status;
+import org.folio.rest.jaxrs.model.ReportJobRequest;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.repository.ReportJobRepository;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Builds reports in the background. Results are stored gzip-compressed and deleted together
+ * with the job once the retention period is over. A request identical to one of a job which is
+ * still running does not start a new job, the existing job is returned instead. Jobs interrupted
+ * e.g. by a restart are recognized by their missing heartbeats and marked as failed.
+ */
+public class ReportJobService {
+  private static final Logger log = LogManager.getLogger(ReportJobService.class);
+
+  static final String RETENTION_HOURS_ENV = "REPORT_JOB_RETENTION_HOURS";
+  private static final long DEFAULT_RETENTION_HOURS = 24;
+  private static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis(
+    getLongSetting(RETENTION_HOURS_ENV, DEFAULT_RETENTION_HOURS));
+
+  private final Map<String, String> headers;
+  private final Context context;
+  private final ReportJobRepository jobRepository;
+
+  public ReportJobService(Map<String, String> headers, Context context) {
+    this.headers = headers;
+    this.context = context;
+    this.jobRepository = new ReportJobRepository(
+      PostgresClient.getInstance(context.owner(), tenantId(headers)));
+  }
+
+  public Future<ReportJob> getJob(String jobId) {
+    return jobRepository.getById(jobId);
+  }
+
+  /**
+   * Returns the gzip-compressed report built by the job as it is stored, or null if the job has
+   * no stored result. The report is not decompressed, so its size does not matter.
+   */
+  public Future<Buffer> getResult(ReportJob job) {
+    return jobRepository.getResult(job.getId());
+  }
+
+  /**
+   * Starts a job building a report with the given writer, unless an identical request is
+   * already being processed. Returned future is completed as soon as the job is saved.
+   */
+  public Future<ReportJob> startJob(ReportJobRequest request, ReportWriter reportWriter) {
+    deleteExpiredJobs();
+    failInterruptedJobs();
+
+    ReportJob job = buildJob(request);
+
+    return jobRepository.saveUnlessInProgress(job)
+      .onSuccess(savedJob -> {
+        if (savedJob.getId().equals(job.getId())) {
+          buildReport(job, reportWriter);
+        } else {
+          log.info("Identical report job {} is in progress, not starting a new one",
+            savedJob.getId());
+        }
+      });
+  }
+
+  private ReportJob buildJob(ReportJobRequest request) {
+    Date now = new Date();
+
+    ReportJob job = new ReportJob()
+      .withId(UUID.randomUUID().toString())
+      .withReportType(ReportType.fromValue(request.getReportType().value()))
+      .withStatus(Status.IN_PROGRESS)
+      .withRequestHash(hash(request))
+      .withStartedDate(now)
+      .withHeartbeatDate(now)
+      .withExpirationDate(new Date(now.getTime() + RETENTION_MILLIS));
+
+    populateMetadata(job, headers);
+
+    return job;
+  }
+
+  private Future<Void> buildReport(ReportJob job, ReportWriter reportWriter) {
+    log.info("Starting report job {}: reportType={}", job.getId(), job.getReportType());
+
+    long heartbeatTimerId = startHeartbeat(context.owner(), jobRepository, job.getId());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    // the report is compressed while it is being written
+    return context.owner().executeBlocking(() -> new GZIPOutputStream(output))
+      .compose(gzip -> reportWriter.writeTo(gzip)
+        .compose(ignored -> context.owner().executeBlocking(() -> {
+          gzip.close();
+          return Buffer.buffer(output.toByteArray());
+        })))
+      .compose(result -> jobRepository.saveResult(job.getId(), result))
+      .compose(ignored -> completeJob(job))
+      .recover(throwable -> failJob(job, throwable))
+      .onComplete(ignored -> context.owner().cancelTimer(heartbeatTimerId))
+      .onFailure(throwable -> log.error("Failed to update report job {}", job.getId(),
+        throwable));
+  }
+
+  private Future<Void> completeJob(ReportJob job) {
+    log.info("Report job {} completed", job.getId());
+
+    Date now = new Date();
+    job.withStatus(Status.COMPLETED)
+      .withCompletedDate(now)
+      .withExpirationDate(new Date(now.getTime() + RETENTION_MILLIS));
+
+    return updateJob(job);
+  }
+
+  private Future<Void> failJob(ReportJob job, Throwable throwable) {
+    log.error("Report job {} failed", job.getId(), throwable);
+
+    job.withStatus(Status.FAILED)
+      .withErrorMessage(throwable.getMessage())
+      .withCompletedDate(new Date());
+
+    return updateJob(job);
+  }
+
+  private Future<Void> updateJob(ReportJob job) {
+    populateMetadata(job, headers);
+
+    return jobRepository.update(job)
+      .mapEmpty();
+  }
+
+  private void deleteExpiredJobs() {
+    jobRepository.deleteExpired()
+      .onSuccess(count -> {
+        if (count > 0) {
+          log.info("Deleted {} expired report jobs", count);
+        }
+      })
+      .onFailure(t -> log.warn("Failed to delete expired report jobs", t));
+  }
+
+  private void failInterruptedJobs() {
+    jobRepository.failInterrupted()
+      .onSuccess(count -> {
+        if (count > 0) {
+          log.warn("Marked {} interrupted report jobs as failed", count);
+        }
+      })
+      .onFailure(t -> log.warn("Failed to fail interrupted report jobs", t));
+  }
+
+  private static String hash(ReportJobRequest request) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+        .digest(JsonObject.mapFrom(request).encode().getBytes(UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package org.folio.rest.service.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.json.Json;
+
+/**
+ * Builds a report and writes it as JSON to a stream.
+ */
+@FunctionalInterface
+public interface ReportWriter {
+
+  Future<Void> writeTo(OutputStream outputStream);
+
+  /**
+   * Writes the report built as a whole by the given builder.
+   */
+  static ReportWriter of(Context context, Supplier<Future<?>> reportBuilder) {
+    return outputStream -> reportBuilder.get()
+      .compose(report -> context.owner().executeBlocking(() -> {
+        try {
+          outputStream.write(Json.encodeToBuffer(report).getBytes());
+          return null;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }));
+  }
+}
@@ -1,5 +1,6 @@
 package org.folio.rest.service.report.context;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.folio.rest.jaxrs.model.Account;
@@ -8,6 +9,8 @@ import org.folio.rest.jaxrs.model.Feefineaction;
 import io.vertx.core.Future;
 
 public interface HasAccountInfo {
+  Collection<Account> getAccounts();
+
   Account getAccountById(String accountId);
 
   Future<Void> updateAccountContextWithActions(String accountId, List<Feefineaction> actions);
@@ -10,12 +10,14 @@ import lombok.Getter;
 public class CashDrawerReconciliationReportParameters extends DateBasedReportParameters {
   private final String createdAt;
   private final List<String> sources;
+  private final boolean statsOnly;
 
   public CashDrawerReconciliationReportParameters(DateTime rawStartDate, DateTime rawEndDate,
-    String createdAt, List<String> sources) {
+    String createdAt, List<String> sources, boolean statsOnly) {
 
     super(rawStartDate, rawEndDate);
     this.createdAt = createdAt;
     this.sources = sources;
+    this.statsOnly = statsOnly;
   }
 }
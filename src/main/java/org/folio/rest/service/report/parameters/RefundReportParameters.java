@@ -0,0 +1,19 @@
+package org.folio.rest.service.report.parameters;
+
+import java.util.List;
+
+import org.joda.time.DateTime;
+
+import lombok.Getter;
+
+@Getter
+public class RefundReportParameters extends DateBasedReportParameters {
+  private final List<String> ownerIds;
+
+  public RefundReportParameters(DateTime rawStartDate, DateTime rawEndDate,
+    List<String> ownerIds) {
+
+    super(rawStartDate, rawEndDate);
+    this.ownerIds = ownerIds;
+  }
+}
@@ -3,14 +3,9 @@ package org.folio.rest.service.report.utils;
 import static io.vertx.core.Future.succeededFuture;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
-import static org.folio.rest.domain.Action.PAY;
-import static org.folio.rest.domain.Action.REFUND;
-import static org.folio.rest.domain.Action.TRANSFER;
-import static org.folio.rest.repository.FeeFineActionRepository.ORDER_BY_ACTION_DATE_ASC;
-import static org.folio.util.UuidUtil.isUuid;
+import static org.folio.rest.client.WebClientProvider.Pool.BULK;
 
 import java.util.Collection;
 import java.util.Comparator;
@@ -40,6 +35,7 @@ import org.folio.rest.jaxrs.model.OverdueFinePolicy;
 import org.folio.rest.jaxrs.model.ServicePoint;
 import org.folio.rest.jaxrs.model.User;
 import org.folio.rest.jaxrs.model.UserGroup;
+import org.folio.rest.repository.ActionsAndAccountsChunk;
 import org.folio.rest.repository.FeeFineActionRepository;
 import org.folio.rest.repository.LostItemFeePolicyRepository;
 import org.folio.rest.repository.OverdueFinePolicyRepository;
@@ -56,7 +52,6 @@ import io.vertx.core.Future;
 
 public class LookupHelper {
   private static final Logger log = LogManager.getLogger(LookupHelper.class);
-  private static final int REPORT_ROWS_LIMIT = 1_000_000;
 
   private final InventoryClient inventoryClient;
   private final UsersClient usersClient;
@@ -67,79 +62,30 @@ public class LookupHelper {
   private final OverdueFinePolicyRepository overdueFinePolicyRepository;
 
   public LookupHelper(Map<String, String> headers, Context context) {
-    inventoryClient = new InventoryClient(context.owner(), headers);
-    usersClient = new UsersClient(context.owner(), headers);
-    circulationStorageClient = new CirculationStorageClient(context.owner(), headers);
+    inventoryClient = new InventoryClient(context.owner(), headers, BULK);
+    usersClient = new UsersClient(context.owner(), headers, BULK);
+    circulationStorageClient = new CirculationStorageClient(context.owner(), headers, BULK);
 
     feeFineActionRepository = new FeeFineActionRepository(headers, context);
     lostItemFeePolicyRepository = new LostItemFeePolicyRepository(context, headers);
     overdueFinePolicyRepository = new OverdueFinePolicyRepository(context, headers);
   }
 
-  public <T extends HasUserInfo> Future<T> lookupUserForAccount(T ctx, Account account) {
-    if (account == null) {
-      return succeededFuture(ctx);
-    }
-
-    String userId = account.getUserId();
-    if (!isUuid(userId)) {
-      log.error("User ID {} is not a valid UUID - account {}", userId, account.getId());
-      return succeededFuture(ctx);
-    }
-
-    if (ctx.getUsers().containsKey(userId)) {
-      return succeededFuture(ctx);
-    }
-
-    return usersClient.fetchUserById(userId)
-      .compose(user -> addUserToContext(ctx, user, account.getId(), userId))
-      .otherwise(ctx);
-  }
-
-  public Future<FinancialTransactionsDetailReportContext> lookupUsersForAccounts(
-    FinancialTransactionsDetailReportContext context) {
-
-    Set<String> userIds = context.getActionsToAccounts().values()
+  public <T extends HasUserInfo> Future<T> lookupUsersForAccounts(T context) {
+    Set<String> userIds = context.getAccounts()
       .stream()
-      .filter(Objects::nonNull)
       .map(Account::getUserId)
+      .filter(UuidUtil::isUuid)
       .collect(toSet());
 
     return usersClient.fetchUsers(userIds)
-      .map(users -> mapBy(users, User::getId))
-      .map(context::withUsers)
+      .onSuccess(users -> context.getUsers().putAll(mapBy(users, User::getId)))
+      .map(context)
       .onFailure(t -> log.error("Failed to fetch users", t))
       .otherwise(context);
   }
 
-  private <T extends HasUserInfo> Future<T> addUserToContext(T ctx, User user, String accountId,
-    String userId) {
-
-    if (user == null) {
-      log.error("User not found - account {}, user {}", accountId, userId);
-    } else {
-      ctx.getUsers().put(user.getId(), user);
-    }
-
-    return succeededFuture(ctx);
-  }
-
-  public <T extends HasUserInfo> Future<T> lookupUserGroupForUser(T ctx, String accountId) {
-    User user = ctx.getUserByAccountId(accountId);
-
-    if (user == null || ctx.getUserGroupByAccountId(accountId) != null) {
-      return succeededFuture(ctx);
-    }
-
-    return usersClient.fetchUserGroupById(user.getPatronGroup())
-      .map(userGroup -> ctx.getUserGroups().put(userGroup.getId(), userGroup))
-      .map(ctx)
-      .otherwise(ctx);
-  }
-
-  public Future<FinancialTransactionsDetailReportContext> lookupGroupsForUsers(
-    FinancialTransactionsDetailReportContext context) {
-
+  public <T extends HasUserInfo> Future<T> lookupGroupsForUsers(T context) {
     Set<String> patronGroupIds = context.getUsers().values()
       .stream()
       .filter(Objects::nonNull)
@@ -147,94 +93,27 @@ public class LookupHelper {
       .collect(toSet());
 
     return usersClient.fetchUserGroupsByIds(patronGroupIds)
-      .map(groups -> mapBy(groups, UserGroup::getId))
-      .map(context::withUserGroups)
+      .onSuccess(groups -> context.getUserGroups().putAll(mapBy(groups, UserGroup::getId)))
+      .map(context)
       .onFailure(t -> log.error("Failed to fetch user groups", t))
       .otherwise(context);
   }
 
-  public <T extends HasItemInfo> Future<T> lookupItemForAccount(T ctx, String accountId) {
-    Account account = ctx.getAccountById(accountId);
-    if (account == null) {
-      return succeededFuture(ctx);
-    }
-
-    String itemId = account.getItemId();
-    if (!isUuid(itemId)) {
-      log.info("Item ID is not a valid UUID - account {}", accountId);
-      return succeededFuture(ctx);
-    }
-
-    if (ctx.getItems().containsKey(itemId)) {
-      return succeededFuture(ctx);
-    }
-
-    return inventoryClient.getItemById(itemId)
-      .map(item -> addItemToContext(ctx, item, accountId, itemId))
-      .map(ctx)
-      .otherwise(ctx);
-  }
-
-  public Future<FinancialTransactionsDetailReportContext> lookupItemsForAccounts(
-    FinancialTransactionsDetailReportContext context) {
-
-    Set<String> itemIds = context.getActionsToAccounts().values()
+  public <T extends HasItemInfo> Future<T> lookupItemsForAccounts(T context) {
+    Set<String> itemIds = context.getAccounts()
       .stream()
-      .filter(Objects::nonNull)
       .map(Account::getItemId)
+      .filter(UuidUtil::isUuid)
       .collect(toSet());
 
     return inventoryClient.getItemsByIds(itemIds)
-      .map(items -> mapBy(items, Item::getId))
-      .map(context::withItems)
+      .onSuccess(items -> context.getItems().putAll(mapBy(items, Item::getId)))
+      .map(context)
       .onFailure(t -> log.error("Failed to fetch items", t))
       .otherwise(context);
   }
 
-  private <T extends HasItemInfo> T addItemToContext(T ctx, Item item, String accountId,
-    String itemId) {
-
-    if (item == null) {
-      log.info("Item not found - account {}, item {}", accountId, itemId);
-    } else {
-      ctx.getItems().put(itemId, item);
-    }
-    return ctx;
-  }
-
-  public <T extends HasItemInfo> Future<T> lookupInstanceForAccount(T ctx, String accountId) {
-    Account account = ctx.getAccountById(accountId);
-    if (account == null) {
-      return succeededFuture(ctx);
-    }
-
-    Item item = ctx.getItemByAccountId(accountId);
-    if (item == null) {
-      return succeededFuture(ctx);
-    }
-
-    String holdingsRecordId = item.getHoldingsRecordId();
-    if (!isUuid(holdingsRecordId)) {
-      log.info("Holdings record ID {} is not a valid UUID - account {}", holdingsRecordId,
-        accountId);
-      return succeededFuture(ctx);
-    }
-
-    return inventoryClient.getHoldingById(holdingsRecordId)
-      .map(HoldingsRecord::getInstanceId)
-      .compose(inventoryClient::getInstanceById)
-      .map(instance -> ctx.updateAccountContextWithInstance(accountId, instance))
-      .map(ctx)
-      .otherwise(throwable -> {
-        log.error("Failed to find instance for account {}, holdingsRecord is {}", accountId,
-          holdingsRecordId);
-        return ctx;
-      });
-  }
-
-  public Future<FinancialTransactionsDetailReportContext> lookupInstancesForItems(
-    FinancialTransactionsDetailReportContext context) {
-
+  public <T extends HasItemInfo> Future<T> lookupInstancesForItems(T context) {
     Set<String> holdingsRecordIds = context.getItems().values()
       .stream()
       .filter(Objects::nonNull)
@@ -247,18 +126,15 @@ public class LookupHelper {
       .otherwise(context);
   }
 
-  private Future<FinancialTransactionsDetailReportContext> fetchInstancesForHoldings(
-    FinancialTransactionsDetailReportContext context, Collection<HoldingsRecord> holdingsRecords) {
+  private <T extends HasItemInfo> Future<T> fetchInstancesForHoldings(T context,
+    Collection<HoldingsRecord> holdingsRecords) {
 
     Map<String, String> holdingsIdToInstanceId = holdingsRecords.stream()
       .collect(toMap(HoldingsRecord::getId, HoldingsRecord::getInstanceId));
 
     return inventoryClient.getInstancesByIds(holdingsIdToInstanceId.values())
       .map(instances -> mapBy(instances, Instance::getId))
-      .onSuccess(instances -> context.getActionsToAccounts()
-        .values()
-        .stream()
-        .filter(Objects::nonNull)
+      .onSuccess(instances -> context.getAccounts()
         .forEach(account -> Optional.ofNullable(account.getItemId())
           .map(itemId -> context.getItems().get(itemId))
           .map(Item::getHoldingsRecordId)
@@ -269,9 +145,7 @@ public class LookupHelper {
       .map(context);
   }
 
-  public Future<FinancialTransactionsDetailReportContext> lookupLocationsForItems(
-    FinancialTransactionsDetailReportContext context) {
-
+  public <T extends HasItemInfo> Future<T> lookupLocationsForItems(T context) {
     Set<String> locationIds = context.getItems().values()
       .stream()
       .filter(Objects::nonNull)
@@ -281,10 +155,7 @@ public class LookupHelper {
     return inventoryClient.getLocationsByIds(locationIds)
       .onSuccess(locations -> {
         Map<String, Location> locationsById = mapBy(locations, Location::getId);
-        context.getActionsToAccounts()
-          .values()
-          .stream()
-          .filter(Objects::nonNull)
+        context.getAccounts()
           .forEach(account -> Optional.ofNullable(account.getItemId())
             .map(itemId -> context.getItems().get(itemId))
             .map(Item::getEffectiveLocationId)
@@ -296,30 +167,21 @@ public class LookupHelper {
       .otherwise(context);
   }
 
-  public Future<FinancialTransactionsDetailReportContext> findActionsAndAccounts(
+  public Future<ActionsAndAccountsChunk> findActionsAndAccountsChunk(
     FinancialTransactionsDetailReportParameters params, List<String> actionTypes,
-    FinancialTransactionsDetailReportContext ctx) {
+    ActionsAndAccountsChunk.Cursor after, int chunkSize) {
 
-    log.info("Fetching actions and accounts");
+    log.info("Fetching chunk of {} actions and accounts", chunkSize);
 
-    return feeFineActionRepository.findFeeFineActionsAndAccounts(actionTypes,
-        params.getStartDate(), params.getEndDate(), List.of(params.getFeeFineOwner()),
-        params.getCreatedAt(), null, ORDER_BY_ACTION_DATE_ASC, REPORT_ROWS_LIMIT)
-      .map(ctx::withActionsToAccounts);
+    return feeFineActionRepository.findFeeFineActionsAndAccountsChunk(actionTypes,
+      params.getStartDate(), params.getEndDate(), List.of(params.getFeeFineOwner()),
+      params.getCreatedAt(), after, chunkSize);
   }
 
-  public Future<FinancialTransactionsDetailReportContext> lookupActionsForAccounts(
-    FinancialTransactionsDetailReportContext context) {
-
-    List<Account> accounts = context.getActionsToAccounts()
-      .values()
-      .stream()
-      .filter(Objects::nonNull)
-      .collect(toList());
-
+  public <T extends HasAccountInfo> Future<T> lookupActionsForAccounts(T context) {
     log.info("Fetching actions for accounts");
 
-    return feeFineActionRepository.findActionsForAccounts(accounts)
+    return feeFineActionRepository.findActionsForAccounts(context.getAccounts())
       .onSuccess(actions -> log.info("Fetched {} actions", actions.size()))
       .onSuccess(rowSet -> rowSet.stream()
         .sorted(actionDateComparator())
@@ -330,28 +192,10 @@ public class LookupHelper {
       .otherwise(context);
   }
 
-  public <T extends HasAccountInfo> Future<T> lookupRefundPayTransferFeeFineActionsForAccount(T ctx,
-    String accountId) {
-
-    if (!ctx.isAccountContextCreated(accountId)) {
-      return succeededFuture(ctx);
-    }
-
-    return feeFineActionRepository.findActionsOfTypesForAccount(accountId,
-        List.of(REFUND, PAY, TRANSFER))
-      .map(this::sortFeeFineActionsByDate)
-      .map(actions -> ctx.updateAccountContextWithActions(accountId, actions))
-      .map(ctx)
-      .otherwise(throwable -> {
-        log.error("Failed to find REFUND, PAY, TRANSFER actions for account {}", accountId);
-        return ctx;
-      });
-  }
-
   public Future<FinancialTransactionsDetailReportContext> lookupServicePointsForFeeFineActions(
     FinancialTransactionsDetailReportContext context) {
 
-    Set<String> servicePointIds = context.getActionsToAccounts().keySet()
+    Set<String> servicePointIds = context.getActionsAndAccounts().getActions()
       .stream()
       .map(Feefineaction::getCreatedAt)
       .collect(toSet());
@@ -366,9 +210,8 @@ public class LookupHelper {
   public Future<FinancialTransactionsDetailReportContext> lookupLoansForAccounts(
     FinancialTransactionsDetailReportContext context) {
 
-    Set<String> loanIds = context.getActionsToAccounts().values()
+    Set<String> loanIds = context.getAccounts()
       .stream()
-      .filter(Objects::nonNull)
       .map(Account::getLoanId)
       .collect(toSet());
 
@@ -376,10 +219,8 @@ public class LookupHelper {
       .onFailure(t -> log.error("Failed to fetch loans", t))
       .onSuccess(loans -> {
         Map<String, Loan> loansById = mapBy(loans, Loan::getId);
-        context.getActionsToAccounts()
-          .values()
+        context.getAccounts()
           .stream()
-          .filter(Objects::nonNull)
           .forEach(account -> Optional.ofNullable(account.getLoanId())
             .map(loansById::get)
             .ifPresent(loan -> context.updateAccountContextWithLoan(account.getId(), loan)));
@@ -411,10 +252,8 @@ public class LookupHelper {
     return circulationStorageClient.getLoanPoliciesByIds(policyIds)
       .onSuccess(policies -> {
         Map<String, LoanPolicy> policiesById = mapBy(policies, LoanPolicy::getId);
-        context.getActionsToAccounts()
-          .values()
+        context.getAccounts()
           .stream()
-          .filter(Objects::nonNull)
           .forEach(account -> Optional.ofNullable(account.getLoanId())
             .map(loanIdToPolicyId::get)
             .map(policiesById::get)
@@ -439,10 +278,8 @@ public class LookupHelper {
     return overdueFinePolicyRepository.getOverdueFinePoliciesByIds(policyIds)
       .onSuccess(policies -> {
         Map<String, OverdueFinePolicy> policiesById = mapBy(policies, OverdueFinePolicy::getId);
-        context.getActionsToAccounts()
-          .values()
+        context.getAccounts()
           .stream()
-          .filter(Objects::nonNull)
           .forEach(account -> Optional.ofNullable(account.getLoanId())
             .map(loanIdToPolicyId::get)
             .map(policiesById::get)
@@ -468,10 +305,8 @@ public class LookupHelper {
     return lostItemFeePolicyRepository.getLostItemFeePoliciesByIds(policyIds)
       .onSuccess(lostItemFeePolicies -> {
         Map<String, LostItemFeePolicy> policiesById = mapBy(lostItemFeePolicies, LostItemFeePolicy::getId);
-        context.getActionsToAccounts()
-          .values()
+        context.getAccounts()
           .stream()
-          .filter(Objects::nonNull)
           .forEach(account -> Optional.ofNullable(account.getLoanId())
             .map(loanIdToPolicyId::get)
             .map(policiesById::get)
@@ -482,12 +317,6 @@ public class LookupHelper {
       .otherwise(context);
   }
 
-  private List<Feefineaction> sortFeeFineActionsByDate(List<Feefineaction> feeFineActions) {
-    return feeFineActions.stream()
-      .sorted(actionDateComparator())
-      .collect(toList());
-  }
-
   private static Comparator<Feefineaction> actionDateComparator() {
     return (left, right) -> {
       if (left == null || right == null) {
@@ -0,0 +1,69 @@
+package org.folio.rest.service.report.utils;
+
+import static java.math.BigDecimal.ZERO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.ReportTotalsEntry;
+
+/**
+ * Totals of a single report dimension: amount and count per category plus the overall total.
+ * Categories are added one action at a time, so report totals can be collected while the report
+ * is built chunk by chunk. Categories are listed in the order they were first seen.
+ */
+public class ReportTotalsAccumulator {
+  private final Map<String, CategoryTotals> categories = new LinkedHashMap<>();
+  private final CategoryTotals total = new CategoryTotals();
+  private final boolean skipEmptyCategory;
+
+  public ReportTotalsAccumulator() {
+    this(true);
+  }
+
+  public ReportTotalsAccumulator(boolean skipEmptyCategory) {
+    this.skipEmptyCategory = skipEmptyCategory;
+  }
+
+  public void add(String category, MonetaryValue amount) {
+    add(category, amount, 1);
+  }
+
+  /**
+   * Adds pre-aggregated totals of {@code count} actions.
+   */
+  public void add(String category, MonetaryValue amount, long count) {
+    if (category == null || skipEmptyCategory && category.isEmpty()) {
+      return;
+    }
+
+    categories.computeIfAbsent(category, key -> new CategoryTotals()).add(amount, count);
+    total.add(amount, count);
+  }
+
+  public void writeTo(List<ReportTotalsEntry> totalsEntries, String totalsCategoryName) {
+    categories.forEach((category, totals) -> totalsEntries.add(totals.toEntry(category)));
+    totalsEntries.add(total.toEntry(totalsCategoryName));
+  }
+
+  private static class CategoryTotals {
+    private MonetaryValue amount = new MonetaryValue(ZERO);
+    private long count;
+
+    private void add(MonetaryValue value, long valueCount) {
+      if (value != null) {
+        amount = amount.add(value);
+      }
+      count += valueCount;
+    }
+
+    private ReportTotalsEntry toEntry(String name) {
+      return new ReportTotalsEntry()
+        .withName(name)
+        .withTotalAmount(amount.toString())
+        .withTotalCount(String.valueOf(count));
+    }
+  }
+}
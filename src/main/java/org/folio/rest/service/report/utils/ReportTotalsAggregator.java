@@ -0,0 +1,76 @@
+package org.folio.rest.service.report.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.ReportTotalsEntry;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Collects report totals for several dimensions (source, payment method, fee/fine type etc.) in
+ * a single traversal of report rows: every row is added to each dimension once, so the cost
+ * of totals is linear in the number of rows regardless of the number of categories.
+ *
+ * @param <T> report row type
+ */
+public class ReportTotalsAggregator<T> {
+  private final List<Dimension<T>> dimensions = new ArrayList<>();
+
+  /**
+   * Adds a dimension. Rows with null or empty category are not counted.
+   */
+  public ReportTotalsAggregator<T> withDimension(Function<T, String> categoryFunction,
+    List<ReportTotalsEntry> target, String totalsCategoryName) {
+
+    return withDimension(categoryFunction, target, totalsCategoryName, true);
+  }
+
+  /**
+   * Adds a dimension. Rows with null category are not counted, rows with empty category are
+   * counted unless {@code skipEmptyCategory} is set.
+   */
+  public ReportTotalsAggregator<T> withDimension(Function<T, String> categoryFunction,
+    List<ReportTotalsEntry> target, String totalsCategoryName, boolean skipEmptyCategory) {
+
+    dimensions.add(new Dimension<>(categoryFunction, target, totalsCategoryName,
+      new ReportTotalsAccumulator(skipEmptyCategory)));
+
+    return this;
+  }
+
+  public void add(T row, MonetaryValue amount) {
+    add(row, amount, 1);
+  }
+
+  /**
+   * Adds a row holding pre-aggregated totals of {@code count} actions.
+   */
+  public void add(T row, MonetaryValue amount, long count) {
+    for (Dimension<T> dimension : dimensions) {
+      dimension.accumulator.add(dimension.categoryFunction.apply(row), amount, count);
+    }
+  }
+
+  public void addAll(Iterable<T> rows, Function<T, MonetaryValue> amountFunction) {
+    rows.forEach(row -> add(row, amountFunction.apply(row)));
+  }
+
+  /**
+   * Writes category totals followed by the dimension total to the targets of all dimensions.
+   */
+  public void writeTotals() {
+    dimensions.forEach(dimension -> dimension.accumulator.writeTo(dimension.target,
+      dimension.totalsCategoryName));
+  }
+
+  @AllArgsConstructor
+  private static class Dimension<T> {
+    private final Function<T, String> categoryFunction;
+    private final List<ReportTotalsEntry> target;
+    private final String totalsCategoryName;
+    private final ReportTotalsAccumulator accumulator;
+  }
+}
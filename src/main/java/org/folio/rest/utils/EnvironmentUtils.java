@@ -0,0 +1,37 @@
+package org.folio.rest.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class EnvironmentUtils {
+  private static final Logger log = LogManager.getLogger(EnvironmentUtils.class);
+
+  private EnvironmentUtils() { }
+
+  /**
+   * Returns value of an environment variable or, if it is not set, of a system property
+   * with the same name.
+   */
+  public static String getSetting(String name, String defaultValue) {
+    String value = System.getenv(name);
+    if (value == null || value.isBlank()) {
+      value = System.getProperty(name);
+    }
+
+    return value == null || value.isBlank() ? defaultValue : value.trim();
+  }
+
+  public static long getLongSetting(String name, long defaultValue) {
+    String value = getSetting(name, null);
+    if (value == null) {
+      return defaultValue;
+    }
+
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      log.warn("Invalid value of {}: {}, using default {}", name, value, defaultValue);
+      return defaultValue;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package org.folio.rest.utils;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+
+public class PermissionHelper {
+  private static final Logger log = LogManager.getLogger(PermissionHelper.class);
+  private static final String OKAPI_PERMISSIONS_HEADER = "x-okapi-permissions";
+
+  private PermissionHelper() {
+  }
+
+  /**
+   * Checks whether the request has the given permission. Okapi only passes permissions listed
+   * in "permissionsRequired" or "permissionsDesired" of the module descriptor.
+   */
+  public static boolean hasPermission(Map<String, String> okapiHeaders, String permission) {
+    String permissions = okapiHeaders.get(OKAPI_PERMISSIONS_HEADER);
+    if (permissions == null) {
+      return false;
+    }
+
+    try {
+      return new JsonArray(permissions).contains(permission);
+    } catch (DecodeException e) {
+      log.warn("Failed to parse permissions header: {}", permissions);
+      return false;
+    }
+  }
+}
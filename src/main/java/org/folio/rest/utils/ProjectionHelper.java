@@ -0,0 +1,54 @@
+package org.folio.rest.utils;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.lang3.StringUtils;
+
+public class ProjectionHelper {
+  // keeps the projection query, which may add a few lookup fields, small
+  private static final int MAX_FIELDS = 50;
+
+  private ProjectionHelper() {
+  }
+
+  /**
+   * Parses the value of the "fields" query parameter: a comma separated list of top-level
+   * properties to return.
+   *
+   * @throws IllegalArgumentException if no fields or too many fields are requested
+   */
+  public static List<String> parseFields(String fields) {
+    List<String> fieldList = Arrays.stream(fields.split(","))
+      .map(String::trim)
+      .filter(StringUtils::isNotEmpty)
+      .distinct()
+      .collect(toList());
+
+    if (fieldList.isEmpty()) {
+      throw new IllegalArgumentException("At least one field must be requested: " + fields);
+    }
+    if (fieldList.size() > MAX_FIELDS) {
+      throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields can be requested");
+    }
+
+    return fieldList;
+  }
+
+  /**
+   * Response with a collection that was encoded in the database, without mapping records to
+   * POJOs.
+   */
+  public static Response projectedCollectionResponse(String collection) {
+    return Response.status(Response.Status.OK)
+      .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+      .entity(collection)
+      .build();
+  }
+}
@@ -0,0 +1,36 @@
+package org.folio.rest.utils;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Tuple;
+
+public class TenantSchemaHelper {
+  private static final String FIND_SCHEMAS_WITH_TABLE_QUERY =
+    "SELECT schemaname FROM pg_tables WHERE tablename = $1";
+
+  private TenantSchemaHelper() {
+  }
+
+  /**
+   * Finds tenants of this module whose schema has the given table, for background work which is
+   * not triggered by a request of a tenant.
+   */
+  public static Future<List<String>> findTenantsWithTable(Vertx vertx, String tableName) {
+    String schemaSuffix = "_" + PostgresClient.getModuleName();
+
+    return PostgresClient.getInstance(vertx)
+      .select(FIND_SCHEMAS_WITH_TABLE_QUERY, Tuple.of(tableName))
+      .map(rowSet -> StreamSupport.stream(rowSet.spliterator(), false)
+        .map(row -> row.getString(0))
+        .filter(schema -> schema.endsWith(schemaSuffix))
+        .map(schema -> schema.substring(0, schema.length() - schemaSuffix.length()))
+        .collect(toList()));
+  }
+}
@@ -0,0 +1,45 @@
+package org.folio.rest.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+public class TokenHelper {
+  private static final Logger log = LogManager.getLogger(TokenHelper.class);
+
+  private TokenHelper() {
+  }
+
+  /**
+   * Returns expiration time of the token in milliseconds, or null if the token has no expiration
+   * time or cannot be parsed. The token is not validated, Okapi does that.
+   */
+  public static Long getExpirationMillis(String token) {
+    if (token == null) {
+      return null;
+    }
+
+    String[] parts = token.split("\\.");
+    if (parts.length < 2) {
+      return null;
+    }
+
+    try {
+      // payload can be encoded either with the URL safe or with the basic alphabet
+      String payload = new String(Base64.getDecoder().decode(
+        parts[1].replace('-', '+').replace('_', '/')), UTF_8);
+      Long expirationSeconds = new JsonObject(payload).getLong("exp");
+
+      return expirationSeconds == null ? null : expirationSeconds * 1000;
+    } catch (IllegalArgumentException | DecodeException | ClassCastException e) {
+      log.warn("Failed to get expiration time of token: {}", e.getMessage());
+      return null;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+-- Typed columns generated from the fee/fine action fields used by report filters and sorting,
+-- so that report queries can use composite B-tree indexes instead of scanning jsonb. The typed
+-- account ID lets joins with accounts use the accounts primary key instead of the f_unaccent
+-- expression. All columns are added by one statement, so the table is rewritten only once.
+
+-- Columns are prefixed with "gen_", so that RMB does not map them onto the setters of the
+-- Feefineaction properties with the same name when all columns are selected.
+
+-- Dates are written by the module in ISO 8601 format. They are parsed field by field instead of
+-- being cast, so that the result depends neither on the TimeZone nor the DateStyle setting of the
+-- session. Values in other formats are mapped to NULL.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.feefineaction_timestamptz(value text)
+RETURNS timestamptz AS $$
+  SELECT (make_timestamp(parts[1]::int, parts[2]::int, parts[3]::int, parts[4]::int,
+      parts[5]::int, parts[6]::double precision)
+    - make_interval(mins => CASE parts[7] WHEN '-' THEN -1 ELSE 1 END
+      * (coalesce(parts[8], '0')::int * 60 + coalesce(parts[9], '0')::int)))
+    AT TIME ZONE 'UTC'
+  FROM regexp_match(value, '^(\d{4})-(0[1-9]|1[0-2])-(0[1-9]|[12]\d|3[01])'
+    'T([01]\d|2[0-3]):([0-5]\d):([0-5]\d(?:\.\d{1,6})?)\d*(?:Z|([+-])(\d{2}):?(\d{2}))?$') AS parts;
+$$ LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE;
+
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.feefineaction_uuid(value text)
+RETURNS uuid AS $$
+  SELECT CASE
+    WHEN value ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' THEN value::uuid
+  END;
+$$ LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE;
+
+ALTER TABLE ${myuniversity}_${mymodule}.feefineactions
+  ADD COLUMN IF NOT EXISTS gen_type_action text
+    GENERATED ALWAYS AS (jsonb->>'typeAction') STORED,
+  ADD COLUMN IF NOT EXISTS gen_date_action timestamptz
+    GENERATED ALWAYS AS (${myuniversity}_${mymodule}.feefineaction_timestamptz(jsonb->>'dateAction')) STORED,
+  ADD COLUMN IF NOT EXISTS gen_created_at uuid
+    GENERATED ALWAYS AS (${myuniversity}_${mymodule}.feefineaction_uuid(jsonb->>'createdAt')) STORED,
+  ADD COLUMN IF NOT EXISTS gen_source text
+    GENERATED ALWAYS AS (jsonb->>'source') STORED,
+  ADD COLUMN IF NOT EXISTS gen_account_id uuid
+    GENERATED ALWAYS AS (${myuniversity}_${mymodule}.feefineaction_uuid(jsonb->>'accountId')) STORED;
+
+CREATE INDEX IF NOT EXISTS feefineactions_gen_type_action_date_idx
+  ON ${myuniversity}_${mymodule}.feefineactions (gen_type_action, gen_date_action);
+
+CREATE INDEX IF NOT EXISTS feefineactions_gen_created_at_type_action_date_idx
+  ON ${myuniversity}_${mymodule}.feefineactions (gen_created_at, gen_type_action, gen_date_action);
+
+CREATE INDEX IF NOT EXISTS feefineactions_gen_type_action_source_idx
+  ON ${myuniversity}_${mymodule}.feefineactions (gen_type_action, gen_source);
+
+CREATE INDEX IF NOT EXISTS feefineactions_gen_account_id_idx
+  ON ${myuniversity}_${mymodule}.feefineactions (gen_account_id);
+
+-- keyset pagination of report chunks, see FeeFineActionRepository
+CREATE INDEX IF NOT EXISTS feefineactions_gen_date_action_sort_key_id_idx
+  ON ${myuniversity}_${mymodule}.feefineactions
+  ((coalesce(gen_date_action, '-infinity'::timestamptz)), id);
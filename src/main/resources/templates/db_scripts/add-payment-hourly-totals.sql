@@ -0,0 +1,218 @@
+-- Totals of payments per hour and cash drawer reconciliation report category, maintained by
+-- triggers on feefineactions and accounts, so that report totals do not require reading every
+-- payment. Totals always match the payments joined with the current state of their accounts.
+-- Hours are in UTC: report periods are days in the tenant time zone, which start at a full UTC
+-- hour for all time zones with whole-hour offsets. See CashDrawerReconciliationReportService.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.payment_hourly_totals (
+  hour timestamptz NOT NULL,
+  created_at uuid,
+  source text,
+  payment_method text,
+  account_found boolean NOT NULL,
+  fee_fine_owner text,
+  fee_fine_type text,
+  amount numeric NOT NULL,
+  count bigint NOT NULL,
+  CONSTRAINT payment_hourly_totals_category_key UNIQUE NULLS NOT DISTINCT
+    (created_at, hour, source, payment_method, account_found, fee_fine_owner, fee_fine_type)
+);
+
+-- replaced by statement level triggers
+DROP TRIGGER IF EXISTS update_payment_hourly_totals
+  ON ${myuniversity}_${mymodule}.feefineactions;
+DROP FUNCTION IF EXISTS ${myuniversity}_${mymodule}.add_to_payment_hourly_totals(jsonb,
+  timestamptz, uuid, uuid, integer);
+
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.add_to_payment_hourly_total(
+  total_hour timestamptz, total_created_at uuid, total_source text, total_payment_method text,
+  total_account_found boolean, total_fee_fine_owner text, total_fee_fine_type text,
+  total_amount numeric, total_count bigint)
+RETURNS void AS $$
+  INSERT INTO ${myuniversity}_${mymodule}.payment_hourly_totals AS totals
+    (hour, created_at, source, payment_method, account_found, fee_fine_owner, fee_fine_type,
+      amount, count)
+  VALUES (total_hour, total_created_at, total_source, total_payment_method, total_account_found,
+    total_fee_fine_owner, total_fee_fine_type, total_amount, total_count)
+  ON CONFLICT ON CONSTRAINT payment_hourly_totals_category_key DO UPDATE
+    SET amount = totals.amount + EXCLUDED.amount, count = totals.count + EXCLUDED.count;
+$$ LANGUAGE sql;
+
+-- Query of the changes of totals per category made by the payments of the given query, whose
+-- rows carry the jsonb of the account of the payment and the sign of the change: 1 for added
+-- payments, -1 for removed ones. Categories are ordered, so that concurrent statements update
+-- them in the same order and cannot deadlock. The query is run by the triggers themselves,
+-- transition tables are not visible to other functions.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.payment_hourly_totals_query(
+  payments_query text)
+RETURNS text AS $$
+  SELECT format($query$
+    SELECT date_trunc('hour', payments.gen_date_action, 'UTC') AS hour,
+      payments.gen_created_at AS created_at, payments.gen_source AS source,
+      payments.jsonb->>'paymentMethod' AS payment_method,
+      payments.account_jsonb IS NOT NULL AS account_found,
+      payments.account_jsonb->>'feeFineOwner' AS fee_fine_owner,
+      payments.account_jsonb->>'feeFineType' AS fee_fine_type,
+      sum(payments.sign * coalesce((payments.jsonb->>'amountAction')::numeric, 0)) AS amount,
+      sum(payments.sign) AS count
+    FROM (%s) AS payments
+    WHERE payments.gen_type_action IN ('Paid partially', 'Paid fully')
+      AND payments.gen_date_action IS NOT NULL
+    GROUP BY 1, 2, 3, 4, 5, 6, 7
+    HAVING sum(payments.sign) <> 0
+      OR sum(payments.sign * coalesce((payments.jsonb->>'amountAction')::numeric, 0)) <> 0
+    ORDER BY 1, 2, 3, 4, 5, 6, 7
+    $query$, payments_query);
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Statement level, so that the payments of a batch are added once per category instead of once
+-- per payment. Accounts of the payments are locked in ID order with the lock their update by the
+-- payment takes anyway, so that a concurrent change of an account is either seen here or sees the
+-- payments when it moves their totals.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.update_payment_hourly_totals()
+RETURNS trigger AS $$
+DECLARE
+  added_payments text := $query$
+    SELECT actions.*, accounts.jsonb AS account_jsonb, 1 AS sign FROM new_actions actions
+      LEFT JOIN ${myuniversity}_${mymodule}.accounts accounts
+        ON accounts.id = actions.gen_account_id
+    $query$;
+  removed_payments text := $query$
+    SELECT actions.*, accounts.jsonb AS account_jsonb, -1 AS sign FROM old_actions actions
+      LEFT JOIN ${myuniversity}_${mymodule}.accounts accounts
+        ON accounts.id = actions.gen_account_id
+    $query$;
+  total record;
+BEGIN
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM 1 FROM ${myuniversity}_${mymodule}.accounts
+    WHERE id IN (SELECT gen_account_id FROM new_actions
+      WHERE gen_type_action IN ('Paid partially', 'Paid fully'))
+    ORDER BY id
+    FOR NO KEY UPDATE;
+  END IF;
+
+  FOR total IN EXECUTE ${myuniversity}_${mymodule}.payment_hourly_totals_query(CASE TG_OP
+    WHEN 'INSERT' THEN added_payments
+    WHEN 'DELETE' THEN removed_payments
+    ELSE added_payments || ' UNION ALL ' || removed_payments
+  END)
+  LOOP
+    PERFORM ${myuniversity}_${mymodule}.add_to_payment_hourly_total(total.hour,
+      total.created_at, total.source, total.payment_method, total.account_found,
+      total.fee_fine_owner, total.fee_fine_type, total.amount, total.count);
+  END LOOP;
+
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS update_payment_hourly_totals_on_insert
+  ON ${myuniversity}_${mymodule}.feefineactions;
+CREATE TRIGGER update_payment_hourly_totals_on_insert
+  AFTER INSERT ON ${myuniversity}_${mymodule}.feefineactions
+  REFERENCING NEW TABLE AS new_actions
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.update_payment_hourly_totals();
+
+DROP TRIGGER IF EXISTS update_payment_hourly_totals_on_update
+  ON ${myuniversity}_${mymodule}.feefineactions;
+CREATE TRIGGER update_payment_hourly_totals_on_update
+  AFTER UPDATE ON ${myuniversity}_${mymodule}.feefineactions
+  REFERENCING OLD TABLE AS old_actions NEW TABLE AS new_actions
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.update_payment_hourly_totals();
+
+DROP TRIGGER IF EXISTS update_payment_hourly_totals_on_delete
+  ON ${myuniversity}_${mymodule}.feefineactions;
+CREATE TRIGGER update_payment_hourly_totals_on_delete
+  AFTER DELETE ON ${myuniversity}_${mymodule}.feefineactions
+  REFERENCING OLD TABLE AS old_actions
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.update_payment_hourly_totals();
+
+-- Moves payments of accounts which were created, deleted or got another fee/fine owner or type
+-- from the categories of the previous state of their accounts to the ones of the current state.
+-- Updates of other account fields, e.g. of the remaining amount by every payment, only cost a
+-- comparison of the rows of the statement.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.move_payment_hourly_totals()
+RETURNS trigger AS $$
+DECLARE
+  changed_accounts text := CASE TG_OP
+    WHEN 'INSERT' THEN $query$
+      SELECT id, NULL::jsonb AS old_jsonb, jsonb AS new_jsonb FROM new_accounts
+      $query$
+    WHEN 'DELETE' THEN $query$
+      SELECT id, jsonb AS old_jsonb, NULL::jsonb AS new_jsonb FROM old_accounts
+      $query$
+    ELSE $query$
+      SELECT new_account.id, old_account.jsonb AS old_jsonb, new_account.jsonb AS new_jsonb
+      FROM old_accounts old_account
+        JOIN new_accounts new_account ON new_account.id = old_account.id
+      WHERE old_account.jsonb->>'feeFineOwner' IS DISTINCT FROM new_account.jsonb->>'feeFineOwner'
+        OR old_account.jsonb->>'feeFineType' IS DISTINCT FROM new_account.jsonb->>'feeFineType'
+      $query$
+  END;
+  total record;
+BEGIN
+  FOR total IN EXECUTE ${myuniversity}_${mymodule}.payment_hourly_totals_query(format($query$
+    SELECT payments.*, changed_accounts.old_jsonb AS account_jsonb, -1 AS sign
+    FROM (%1$s) AS changed_accounts
+      JOIN ${myuniversity}_${mymodule}.feefineactions payments
+        ON payments.gen_account_id = changed_accounts.id
+    UNION ALL
+    SELECT payments.*, changed_accounts.new_jsonb, 1
+    FROM (%1$s) AS changed_accounts
+      JOIN ${myuniversity}_${mymodule}.feefineactions payments
+        ON payments.gen_account_id = changed_accounts.id
+    $query$, changed_accounts))
+  LOOP
+    PERFORM ${myuniversity}_${mymodule}.add_to_payment_hourly_total(total.hour,
+      total.created_at, total.source, total.payment_method, total.account_found,
+      total.fee_fine_owner, total.fee_fine_type, total.amount, total.count);
+  END LOOP;
+
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS move_payment_hourly_totals_on_insert
+  ON ${myuniversity}_${mymodule}.accounts;
+CREATE TRIGGER move_payment_hourly_totals_on_insert
+  AFTER INSERT ON ${myuniversity}_${mymodule}.accounts
+  REFERENCING NEW TABLE AS new_accounts
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.move_payment_hourly_totals();
+
+DROP TRIGGER IF EXISTS move_payment_hourly_totals_on_update
+  ON ${myuniversity}_${mymodule}.accounts;
+CREATE TRIGGER move_payment_hourly_totals_on_update
+  AFTER UPDATE ON ${myuniversity}_${mymodule}.accounts
+  REFERENCING OLD TABLE AS old_accounts NEW TABLE AS new_accounts
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.move_payment_hourly_totals();
+
+DROP TRIGGER IF EXISTS move_payment_hourly_totals_on_delete
+  ON ${myuniversity}_${mymodule}.accounts;
+CREATE TRIGGER move_payment_hourly_totals_on_delete
+  AFTER DELETE ON ${myuniversity}_${mymodule}.accounts
+  REFERENCING OLD TABLE AS old_accounts
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.move_payment_hourly_totals();
+
+-- Recalculates all totals from payments, e.g. after they were restored with triggers disabled.
+-- The table is locked, so payments made meanwhile wait and are added by the trigger once the new
+-- totals are committed.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.rebuild_payment_hourly_totals()
+RETURNS void AS $$
+  TRUNCATE ${myuniversity}_${mymodule}.payment_hourly_totals;
+
+  INSERT INTO ${myuniversity}_${mymodule}.payment_hourly_totals
+    (hour, created_at, source, payment_method, account_found, fee_fine_owner, fee_fine_type,
+      amount, count)
+  SELECT date_trunc('hour', actions.gen_date_action, 'UTC'), actions.gen_created_at,
+    actions.gen_source, actions.jsonb->>'paymentMethod', accounts.id IS NOT NULL,
+    accounts.jsonb->>'feeFineOwner', accounts.jsonb->>'feeFineType',
+    sum(coalesce((actions.jsonb->>'amountAction')::numeric, 0)), count(*)
+  FROM ${myuniversity}_${mymodule}.feefineactions actions
+    LEFT JOIN ${myuniversity}_${mymodule}.accounts accounts ON accounts.id = actions.gen_account_id
+  WHERE actions.gen_type_action IN ('Paid partially', 'Paid fully')
+    AND actions.gen_date_action IS NOT NULL
+  GROUP BY 1, 2, 3, 4, 5, 6, 7;
+$$ LANGUAGE sql;
+
+-- backfill
+SELECT ${myuniversity}_${mymodule}.rebuild_payment_hourly_totals();
@@ -0,0 +1,111 @@
+-- Open fees/fines of each patron per fee/fine owner, maintained by a trigger on accounts, so that
+-- the balance of a patron is a single indexed read instead of reading all their accounts.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.user_balance_summary (
+  user_id text NOT NULL,
+  owner_id text,
+  fee_fine_owner text,
+  open_count bigint NOT NULL,
+  total_remaining numeric NOT NULL,
+  oldest_open_date timestamptz,
+  CONSTRAINT user_balance_summary_user_owner_key UNIQUE NULLS NOT DISTINCT (user_id, owner_id)
+);
+
+-- Recalculates the summary of a patron and owner from their open accounts, using the userId
+-- index of the accounts table. Summaries of a patron are locked for the rest of the transaction,
+-- so that concurrent changes of accounts of the same patron are summarized one after another.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.refresh_user_balance_summary(
+  summary_user_id text, summary_owner_id text)
+RETURNS void AS $$
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('user_balance_summary'), hashtext(summary_user_id));
+
+  DELETE FROM ${myuniversity}_${mymodule}.user_balance_summary
+  WHERE user_id = summary_user_id AND owner_id IS NOT DISTINCT FROM summary_owner_id;
+
+  INSERT INTO ${myuniversity}_${mymodule}.user_balance_summary
+    (user_id, owner_id, fee_fine_owner, open_count, total_remaining, oldest_open_date)
+  SELECT summary_user_id, summary_owner_id, max(jsonb->>'feeFineOwner'), count(*),
+    sum(coalesce((jsonb->>'remaining')::numeric, 0)),
+    min(coalesce(jsonb->>'dateCreated', jsonb->'metadata'->>'createdDate')::timestamptz)
+  FROM ${myuniversity}_${mymodule}.accounts
+  WHERE left(lower(${myuniversity}_${mymodule}.f_unaccent(jsonb->>'userId')), 600) =
+      left(lower(${myuniversity}_${mymodule}.f_unaccent(summary_user_id)), 600)
+    AND jsonb->>'userId' = summary_user_id
+    AND jsonb->>'ownerId' IS NOT DISTINCT FROM summary_owner_id
+    AND lower(jsonb->'status'->>'name') = 'open'
+  HAVING count(*) > 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement level, so that a batch of accounts of the same patron is summarized once. Patrons
+-- are refreshed in a fixed order to avoid deadlocks between concurrent batches.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.update_user_balance_summary()
+RETURNS trigger AS $$
+DECLARE
+  changed record;
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    FOR changed IN SELECT DISTINCT jsonb->>'userId' AS user_id, jsonb->>'ownerId' AS owner_id
+      FROM new_accounts WHERE jsonb->>'userId' IS NOT NULL ORDER BY 1, 2
+    LOOP
+      PERFORM ${myuniversity}_${mymodule}.refresh_user_balance_summary(changed.user_id,
+        changed.owner_id);
+    END LOOP;
+  ELSIF TG_OP = 'UPDATE' THEN
+    FOR changed IN SELECT DISTINCT user_id, owner_id FROM (
+        SELECT jsonb->>'userId' AS user_id, jsonb->>'ownerId' AS owner_id FROM old_accounts
+        UNION
+        SELECT jsonb->>'userId', jsonb->>'ownerId' FROM new_accounts) AS accounts
+      WHERE user_id IS NOT NULL ORDER BY 1, 2
+    LOOP
+      PERFORM ${myuniversity}_${mymodule}.refresh_user_balance_summary(changed.user_id,
+        changed.owner_id);
+    END LOOP;
+  ELSE
+    FOR changed IN SELECT DISTINCT jsonb->>'userId' AS user_id, jsonb->>'ownerId' AS owner_id
+      FROM old_accounts WHERE jsonb->>'userId' IS NOT NULL ORDER BY 1, 2
+    LOOP
+      PERFORM ${myuniversity}_${mymodule}.refresh_user_balance_summary(changed.user_id,
+        changed.owner_id);
+    END LOOP;
+  END IF;
+
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS update_user_balance_summary_on_insert
+  ON ${myuniversity}_${mymodule}.accounts;
+CREATE TRIGGER update_user_balance_summary_on_insert
+  AFTER INSERT ON ${myuniversity}_${mymodule}.accounts
+  REFERENCING NEW TABLE AS new_accounts
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.update_user_balance_summary();
+
+DROP TRIGGER IF EXISTS update_user_balance_summary_on_update
+  ON ${myuniversity}_${mymodule}.accounts;
+CREATE TRIGGER update_user_balance_summary_on_update
+  AFTER UPDATE ON ${myuniversity}_${mymodule}.accounts
+  REFERENCING OLD TABLE AS old_accounts NEW TABLE AS new_accounts
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.update_user_balance_summary();
+
+DROP TRIGGER IF EXISTS update_user_balance_summary_on_delete
+  ON ${myuniversity}_${mymodule}.accounts;
+CREATE TRIGGER update_user_balance_summary_on_delete
+  AFTER DELETE ON ${myuniversity}_${mymodule}.accounts
+  REFERENCING OLD TABLE AS old_accounts
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.update_user_balance_summary();
+
+-- backfill
+LOCK TABLE ${myuniversity}_${mymodule}.accounts IN SHARE MODE;
+
+TRUNCATE ${myuniversity}_${mymodule}.user_balance_summary;
+
+INSERT INTO ${myuniversity}_${mymodule}.user_balance_summary
+  (user_id, owner_id, fee_fine_owner, open_count, total_remaining, oldest_open_date)
+SELECT jsonb->>'userId', jsonb->>'ownerId', max(jsonb->>'feeFineOwner'), count(*),
+  sum(coalesce((jsonb->>'remaining')::numeric, 0)),
+  min(coalesce(jsonb->>'dateCreated', jsonb->'metadata'->>'createdDate')::timestamptz)
+FROM ${myuniversity}_${mymodule}.accounts
+WHERE jsonb->>'userId' IS NOT NULL
+  AND lower(jsonb->'status'->>'name') = 'open'
+GROUP BY 1, 2;
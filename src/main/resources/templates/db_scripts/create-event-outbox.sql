@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.event_outbox (
+  id bigserial PRIMARY KEY,
+  event_type text NOT NULL,
+  partition_key text,
+  payload text NOT NULL,
+  created_date timestamptz NOT NULL DEFAULT now()
+);
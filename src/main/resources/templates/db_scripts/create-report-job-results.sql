@@ -0,0 +1,5 @@
+-- gzip-compressed JSON of reports built by report jobs, deleted together with the job
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.report_job_results (
+  id uuid PRIMARY KEY REFERENCES ${myuniversity}_${mymodule}.report_jobs (id) ON DELETE CASCADE,
+  result bytea NOT NULL
+);
@@ -17,6 +17,7 @@ import static org.folio.test.support.ApiTests.TENANT_NAME;
 
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.folio.rest.tools.utils.NetworkUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
@@ -45,6 +46,11 @@ public abstract class BaseClientTest {
     okapiHeaders.put(TOKEN, OKAPI_TOKEN);
   }
 
+  @BeforeEach
+  void invalidateReferenceDataCache() {
+    ReferenceDataCache.getInstance().invalidateAll();
+  }
+
   protected  <T> void createStub(String url, String id, int status, T stubObject) {
     createStub(url + "/" + id, status, stubObject);
   }
@@ -1,11 +1,15 @@
 package org.folio.rest.client;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.List;
 import java.util.UUID;
 
 import org.apache.http.HttpStatus;
+import org.folio.rest.exception.http.HttpGetException;
 import org.folio.rest.jaxrs.model.HoldingsRecord;
 import org.folio.rest.jaxrs.model.HoldingsRecords;
 import org.junit.jupiter.api.Test;
@@ -32,13 +36,12 @@ public class InventoryClientTest extends BaseClientTest {
       .withTotalRecords(1);
     createStub(HOLDINGS_URL, HttpStatus.SC_OK, holdingsRecords);
 
-    inventoryClient.getHoldingsById(List.of(holdingsRecordId))
-      .onComplete(context.succeeding(records -> {
-        assertEquals(holdingsRecords.getHoldingsRecords().get(0).getId(),
-          records.getHoldingsRecords().get(0).getId());
-        assertEquals(holdingsRecords.getTotalRecords(), records.getTotalRecords());
+    inventoryClient.getHoldingsByIds(List.of(holdingsRecordId))
+      .onComplete(context.succeeding(records -> context.verify(() -> {
+        assertEquals(1, records.size());
+        assertEquals(holdingsRecordId, records.iterator().next().getId());
         context.completeNow();
-      }));
+      })));
   }
 
   @Test
@@ -46,11 +49,11 @@ public class InventoryClientTest extends BaseClientTest {
     String holdingsRecordId = UUID.randomUUID().toString();
     createStub(HOLDINGS_URL, HttpStatus.SC_INTERNAL_SERVER_ERROR, "Internal server error, contact administrator");
 
-    inventoryClient.getHoldingsById(List.of(holdingsRecordId))
-      .onComplete(context.failing(failure -> {
-        assertEquals("Failed to get holdings by IDs. Response status code: 500", failure.getMessage());
+    inventoryClient.getHoldingsByIds(List.of(holdingsRecordId))
+      .onComplete(context.failing(failure -> context.verify(() -> {
+        assertThat(failure, instanceOf(HttpGetException.class));
         context.completeNow();
-      }));
+      })));
   }
 
   @Test
@@ -59,11 +62,11 @@ public class InventoryClientTest extends BaseClientTest {
     String incorrectResponse = "{";
     createStub(HOLDINGS_URL, HttpStatus.SC_OK, incorrectResponse);
 
-    inventoryClient.getHoldingsById(List.of(holdingsRecordId))
-      .onComplete(context.failing(failure -> {
-        assertEquals("Failed to parse request. Response body: {", failure.getMessage());
+    inventoryClient.getHoldingsByIds(List.of(holdingsRecordId))
+      .onComplete(context.failing(failure -> context.verify(() -> {
+        assertThat(failure.getMessage(), startsWith("Failed to parse response from "));
         context.completeNow();
-      }));
+      })));
   }
 
 }
@@ -1,12 +1,36 @@
 package org.folio.rest.client;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.util.StringUtil.urlEncode;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.http.HttpStatus;
 import org.folio.rest.jaxrs.model.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 
@@ -15,6 +39,7 @@ public class OkapiClientTest extends BaseClientTest{
   public static final String USERS_URL = "/users";
   public static final String USER_ID = "72fc6429-69b1-47ea-bf38-6a26c87594b6";
   public static final User USER = new User().withId(USER_ID);
+  private static final String OTHER_TOKEN = "other-token";
   private final OkapiClient okapiClient;
   {
     okapiClient = new OkapiClient(vertx, okapiHeaders);
@@ -104,4 +129,185 @@ public class OkapiClientTest extends BaseClientTest{
       }));
   }
 
+  @Test
+  void concurrentGetByIdShouldShareOneRequest(VertxTestContext context) {
+    createStub(USERS_URL, USER_ID, HttpStatus.SC_OK, USER);
+
+    Future.all(okapiClient.getById(USERS_URL, USER_ID, User.class),
+        okapiClient.getById(USERS_URL, USER_ID, User.class))
+      .onComplete(context.succeeding(users -> {
+        User firstUser = users.resultAt(0);
+        User secondUser = users.resultAt(1);
+        assertEquals(USER_ID, firstUser.getId());
+        assertEquals(USER_ID, secondUser.getId());
+        assertNotSame(firstUser, secondUser);
+        mock.verify(1, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+      }))
+      // nothing is cached once the request is completed
+      .compose(r -> okapiClient.getById(USERS_URL, USER_ID, User.class))
+      .onComplete(context.succeeding(user -> {
+        mock.verify(2, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+        context.completeNow();
+      }));
+  }
+
+  @Test
+  void concurrentGetByIdShouldNotShareRequestOfOtherUserOrPool(VertxTestContext context) {
+    mock.stubFor(WireMock.get(urlPathEqualTo(USERS_URL + "/" + USER_ID))
+      .willReturn(aResponse()
+        .withStatus(HttpStatus.SC_OK)
+        .withBody(JsonObject.mapFrom(USER).encode())));
+
+    Future.all(okapiClient.getById(USERS_URL, USER_ID, User.class),
+        otherUserClient().getById(USERS_URL, USER_ID, User.class),
+        bulkPoolClient().getById(USERS_URL, USER_ID, User.class))
+      .onComplete(context.succeeding(users -> {
+        mock.verify(1, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID))
+          .withHeader(OKAPI_HEADER_TOKEN, equalTo(OTHER_TOKEN)));
+        mock.verify(3, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+        context.completeNow();
+      }));
+  }
+
+  @Test
+  void getByIdCachedShouldFetchObjectOnlyOnce(VertxTestContext context) {
+    createStub(USERS_URL, USER_ID, HttpStatus.SC_OK, USER);
+
+    okapiClient.getByIdCached(USERS_URL, USER_ID, User.class)
+      .compose(r -> okapiClient.getByIdCached(USERS_URL, USER_ID, User.class))
+      .onComplete(context.succeeding(user -> {
+        assertEquals(USER_ID, user.getId());
+        mock.verify(1, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+        context.completeNow();
+      }));
+  }
+
+  @Test
+  void getByIdCachedShouldCacheNotFoundResponse(VertxTestContext context) {
+    createStub(USERS_URL, USER_ID, HttpStatus.SC_NOT_FOUND, "User not found");
+
+    okapiClient.getByIdCached(USERS_URL, USER_ID, User.class)
+      .recover(t -> okapiClient.getByIdCached(USERS_URL, USER_ID, User.class))
+      .onComplete(context.failing(failure -> {
+        assertEquals("User " + USER_ID + " was not found", failure.getMessage());
+        mock.verify(1, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+        context.completeNow();
+      }));
+  }
+
+  @Test
+  void getByIdsShouldFetchAllBatches(VertxTestContext context) {
+    List<String> userIds = Stream.generate(() -> UUID.randomUUID().toString())
+      .limit(200)
+      .collect(Collectors.toList());
+    createStub(USERS_URL, HttpStatus.SC_OK, new JsonObject()
+      .put("users", new JsonArray().add(JsonObject.mapFrom(USER)))
+      .encode());
+
+    okapiClient.getByIds(USERS_URL, userIds, User.class, "users")
+      .onComplete(context.succeeding(users -> {
+        int batchCount = OkapiClient.partitionByQueryLength(userIds).size();
+        assertEquals(3, batchCount);
+        assertEquals(batchCount, users.size());
+        mock.verify(batchCount, getRequestedFor(urlPathEqualTo(USERS_URL)));
+        context.completeNow();
+      }));
+  }
+
+  @Test
+  void batchQueriesShouldFitIntoMaximumLength() {
+    List<String> ids = Stream.generate(() -> UUID.randomUUID().toString())
+      .limit(1000)
+      .collect(Collectors.toList());
+
+    List<List<String>> batches = OkapiClient.partitionByQueryLength(ids);
+
+    assertEquals(ids, batches.stream().flatMap(List::stream).collect(Collectors.toList()));
+    batches.forEach(batch -> assertTrue(
+      urlEncode(String.format("id==(%s)", String.join(" or ", batch))).length() <= 3500));
+  }
+
+  @Test
+  void concurrentLookupsByIdShouldBeFetchedWithOneQuery(VertxTestContext context) {
+    String missingUserId = UUID.randomUUID().toString();
+    createStub(USERS_URL, HttpStatus.SC_OK, new JsonObject()
+      .put("users", new JsonArray().add(JsonObject.mapFrom(USER)))
+      .encode());
+
+    vertx.runOnContext(v -> Future.all(
+        okapiClient.getByIdBatched(USERS_URL, USER_ID, User.class, "users", User::getId),
+        okapiClient.getByIdBatched(USERS_URL, USER_ID, User.class, "users", User::getId),
+        okapiClient.getByIdBatched(USERS_URL, missingUserId, User.class, "users", User::getId)
+          .recover(t -> Future.succeededFuture(null)))
+      .onComplete(context.succeeding(users -> {
+        User firstUser = users.resultAt(0);
+        User secondUser = users.resultAt(1);
+        assertEquals(USER_ID, firstUser.getId());
+        assertNotSame(firstUser, secondUser);
+        assertNull(users.resultAt(2));
+        mock.verify(1, getRequestedFor(urlPathEqualTo(USERS_URL)));
+        mock.verify(0, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+        context.completeNow();
+      })));
+  }
+
+  @Test
+  void lookupsByIdOfOtherUserOrPoolShouldNotBeMerged(VertxTestContext context) {
+    mock.stubFor(WireMock.get(urlPathEqualTo(USERS_URL + "/" + USER_ID))
+      .willReturn(aResponse()
+        .withStatus(HttpStatus.SC_OK)
+        .withBody(JsonObject.mapFrom(USER).encode())));
+
+    vertx.runOnContext(v -> Future.all(
+        okapiClient.getByIdBatched(USERS_URL, USER_ID, User.class, "users", User::getId),
+        otherUserClient().getByIdBatched(USERS_URL, USER_ID, User.class, "users", User::getId),
+        bulkPoolClient().getByIdBatched(USERS_URL, USER_ID, User.class, "users", User::getId))
+      .onComplete(context.succeeding(users -> {
+        mock.verify(1, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID))
+          .withHeader(OKAPI_HEADER_TOKEN, equalTo(OTHER_TOKEN)));
+        mock.verify(3, getRequestedFor(urlPathEqualTo(USERS_URL + "/" + USER_ID)));
+        mock.verify(0, getRequestedFor(urlPathEqualTo(USERS_URL)));
+        context.completeNow();
+      })));
+  }
+
+  @Test
+  void collectionShouldBeDecodedSkippingOtherProperties() throws IOException {
+    String body = new JsonObject()
+      .put("totalRecords", 2)
+      .put("resultInfo", new JsonObject().put("facets", new JsonArray().add(new JsonObject())))
+      .put("users", new JsonArray()
+        .add(new JsonObject()
+          .put("id", USER_ID)
+          .put("unknownProperty", new JsonObject().put("users", new JsonArray()))
+          .put("personal", new JsonObject().put("lastName", "Last name")))
+        .add(new JsonObject().put("id", "other-id")))
+      .encode();
+
+    List<User> users = OkapiClient.decodeCollection(Buffer.buffer(body), "users", User.class);
+
+    assertEquals(2, users.size());
+    assertEquals(USER_ID, users.get(0).getId());
+    assertEquals("Last name", users.get(0).getPersonal().getLastName());
+    assertEquals("other-id", users.get(1).getId());
+  }
+
+  @Test
+  void decodingShouldFailWhenCollectionIsMissing() {
+    Buffer body = Buffer.buffer(new JsonObject().put("totalRecords", 0).encode());
+
+    assertThrows(IOException.class,
+      () -> OkapiClient.decodeCollection(body, "users", User.class));
+  }
+
+  private OkapiClient otherUserClient() {
+    Map<String, String> otherUserHeaders = new CaseInsensitiveMap<>(okapiHeaders);
+    otherUserHeaders.put(OKAPI_HEADER_TOKEN, OTHER_TOKEN);
+
+    return new OkapiClient(vertx, otherUserHeaders);
+  }
+
+  private OkapiClient bulkPoolClient() {
+    return new OkapiClient(vertx, okapiHeaders, WebClientProvider.Pool.BULK);
+  }
 }
@@ -0,0 +1,100 @@
+package org.folio.rest.client;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+class RequestLimiterTest {
+  private static final long TIMEOUT_MILLIS = 60_000;
+
+  private static Vertx vertx;
+
+  @BeforeAll
+  static void createVertx() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterAll
+  static void closeVertx() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, SECONDS);
+  }
+
+  @Test
+  void requestsOverLimitWaitForRunningOnes() {
+    RequestLimiter limiter = new RequestLimiter(2, TIMEOUT_MILLIS);
+    List<Promise<String>> sentRequests = new ArrayList<>();
+
+    List<Future<String>> responses = IntStream.range(0, 4)
+      .mapToObj(i -> limiter.execute(vertx, () -> {
+        Promise<String> promise = Promise.promise();
+        sentRequests.add(promise);
+        return promise.future();
+      }))
+      .collect(Collectors.toList());
+
+    assertEquals(2, sentRequests.size());
+
+    sentRequests.get(0).complete("first");
+    assertEquals("first", responses.get(0).result());
+    assertEquals(3, sentRequests.size());
+
+    sentRequests.get(1).fail("failure");
+    assertTrue(responses.get(1).failed());
+    assertEquals(4, sentRequests.size());
+  }
+
+  @Test
+  void requestWhichThrowsReleasesItsSlot() {
+    RequestLimiter limiter = new RequestLimiter(1, TIMEOUT_MILLIS);
+
+    Future<String> failed = limiter.execute(vertx, () -> {
+      throw new IllegalStateException("failure");
+    });
+    Future<String> succeeded = limiter.execute(vertx, () -> Future.succeededFuture("ok"));
+
+    assertTrue(failed.failed());
+    assertEquals("ok", succeeded.result());
+  }
+
+  @Test
+  void requestWhichNeverCompletesTimesOutAndReleasesItsSlot() throws Exception {
+    RequestLimiter limiter = new RequestLimiter(1, 100);
+
+    Future<String> hanging = limiter.execute(vertx, () -> Promise.<String>promise().future());
+    Future<String> waiting = limiter.execute(vertx, () -> Future.succeededFuture("ok"));
+
+    assertEquals("ok", waiting.toCompletionStage().toCompletableFuture().get(5, SECONDS));
+    assertTrue(hanging.failed());
+    assertInstanceOf(TimeoutException.class, hanging.cause());
+  }
+
+  @Test
+  void limiterIsSharedByOkapiUrlTenantAndPath() {
+    RequestLimiter limiter = RequestLimiter.forPath("http://okapi", "diku", "/users", 5,
+      TIMEOUT_MILLIS);
+
+    assertSame(limiter, RequestLimiter.forPath("http://okapi", "diku", "/users", 5,
+      TIMEOUT_MILLIS));
+    assertNotSame(limiter, RequestLimiter.forPath("http://okapi", "other", "/users", 5,
+      TIMEOUT_MILLIS));
+    assertNotSame(limiter, RequestLimiter.forPath("http://other-okapi", "diku", "/users", 5,
+      TIMEOUT_MILLIS));
+  }
+}
@@ -0,0 +1,130 @@
+package org.folio.rest.client;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.folio.rest.client.WebClientProvider.Pool.BULK;
+import static org.folio.rest.client.WebClientProvider.Pool.INTERACTIVE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.web.client.HttpResponse;
+
+class WebClientProviderTest {
+  private static Vertx vertx;
+
+  @BeforeAll
+  static void setUpVertx() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterAll
+  static void closeVertx() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, SECONDS);
+  }
+
+  @AfterEach
+  void clearSettings() {
+    System.clearProperty("WEB_CLIENT_MAX_POOL_SIZE");
+    System.clearProperty("WEB_CLIENT_BULK_MAX_POOL_SIZE");
+    System.clearProperty("WEB_CLIENT_HTTP2");
+    System.clearProperty("WEB_CLIENT_INTERACTIVE_KEEP_ALIVE");
+  }
+
+  @Test
+  void poolSettingsOverrideCommonSettings() {
+    System.setProperty("WEB_CLIENT_MAX_POOL_SIZE", "10");
+    System.setProperty("WEB_CLIENT_BULK_MAX_POOL_SIZE", "20");
+
+    assertEquals(10, WebClientProvider.createPoolOptions(INTERACTIVE).getHttp1MaxSize());
+    assertEquals(20, WebClientProvider.createPoolOptions(BULK).getHttp1MaxSize());
+    assertEquals(PoolOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE,
+      WebClientProvider.createPoolOptions(BULK).getMaxWaitQueueSize());
+  }
+
+  @Test
+  void clientOptionsAreReadFromSettings() {
+    System.setProperty("WEB_CLIENT_HTTP2", "true");
+    System.setProperty("WEB_CLIENT_INTERACTIVE_KEEP_ALIVE", "false");
+
+    assertEquals(HttpVersion.HTTP_2,
+      WebClientProvider.createWebClientOptions(INTERACTIVE).getProtocolVersion());
+    assertFalse(WebClientProvider.createWebClientOptions(INTERACTIVE).isKeepAlive());
+    assertTrue(WebClientProvider.createWebClientOptions(BULK).isKeepAlive());
+  }
+
+  @Test
+  void clientIsSharedWithinPool() {
+    assertSame(WebClientProvider.getWebClient(vertx),
+      WebClientProvider.getWebClient(vertx, INTERACTIVE));
+    assertNotSame(WebClientProvider.getWebClient(vertx, INTERACTIVE),
+      WebClientProvider.getWebClient(vertx, BULK));
+  }
+
+  @Test
+  void bulkRequestsDoNotOccupyInteractiveConnections() throws Exception {
+    List<HttpServerRequest> bulkRequests = new CopyOnWriteArrayList<>();
+    HttpServer server = vertx.createHttpServer()
+      .requestHandler(request -> {
+        if (request.path().equals("/bulk")) {
+          // responded once the interactive request is completed
+          bulkRequests.add(request);
+        } else {
+          request.response().end("interactive");
+        }
+      });
+    int port = server.listen(0)
+      .toCompletionStage().toCompletableFuture().get(5, SECONDS)
+      .actualPort();
+
+    // one more bulk request than there are connections in the bulk pool
+    int bulkPoolSize = WebClientProvider.createPoolOptions(BULK).getHttp1MaxSize();
+    List<Future<HttpResponse<Buffer>>> bulkResponses = IntStream.rangeClosed(0, bulkPoolSize)
+      .mapToObj(i -> WebClientProvider.getWebClient(vertx, BULK)
+        .get(port, "localhost", "/bulk")
+        .send())
+      .toList();
+
+    Awaitility.await()
+      .atMost(5, SECONDS)
+      .until(bulkRequests::size, size -> size == bulkPoolSize);
+
+    String interactiveResponse = WebClientProvider.getWebClient(vertx, INTERACTIVE)
+      .get(port, "localhost", "/interactive")
+      .send()
+      .map(HttpResponse::bodyAsString)
+      .toCompletionStage().toCompletableFuture().get(5, SECONDS);
+
+    assertEquals("interactive", interactiveResponse);
+    // the last bulk request is still waiting for a connection of the bulk pool
+    assertEquals(bulkPoolSize, bulkRequests.size());
+
+    bulkRequests.forEach(request -> request.response().end());
+    Awaitility.await()
+      .atMost(5, SECONDS)
+      .until(bulkRequests::size, size -> size == bulkPoolSize + 1);
+    bulkRequests.get(bulkPoolSize).response().end();
+
+    Future.all(bulkResponses)
+      .compose(ignored -> server.close())
+      .toCompletionStage().toCompletableFuture().get(5, SECONDS);
+  }
+}
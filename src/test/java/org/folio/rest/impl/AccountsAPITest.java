@@ -1,6 +1,8 @@
 package org.folio.rest.impl;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
@@ -54,6 +56,7 @@ import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 
 import io.restassured.response.Response;
 import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 public class AccountsAPITest extends ApiTests {
@@ -144,6 +147,40 @@ public class AccountsAPITest extends ApiTests {
     assertBalanceChangedEventPublished(accountToDelete);
   }
 
+  @Test
+  public void holdingsAndInstanceAreOnlyFetchedForAccountsWithoutThem() {
+    String holdingsRecordId = "65cb2bf0-d4c2-4886-8ad0-b76f1ba75d61";
+    String instanceId = "cd28da0f-a3e4-465c-82f1-acade4e8e170";
+    Account accountWithoutInstance = buildAccount();
+    Account accountWithInstance = buildAccount()
+      .withHoldingsRecordId(randomId())
+      .withInstanceId(randomId());
+
+    getOkapi().stubFor(WireMock.get(urlPathEqualTo("/item-storage/items"))
+      .willReturn(aResponse().withBody(new JsonObject()
+        .put("items", new JsonArray().add(new JsonObject()
+          .put("id", accountWithoutInstance.getItemId())
+          .put("holdingsRecordId", holdingsRecordId)))
+        .put("totalRecords", 1)
+        .encode())));
+
+    accountsClient.create(accountWithoutInstance);
+    accountsClient.create(accountWithInstance);
+
+    accountsClient.getAll()
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body(accountPath(accountWithoutInstance, "holdingsRecordId"), is(holdingsRecordId))
+      .body(accountPath(accountWithoutInstance, "instanceId"), is(instanceId))
+      .body(accountPath(accountWithInstance, "holdingsRecordId"),
+        is(accountWithInstance.getHoldingsRecordId()))
+      .body(accountPath(accountWithInstance, "instanceId"),
+        is(accountWithInstance.getInstanceId()));
+
+    getOkapi().verify(0, getRequestedFor(urlPathEqualTo("/item-storage/items"))
+      .withQueryParam("query", containing(accountWithInstance.getItemId())));
+  }
+
   @Test
   public void eventIsPublishedWhenFeeFineIsClosedWithLoanAndNoRemainingAmount() {
     final String accountId = randomId();
@@ -454,4 +491,8 @@ public class AccountsAPITest extends ApiTests {
     assertThat(eventPayload.getDouble("balance"), is(account.getRemaining().toDouble()));
     assertThat(eventPayload.getString("loanId"), is(account.getLoanId()));
   }
+
+  private static String accountPath(Account account, String field) {
+    return String.format("accounts.find { it.id == '%s' }.%s", account.getId(), field);
+  }
 }
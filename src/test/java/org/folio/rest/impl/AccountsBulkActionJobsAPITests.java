@@ -0,0 +1,229 @@
+package org.folio.rest.impl;
+
+import static io.restassured.http.ContentType.JSON;
+import static java.lang.String.format;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.rest.jaxrs.model.PaymentStatus.Name.OUTSTANDING;
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpStatus;
+import org.awaitility.Awaitility;
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.BulkActionJob;
+import org.folio.rest.jaxrs.model.BulkActionJobRequest;
+import org.folio.rest.jaxrs.model.PaymentStatus;
+import org.folio.rest.jaxrs.model.Status;
+import org.folio.rest.service.JobHeartbeatService;
+import org.folio.test.support.ActionsAPITests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class AccountsBulkActionJobsAPITests extends ActionsAPITests {
+  private static final String JOBS_PATH = "/accounts-bulk/jobs";
+  private static final String PERMISSIONS_HEADER = "x-okapi-permissions";
+  private static final String PAY_PERMISSION = "feesfines.accounts-bulk.pay.post";
+  private static final String BULK_ACTION_JOBS_TABLE = "bulk_action_jobs";
+
+  private static final String USER_ID = randomId();
+  private static final String FIRST_ACCOUNT_ID = randomId();
+  private static final String SECOND_ACCOUNT_ID = randomId();
+
+  @BeforeEach
+  public void beforeEach() {
+    removeAllFromTable("feefineactions");
+    removeAllFromTable("accounts");
+    removeAllFromTable(BULK_ACTION_JOBS_TABLE);
+  }
+
+  @Test
+  public void payJobProcessesAllAccounts() {
+    postAccount(createAccount(FIRST_ACCOUNT_ID, 3.0));
+    postAccount(createAccount(SECOND_ACCOUNT_ID, 2.0));
+
+    String jobId = startJob(createRequest("5.00", List.of(FIRST_ACCOUNT_ID, SECOND_ACCOUNT_ID)),
+      PAY_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .contentType(JSON)
+      .body("action", is("pay"))
+      .body("totalAccounts", is(2))
+      .body("amount", is("5.00"))
+      .extract()
+      .path("id");
+
+    Awaitility.await()
+      .atMost(10, TimeUnit.SECONDS)
+      .until(() -> getJob(jobId).path("status"), is("COMPLETED"));
+
+    getJob(jobId)
+      .then()
+      .body("processedAccounts", is(2))
+      .body("processedAmount", is("5.00"))
+      .body("feeFineActionCount", is(2));
+
+    verifyAccountAndGet(accountsClient, FIRST_ACCOUNT_ID, "Paid fully", MonetaryValue.ZERO,
+      "Closed");
+    verifyAccountAndGet(accountsClient, SECOND_ACCOUNT_ID, "Paid fully", MonetaryValue.ZERO,
+      "Closed");
+  }
+
+  @Test
+  public void jobFailsWithoutProcessingAccountsWhenTokenExpired() {
+    postAccount(createAccount(FIRST_ACCOUNT_ID, 3.0));
+
+    String expiredToken = generateToken(new JsonObject()
+      .put("sub", "admin")
+      .put("tenant", TENANT_NAME)
+      .put("exp", System.currentTimeMillis() / 1000 - 60));
+
+    String jobId = RestAssured.given()
+      .baseUri(getOkapiUrl())
+      .contentType(JSON)
+      .header(OKAPI_HEADER_TENANT, TENANT_NAME)
+      .header(OKAPI_URL_HEADER, getOkapiUrl())
+      .header(OKAPI_HEADER_TOKEN, expiredToken)
+      .header(PERMISSIONS_HEADER, new JsonArray().add(PAY_PERMISSION).encode())
+      .body(JsonObject.mapFrom(createRequest("3.00", List.of(FIRST_ACCOUNT_ID))).encode())
+      .when()
+      .post(JOBS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .extract()
+      .path("id");
+
+    Awaitility.await()
+      .atMost(10, TimeUnit.SECONDS)
+      .until(() -> getJob(jobId).path("status"), is("FAILED"));
+
+    getJob(jobId)
+      .then()
+      .body("errorMessage", is("Token of the user who started the job expired, " +
+        "remaining accounts were not processed"))
+      .body("processedAccounts", is(0))
+      .body("feeFineActionCount", is(0));
+
+    accountsClient.getById(FIRST_ACCOUNT_ID)
+      .then()
+      .body("remaining", is(3.0f))
+      .body("paymentStatus.name", is("Outstanding"));
+  }
+
+  @Test
+  public void interruptedJobIsFailedOnStart() {
+    BulkActionJob interruptedJob = new BulkActionJob()
+      .withId(randomId())
+      .withAction(BulkActionJob.Action.PAY)
+      .withStatus(BulkActionJob.Status.IN_PROGRESS)
+      .withTotalAccounts(1)
+      .withProcessedAccounts(0)
+      .withFeeFineActionCount(0)
+      .withStartedDate(new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+    get(pgClient.save(BULK_ACTION_JOBS_TABLE, interruptedJob.getId(), interruptedJob));
+
+    get(JobHeartbeatService.failInterruptedJobs(vertx));
+
+    getJob(interruptedJob.getId())
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("status", is("FAILED"))
+      .body("errorMessage", is("Job was interrupted, e.g. by a module restart"));
+  }
+
+  @Test
+  public void return422WhenRequestedAmountExceedsRemainingAmount() {
+    postAccount(createAccount(FIRST_ACCOUNT_ID, 1.0));
+
+    startJob(createRequest("3.00", List.of(FIRST_ACCOUNT_ID)), PAY_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+      .contentType(JSON)
+      .body("errorMessage", is("Requested amount exceeds remaining amount"));
+  }
+
+  @Test
+  public void return403WhenActionPermissionIsMissing() {
+    postAccount(createAccount(FIRST_ACCOUNT_ID, 1.0));
+
+    startJob(createRequest("1.00", List.of(FIRST_ACCOUNT_ID)), "feesfines.accounts-bulk.waive.post")
+      .then()
+      .statusCode(HttpStatus.SC_FORBIDDEN)
+      .contentType(ContentType.TEXT)
+      .body(is("Access requires permission: " + PAY_PERMISSION));
+  }
+
+  @Test
+  public void return404WhenJobDoesNotExist() {
+    getJob(randomId())
+      .then()
+      .statusCode(HttpStatus.SC_NOT_FOUND);
+  }
+
+  private Response startJob(BulkActionJobRequest request, String permission) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .header(PERMISSIONS_HEADER, new JsonArray().add(permission).encode())
+      .body(JsonObject.mapFrom(request).encodePrettily())
+      .when()
+      .post(JOBS_PATH);
+  }
+
+  private Response getJob(String jobId) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .when()
+      .get(JOBS_PATH + "/" + jobId);
+  }
+
+  private static String generateToken(JsonObject payload) {
+    return format("1.%s.3", Base64.getEncoder().encodeToString(payload.encode().getBytes()));
+  }
+
+  private void postAccount(Account account) {
+    accountsClient.create(account)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED)
+      .contentType(JSON);
+  }
+
+  private static Account createAccount(String accountId, double amount) {
+    return new Account()
+      .withId(accountId)
+      .withOwnerId(randomId())
+      .withUserId(USER_ID)
+      .withBarcode("barcode")
+      .withItemId(randomId())
+      .withLoanId(randomId())
+      .withMaterialTypeId(randomId())
+      .withFeeFineId(randomId())
+      .withFeeFineType("book lost")
+      .withFeeFineOwner("owner")
+      .withAmount(new MonetaryValue(amount))
+      .withRemaining(new MonetaryValue(amount))
+      .withPaymentStatus(new PaymentStatus().withName(OUTSTANDING))
+      .withStatus(new Status().withName("Open"));
+  }
+
+  private static BulkActionJobRequest createRequest(String amount, List<String> accountIds) {
+    return new BulkActionJobRequest()
+      .withAction(BulkActionJobRequest.Action.PAY)
+      .withAmount(amount)
+      .withAccountIds(accountIds)
+      .withPaymentMethod("Cash")
+      .withServicePointId(randomId())
+      .withUserName("Folio, Tester")
+      .withNotifyPatron(false);
+  }
+}
@@ -0,0 +1,146 @@
+package org.folio.rest.impl;
+
+import static io.restassured.http.ContentType.JSON;
+import static org.folio.rest.jaxrs.model.PaymentStatus.Name.OUTSTANDING;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.util.List;
+
+import org.apache.http.HttpStatus;
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.BulkChargeRequest;
+import org.folio.rest.jaxrs.model.FeeFineCharge;
+import org.folio.rest.jaxrs.model.Feefineaction;
+import org.folio.rest.jaxrs.model.PaymentStatus;
+import org.folio.rest.jaxrs.model.Status;
+import org.folio.test.support.ActionsAPITests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonObject;
+
+public class AccountsBulkChargeAPITests extends ActionsAPITests {
+  private static final String CHARGE_PATH = "/accounts-bulk/charge";
+  private static final String USER_ID = randomId();
+
+  @BeforeEach
+  public void beforeEach() {
+    removeAllFromTable("feefineactions");
+    removeAllFromTable("accounts");
+  }
+
+  @Test
+  public void allFeesFinesAreCharged() {
+    String firstAccountId = randomId();
+    String secondAccountId = randomId();
+    FeeFineCharge firstCharge = createCharge(firstAccountId, 3.0);
+    FeeFineCharge secondCharge = createCharge(secondAccountId, 2.0);
+
+    charge(List.of(firstCharge, secondCharge))
+      .then()
+      .statusCode(HttpStatus.SC_CREATED)
+      .contentType(JSON)
+      .body("accountIds", contains(firstAccountId, secondAccountId))
+      .body("feefineactionIds", contains(firstCharge.getAction().getId(),
+        secondCharge.getAction().getId()));
+
+    accountsClient.getById(firstAccountId)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("remaining", is(3.0f));
+
+    accountsClient.getById(secondAccountId)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("remaining", is(2.0f));
+
+    feeFineActionsClient.getAll()
+      .then()
+      .body("feefineactions", hasSize(2));
+  }
+
+  @Test
+  public void return422WhenActionBelongsToAnotherAccount() {
+    FeeFineCharge charge = createCharge(randomId(), 1.0);
+    charge.getAction().setAccountId(randomId());
+
+    charge(List.of(charge))
+      .then()
+      .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+      .contentType(ContentType.TEXT)
+      .body(is("Charge action must belong to the charged fee/fine: "
+        + charge.getAccount().getId()));
+  }
+
+  @Test
+  public void return422WhenFeeFineIsChargedTwice() {
+    String accountId = randomId();
+
+    charge(List.of(createCharge(accountId, 1.0), createCharge(accountId, 2.0)))
+      .then()
+      .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+      .body(is("Fee/fine is charged more than once: " + accountId));
+  }
+
+  @Test
+  public void nothingIsChargedWhenOneOfFeesFinesCanNotBeSaved() {
+    FeeFineCharge existingCharge = createCharge(randomId(), 1.0);
+    accountsClient.create(existingCharge.getAccount())
+      .then()
+      .statusCode(HttpStatus.SC_CREATED);
+
+    charge(List.of(createCharge(randomId(), 2.0), existingCharge))
+      .then()
+      .statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+
+    accountsClient.getAll()
+      .then()
+      .body("accounts", hasSize(1));
+
+    feeFineActionsClient.getAll()
+      .then()
+      .body("feefineactions", empty());
+  }
+
+  private Response charge(List<FeeFineCharge> charges) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .body(JsonObject.mapFrom(new BulkChargeRequest().withCharges(charges)).encodePrettily())
+      .when()
+      .post(CHARGE_PATH);
+  }
+
+  private static FeeFineCharge createCharge(String accountId, double amount) {
+    Account account = new Account()
+      .withId(accountId)
+      .withOwnerId(randomId())
+      .withUserId(USER_ID)
+      .withFeeFineId(randomId())
+      .withFeeFineType("Overdue fine")
+      .withFeeFineOwner("owner")
+      .withAmount(new MonetaryValue(amount))
+      .withRemaining(new MonetaryValue(amount))
+      .withPaymentStatus(new PaymentStatus().withName(OUTSTANDING))
+      .withStatus(new Status().withName("Open"));
+
+    Feefineaction action = new Feefineaction()
+      .withId(randomId())
+      .withAccountId(accountId)
+      .withUserId(USER_ID)
+      .withTypeAction("Overdue fine")
+      .withAmountAction(new MonetaryValue(amount))
+      .withBalance(new MonetaryValue(amount))
+      .withNotify(false);
+
+    return new FeeFineCharge()
+      .withAccount(account)
+      .withAction(action);
+  }
+}
@@ -43,6 +43,7 @@ import org.folio.rest.jaxrs.model.Event;
 import org.folio.rest.jaxrs.model.EventMetadata;
 import org.folio.rest.jaxrs.model.PaymentStatus;
 import org.folio.rest.jaxrs.model.Status;
+import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.utils.ResourceClient;
 import org.folio.test.support.ActionsAPITests;
 import org.folio.util.pubsub.PubSubClientUtils;
@@ -341,6 +342,41 @@ public class AccountsBulkPayWaiveTransferAPITests extends ActionsAPITests {
           expectedActionAmount.toDouble(), expectedRemainingAmount2.toDouble())))));
   }
 
+  @ParameterizedTest
+  @MethodSource("parameters")
+  public void nothingIsSavedWhenOneOfFeeFineActionsCanNotBeSaved(Action action) {
+    postAccount(createAccount(FIRST_ACCOUNT_ID, 2.0));
+    postAccount(createAccount(SECOND_ACCOUNT_ID, 1.5));
+
+    String actionsTable = PostgresClient.convertToPsqlStandard(TENANT_NAME) + "."
+      + FEE_FINE_ACTIONS;
+    get(pgClient.execute(format("ALTER TABLE %s ADD CONSTRAINT reject_second_account " +
+      "CHECK (jsonb->>'accountId' <> '%s')", actionsTable, SECOND_ACCOUNT_ID)));
+
+    try {
+      getClient(action).post(createRequestJson("3.00", TWO_ACCOUNT_IDS))
+        .then()
+        .statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+    } finally {
+      get(pgClient.execute(format("ALTER TABLE %s DROP CONSTRAINT reject_second_account",
+        actionsTable)));
+    }
+
+    actionsClient.getAll()
+      .then()
+      .body(FEE_FINE_ACTIONS, hasSize(0));
+
+    accountsClient.getById(FIRST_ACCOUNT_ID)
+      .then()
+      .body("remaining", is(2.0f))
+      .body("paymentStatus.name", is(OUTSTANDING.value()));
+
+    accountsClient.getById(SECOND_ACCOUNT_ID)
+      .then()
+      .body("remaining", is(1.5f))
+      .body("paymentStatus.name", is(OUTSTANDING.value()));
+  }
+
   private Account createAccount(String accountId, double amount) {
     return new Account()
       .withId(accountId)
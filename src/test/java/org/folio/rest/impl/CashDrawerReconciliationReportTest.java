@@ -249,6 +249,79 @@ public class CashDrawerReconciliationReportTest extends FeeFineReportsAPITestBas
           buildReportTotalsEntry(FEE_FINE_OWNER_TOTALS, "16.00", "4")))));
   }
 
+  @Test
+  public void statsOnlyReportMatchesFullReportStats() {
+    Account account1 = charge(USER_ID_1, 10.0, FEE_FINE_TYPE_1, null, OWNER_ID_1, OWNER_1);
+    Account account2 = charge(USER_ID_2, 10.0, FEE_FINE_TYPE_2, null, OWNER_ID_2, OWNER_2);
+
+    createAction(USER_ID_1, 1, account1, withTenantTz("2019-12-31 23:59:59"), PAID_PARTIALLY,
+      PAYMENT_METHOD_1, 3.0, 7.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO,
+      CREATED_AT, SOURCE_1);
+    createAction(USER_ID_1, 2, account1, withTenantTz("2020-01-01 00:00:00"), PAID_PARTIALLY,
+      PAYMENT_METHOD_1, 3.0, 4.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO,
+      CREATED_AT, SOURCE_1);
+    createAction(USER_ID_1, 3, account1, withTenantTz("2020-01-01 00:30:00"), PAID_FULLY,
+      PAYMENT_METHOD_2, 4.0, 0.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO,
+      CREATED_AT, SOURCE_2);
+    createAction(USER_ID_2, 4, account2, withTenantTz("2020-01-15 23:59:59"), PAID_PARTIALLY,
+      PAYMENT_METHOD_2, 5.0, 5.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO,
+      CREATED_AT, SOURCE_1);
+    createAction(USER_ID_2, 5, account2, withTenantTz("2020-01-10 12:00:00"), PAID_PARTIALLY,
+      PAYMENT_METHOD_2, 1.0, 4.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO,
+      randomId(), SOURCE_1);
+    createAction(USER_ID_2, 6, account2, withTenantTz("2020-01-16 00:00:00"), PAID_PARTIALLY,
+      PAYMENT_METHOD_2, 1.0, 3.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO,
+      CREATED_AT, SOURCE_1);
+
+    for (List<String> sources : List.of(List.<String>of(), List.of(SOURCE_1))) {
+      CashDrawerReconciliationReport fullReport = requestReport(START_DATE, END_DATE, CREATED_AT,
+        sources).as(CashDrawerReconciliationReport.class);
+
+      reportClient.getCashDrawerReconciliationReportStats(START_DATE, END_DATE, CREATED_AT,
+          sources)
+        .then()
+        .body(cashDrawerReconciliationReportMatcher(new CashDrawerReconciliationReport()
+          .withReportData(List.of())
+          .withReportStats(fullReport.getReportStats())));
+    }
+  }
+
+  @Test
+  public void statsOnlyReportMatchesFullReportStatsAfterAccountsChange() {
+    Account editedAccount = charge(USER_ID_1, 10.0, FEE_FINE_TYPE_1, null, OWNER_ID_1, OWNER_1);
+    Account deletedAccount = charge(USER_ID_2, 10.0, FEE_FINE_TYPE_2, null, OWNER_ID_2, OWNER_2);
+    Account lateAccount = EntityBuilder.buildAccount(USER_ID_2, null, FEE_FINE_TYPE_2, 10.0,
+      OWNER_ID_2, OWNER_2);
+
+    createAction(USER_ID_1, 1, editedAccount, withTenantTz("2020-01-01 00:30:00"),
+      PAID_PARTIALLY, PAYMENT_METHOD_1, 3.0, 7.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO,
+      PAYMENT_TX_INFO, CREATED_AT, SOURCE_1);
+    createAction(USER_ID_2, 2, deletedAccount, withTenantTz("2020-01-02 12:00:00"),
+      PAID_PARTIALLY, PAYMENT_METHOD_2, 4.0, 6.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO,
+      PAYMENT_TX_INFO, CREATED_AT, SOURCE_1);
+    // payment posted before its account exists
+    createAction(USER_ID_2, 3, lateAccount, withTenantTz("2020-01-03 12:00:00"),
+      PAID_PARTIALLY, PAYMENT_METHOD_2, 5.0, 5.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO,
+      PAYMENT_TX_INFO, CREATED_AT, SOURCE_2);
+
+    createEntity(ACCOUNTS_PATH, lateAccount);
+    replaceEntity(ACCOUNTS_PATH, accountsClient.getById(editedAccount.getId())
+      .as(Account.class)
+      .withFeeFineOwner(OWNER_2)
+      .withFeeFineType(FEE_FINE_TYPE_2));
+    deleteEntity(ACCOUNTS_PATH, deletedAccount.getId());
+
+    CashDrawerReconciliationReport fullReport = requestReport(START_DATE, END_DATE, CREATED_AT,
+      List.of()).as(CashDrawerReconciliationReport.class);
+
+    reportClient.getCashDrawerReconciliationReportStats(START_DATE, END_DATE, CREATED_AT,
+        List.of())
+      .then()
+      .body(cashDrawerReconciliationReportMatcher(new CashDrawerReconciliationReport()
+        .withReportData(List.of())
+        .withReportStats(fullReport.getReportStats())));
+  }
+
   @Test
   public void validReportSourcesWhenPaymentsExist() {
     Account account1 = charge(USER_ID_1, 10.0, FEE_FINE_TYPE_1, null, OWNER_ID_1, OWNER_1);
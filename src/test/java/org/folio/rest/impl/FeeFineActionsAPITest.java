@@ -586,6 +586,32 @@ public class FeeFineActionsAPITest extends ApiTests {
       .body("feefineactions", hasItem(FeeFineActionMatchers.feeFineAction(firstAction)));
   }
 
+  @Test
+  public void fieldsCopiedToReportColumnsAreReturnedUnchanged() {
+    postAction(action).then()
+      .statusCode(HttpStatus.SC_CREATED);
+
+    JsonObject actions = new JsonObject(getAll(ServicePath.ACTIONS_PATH).then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().asString());
+    assertThat(actions.getJsonArray("feefineactions").size(), is(1));
+    assertThatReportFieldsAreReturned(actions.getJsonArray("feefineactions").getJsonObject(0));
+
+    assertThatReportFieldsAreReturned(new JsonObject(
+      getById(ServicePath.ACTIONS_PATH, action.getId()).then()
+        .statusCode(HttpStatus.SC_OK)
+        .extract().asString()));
+  }
+
+  private void assertThatReportFieldsAreReturned(JsonObject fetchedAction) {
+    assertThat(fetchedAction.getString("typeAction"), is(action.getTypeAction()));
+    assertThat(fetchedAction.getString("source"), is(action.getSource()));
+    assertThat(fetchedAction.getString("createdAt"), is(action.getCreatedAt()));
+    assertThat(fetchedAction.getString("accountId"), is(action.getAccountId()));
+    assertThat(new DateTime(fetchedAction.getString("dateAction")).getMillis(),
+      is(action.getDateAction().getTime()));
+  }
+
   private String createFeeFineActionJson(String dateAction, String typeAction, boolean notify,
     MonetaryValue amountAction, MonetaryValue balance, String accountId, String userId) {
 
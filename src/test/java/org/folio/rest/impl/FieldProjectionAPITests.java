@@ -0,0 +1,178 @@
+package org.folio.rest.impl;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static io.restassured.http.ContentType.JSON;
+import static org.folio.rest.jaxrs.model.PaymentStatus.Name.OUTSTANDING;
+import static org.folio.test.support.EntityBuilder.buildManualBlock;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+
+import org.apache.http.HttpStatus;
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.Manualblock;
+import org.folio.rest.jaxrs.model.PaymentStatus;
+import org.folio.rest.jaxrs.model.Status;
+import org.folio.test.support.ApiTests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class FieldProjectionAPITests extends ApiTests {
+  private static final String USER_ID = randomId();
+
+  @BeforeEach
+  public void beforeEach() {
+    removeAllFromTable(ACCOUNTS_TABLE);
+    removeAllFromTable("manualblocks");
+  }
+
+  @Test
+  public void onlyRequestedFieldsOfAccountsAreReturned() {
+    Account firstAccount = createAccount(2.0);
+    Account secondAccount = createAccount(1.0);
+    accountsClient.create(firstAccount);
+    accountsClient.create(secondAccount);
+    accountsClient.create(createAccount(3.0).withUserId(randomId()));
+
+    getProjected("/accounts", "userId==" + USER_ID + " sortBy remaining",
+      "id, remaining,status")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .contentType(JSON)
+      .body("totalRecords", is(2))
+      .body("accounts", hasSize(2))
+      .body("accounts.id", contains(secondAccount.getId(), firstAccount.getId()))
+      .body("accounts[0]", aMapWithSize(3))
+      .body("accounts[0].remaining", is(1.0f))
+      .body("accounts[0].status.name", is("Open"))
+      .body("accounts[0].userId", nullValue());
+  }
+
+  @Test
+  public void holdingsAndInstanceOfLegacyAccountsAreLookedUp() {
+    String holdingsRecordId = "65cb2bf0-d4c2-4886-8ad0-b76f1ba75d61";
+    String instanceId = "cd28da0f-a3e4-465c-82f1-acade4e8e170";
+    Account legacyAccount = createAccount(1.0).withItemId(randomId());
+    Account account = createAccount(2.0)
+      .withItemId(randomId())
+      .withHoldingsRecordId(randomId())
+      .withInstanceId(randomId());
+
+    getOkapi().stubFor(WireMock.get(urlPathEqualTo("/item-storage/items"))
+      .willReturn(aResponse().withBody(new JsonObject()
+        .put("items", new JsonArray().add(new JsonObject()
+          .put("id", legacyAccount.getItemId())
+          .put("holdingsRecordId", holdingsRecordId)))
+        .put("totalRecords", 1)
+        .encode())));
+    getOkapi().stubFor(WireMock.get(urlPathMatching("/holdings-storage/holdings.*"))
+      .willReturn(aResponse().withBodyFile("holdings.json")));
+
+    accountsClient.create(legacyAccount);
+    accountsClient.create(account);
+
+    getProjected("/accounts", "userId==" + USER_ID + " sortBy remaining",
+      "id,holdingsRecordId,instanceId")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("accounts.id", contains(legacyAccount.getId(), account.getId()))
+      .body("accounts[0]", aMapWithSize(3))
+      .body("accounts[0].holdingsRecordId", is(holdingsRecordId))
+      .body("accounts[0].instanceId", is(instanceId))
+      .body("accounts[1]", aMapWithSize(3))
+      .body("accounts[1].holdingsRecordId", is(account.getHoldingsRecordId()))
+      .body("accounts[1].instanceId", is(account.getInstanceId()));
+  }
+
+  @Test
+  public void missingFieldsAreOmitted() {
+    Manualblock manualBlock = buildManualBlock();
+    manualBlocksClient.create(manualBlock);
+
+    getProjected("/manualblocks", null, "id,notExistingField")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("manualblocks", hasSize(1))
+      .body("manualblocks[0]", aMapWithSize(1))
+      .body("manualblocks[0].id", is(manualBlock.getId()));
+  }
+
+  @Test
+  public void nestedNullValuesAreKept() {
+    String manualBlockId = randomId();
+    get(pgClient.save("manualblocks", manualBlockId, new JsonObject()
+      .put("id", manualBlockId)
+      .putNull("desc")
+      .put("metadata", new JsonObject()
+        .put("createdDate", "2020-01-01T00:00:00.000+00:00")
+        .putNull("updatedByUserId"))));
+
+    getProjected("/manualblocks", null, "id,desc,metadata")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("manualblocks[0]", aMapWithSize(2))
+      .body("manualblocks[0].metadata", hasKey("updatedByUserId"))
+      .body("manualblocks[0].metadata.updatedByUserId", nullValue());
+  }
+
+  @Test
+  public void return400WhenNoFieldsAreRequested() {
+    getProjected("/feefineactions", null, " , ")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST)
+      .body(is("At least one field must be requested:  , "));
+  }
+
+  @Test
+  public void return400WhenFieldsAreRequestedWithCursor() {
+    RestAssured.given()
+      .spec(getRequestSpecification())
+      .queryParam("fields", "id")
+      .queryParam("cursor", "*")
+      .when()
+      .get("/accounts")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST)
+      .body(is("fields is not supported with cursor"));
+  }
+
+  private Response getProjected(String path, String query, String fields) {
+    var request = RestAssured.given()
+      .spec(getRequestSpecification())
+      .queryParam("fields", fields)
+      .queryParam("totalRecords", "exact");
+
+    if (query != null) {
+      request.queryParam("query", query);
+    }
+
+    return request.when().get(path);
+  }
+
+  private static Account createAccount(double remaining) {
+    return new Account()
+      .withId(randomId())
+      .withOwnerId(randomId())
+      .withUserId(USER_ID)
+      .withFeeFineId(randomId())
+      .withFeeFineType("Overdue fine")
+      .withFeeFineOwner("owner")
+      .withAmount(new MonetaryValue(remaining))
+      .withRemaining(new MonetaryValue(remaining))
+      .withPaymentStatus(new PaymentStatus().withName(OUTSTANDING))
+      .withStatus(new Status().withName("Open"));
+  }
+}
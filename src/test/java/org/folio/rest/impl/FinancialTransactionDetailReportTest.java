@@ -2,6 +2,8 @@ package org.folio.rest.impl;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.folio.HttpStatus.HTTP_OK;
 import static org.folio.HttpStatus.HTTP_UNPROCESSABLE_ENTITY;
 import static org.folio.rest.utils.ResourceClients.buildFinancialTransactionsDetailReportClient;
@@ -25,18 +27,26 @@ import static org.folio.test.support.matcher.constant.ServicePath.USERS_PATH;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableWithSize.iterableWithSize;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.HttpStatus;
+import org.awaitility.Awaitility;
 import org.folio.rest.domain.MonetaryValue;
 import org.folio.rest.jaxrs.model.Account;
 import org.folio.rest.jaxrs.model.Feefineaction;
 import org.folio.rest.jaxrs.model.FinancialTransactionsDetailReport;
 import org.folio.rest.jaxrs.model.FinancialTransactionsDetailReportEntry;
+import org.folio.rest.jaxrs.model.FinancialTransactionsDetailReportRequest;
 import org.folio.rest.jaxrs.model.FinancialTransactionsDetailReportStats;
 import org.folio.rest.jaxrs.model.HoldingsRecord;
 import org.folio.rest.jaxrs.model.Instance;
@@ -46,6 +56,7 @@ import org.folio.rest.jaxrs.model.LoanPolicy;
 import org.folio.rest.jaxrs.model.Location;
 import org.folio.rest.jaxrs.model.LostItemFeePolicy;
 import org.folio.rest.jaxrs.model.OverdueFinePolicy;
+import org.folio.rest.jaxrs.model.ReportJobRequest;
 import org.folio.rest.jaxrs.model.ReportTotalsEntry;
 import org.folio.rest.jaxrs.model.ServicePoint;
 import org.folio.rest.jaxrs.model.User;
@@ -60,7 +71,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 
+import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 public class FinancialTransactionDetailReportTest extends FeeFineReportsAPITestBase {
   private static final String START_DATE = "2020-01-01";
@@ -128,6 +142,11 @@ public class FinancialTransactionDetailReportTest extends FeeFineReportsAPITestB
 //  public static final String QUERY_BY_IDS_REGEX = "\\?query=id==\\(.+\\)&limit=\\d+";
   public static final String QUERY_BY_IDS_REGEX = "\\\\?.*";
 
+  private static final String REPORT_JOBS_PATH = "/feefine-reports/jobs";
+  private static final String PERMISSIONS_HEADER = "x-okapi-permissions";
+  private static final String REPORT_PERMISSION = "feefine-reports.financial-transactions-detail.post";
+  private static final String CHUNK_SIZE_PROPERTY = "FINANCIAL_TRANSACTIONS_DETAIL_REPORT_CHUNK_SIZE";
+
   private final ReportResourceClient reportClient = buildFinancialTransactionsDetailReportClient();
 
   private Location location;
@@ -548,6 +567,85 @@ public class FinancialTransactionDetailReportTest extends FeeFineReportsAPITestB
       ));
   }
 
+  @Test
+  public void reportBuiltByJobChunkByChunkIsSameAsSynchronousReport() {
+    Pair<Account, Feefineaction> accountAndAction = createMinimumViableReportData();
+    createAction(USER_ID_1, 2, accountAndAction.getLeft(), withTenantTz("2020-01-01 00:20:00"),
+      WAIVED_PARTIALLY, WAIVE_REASON_1, 2.0, 5.0, WAIVE_STAFF_INFO, WAIVE_PATRON_INFO, "",
+      CREATED_AT_ID_1, SOURCE_1);
+    createAction(USER_ID_1, 3, accountAndAction.getLeft(), withTenantTz("2020-01-01 00:30:00"),
+      PAID_PARTIALLY, PAYMENT_METHOD_2, 1.0, 4.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO,
+      PAYMENT_TX_INFO, CREATED_AT_ID_1, SOURCE_1);
+
+    System.setProperty(CHUNK_SIZE_PROPERTY, "2");
+    try {
+      JsonObject expectedReport = new JsonObject(requestReport(START_DATE, END_DATE,
+        List.of(CREATED_AT_ID_1), OWNER_ID_1).asString());
+
+      String jobId = startReportJob(new ReportJobRequest()
+        .withReportType(ReportJobRequest.ReportType.FINANCIAL_TRANSACTIONS_DETAIL)
+        .withFinancialTransactionsDetailReportRequest(new FinancialTransactionsDetailReportRequest()
+          .withStartDate(START_DATE)
+          .withEndDate(END_DATE)
+          .withCreatedAt(List.of(CREATED_AT_ID_1))
+          .withFeeFineOwner(OWNER_ID_1)));
+
+      Awaitility.await()
+        .atMost(10, TimeUnit.SECONDS)
+        .until(() -> getReportJob(jobId).path("status"), is("COMPLETED"));
+
+      JsonObject jobReport = new JsonObject(getReportJob(jobId + "/result").asString());
+
+      assertThat(jobReport.getJsonArray("reportData").size(), is(3));
+      assertThat(jobReport, is(expectedReport));
+    } finally {
+      System.clearProperty(CHUNK_SIZE_PROPERTY);
+    }
+  }
+
+  @Test
+  public void entriesOfManyAccountsInOneChunkGetDataOfTheirOwnAccount() {
+    String chargeActionDate = withTenantTz("2020-01-01 00:00:01");
+    List<Account> accounts = List.of(
+      charge(USER_ID_1, 10.0, FEE_FINE_TYPE_1, item1.getId(), loan1, OWNER_ID_1, OWNER_1,
+        chargeActionDate, CREATED_AT_ID_1, SOURCE_1),
+      charge(USER_ID_2, 20.0, FEE_FINE_TYPE_2, item2.getId(), loan2, OWNER_ID_1, OWNER_1,
+        chargeActionDate, CREATED_AT_ID_1, SOURCE_1),
+      charge(USER_ID_1, 30.0, FEE_FINE_TYPE_2, item2.getId(), loan2, OWNER_ID_1, OWNER_1,
+        chargeActionDate, CREATED_AT_ID_1, SOURCE_1));
+
+    accounts.forEach(account -> createAction(account.getUserId(), 2, account,
+      withTenantTz("2020-01-01 00:10:00"), PAID_PARTIALLY, PAYMENT_METHOD_1, 1.0,
+      account.getAmount().toDouble() - 1.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO,
+      PAYMENT_TX_INFO, CREATED_AT_ID_1, SOURCE_1));
+
+    Map<String, Account> accountsById = accounts.stream()
+      .collect(toMap(Account::getId, identity()));
+    Map<String, Item> itemsById = Map.of(item1.getId(), item1, item2.getId(), item2);
+    Map<String, User> usersById = Map.of(USER_ID_1, user1, USER_ID_2, user2);
+
+    JsonArray reportData = new JsonObject(requestReport(START_DATE, END_DATE,
+      List.of(CREATED_AT_ID_1), OWNER_ID_1).asString()).getJsonArray("reportData");
+
+    Set<String> reportedAccountIds = new HashSet<>();
+    for (int i = 0; i < reportData.size(); i++) {
+      JsonObject entry = reportData.getJsonObject(i);
+      Account account = accountsById.get(entry.getString("feeFineId"));
+
+      assertThat(account, notNullValue());
+      assertThat(entry.getString("feeFineType"), is(account.getFeeFineType()));
+      assertThat(entry.getString("billedAmount"), is(account.getAmount().toString()));
+      assertThat(entry.getString("patronId"), is(account.getUserId()));
+      assertThat(entry.getString("patronBarcode"),
+        is(usersById.get(account.getUserId()).getBarcode()));
+      assertThat(entry.getString("itemBarcode"),
+        is(itemsById.get(account.getItemId()).getBarcode()));
+      reportedAccountIds.add(account.getId());
+    }
+
+    assertThat(reportedAccountIds, is(accountsById.keySet()));
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {
     "2020-01-13T01:23:45.000000+0000",
@@ -673,6 +771,27 @@ public class FinancialTransactionDetailReportTest extends FeeFineReportsAPITestB
     return reportClient.getFinancialTransactionsDetailReport(startDate, endDate, createdAt, owner);
   }
 
+  private String startReportJob(ReportJobRequest request) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .header(PERMISSIONS_HEADER, new JsonArray().add(REPORT_PERMISSION).encode())
+      .body(JsonObject.mapFrom(request).encode())
+      .when()
+      .post(REPORT_JOBS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .extract()
+      .path("id");
+  }
+
+  private Response getReportJob(String path) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .header(PERMISSIONS_HEADER, new JsonArray().add(REPORT_PERMISSION).encode())
+      .when()
+      .get(REPORT_JOBS_PATH + "/" + path);
+  }
+
   private FinancialTransactionsDetailReport emptyReport() {
     return new FinancialTransactionsDetailReport()
       .withReportData(List.of())
@@ -0,0 +1,187 @@
+package org.folio.rest.impl;
+
+import static org.folio.rest.jaxrs.model.PaymentStatus.Name.OUTSTANDING;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.http.HttpStatus;
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.Feefineaction;
+import org.folio.rest.jaxrs.model.PaymentStatus;
+import org.folio.rest.jaxrs.model.Status;
+import org.folio.test.support.ApiTests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+
+public class KeysetPaginationAPITests extends ApiTests {
+  private static final String USER_ID = randomId();
+
+  @BeforeEach
+  public void beforeEach() {
+    removeAllFromTable("feefineactions");
+    removeAllFromTable(ACCOUNTS_TABLE);
+  }
+
+  @Test
+  public void allAccountsCanBeFetchedPageByPage() {
+    List<String> accountIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Account account = createAccount();
+      accountsClient.create(account);
+      accountIds.add(account.getId());
+    }
+    accountsClient.create(createAccount().withUserId(randomId()));
+
+    List<String> fetchedIds = new ArrayList<>();
+    String cursor = "*";
+    do {
+      Response response = getPage("/accounts", "userId==" + USER_ID, cursor, 2, "exact");
+      response.then()
+        .statusCode(HttpStatus.SC_OK)
+        .body("totalRecords", is(5));
+      fetchedIds.addAll(response.path("accounts.id"));
+      cursor = response.path("nextCursor");
+    } while (cursor != null);
+
+    accountIds.sort(Comparator.naturalOrder());
+    assertEquals(accountIds, fetchedIds);
+  }
+
+  @Test
+  public void actionsArePagedInOrderOfActionDate() {
+    String accountId = randomId();
+    List<Feefineaction> actions = List.of(
+      createAction(accountId, new Date(3000)),
+      createAction(accountId, null),
+      createAction(accountId, new Date(1000)),
+      createAction(accountId, new Date(2000)));
+    actions.forEach(feeFineActionsClient::create);
+
+    Response firstPage = getPage("/feefineactions", null, "*", 3, "none");
+    firstPage.then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("feefineactions", hasSize(3))
+      .body("totalRecords", nullValue());
+
+    Response lastPage = getPage("/feefineactions", null, firstPage.path("nextCursor"), 3, "none");
+    lastPage.then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("feefineactions", hasSize(1))
+      .body("nextCursor", nullValue());
+
+    List<String> fetchedIds = new ArrayList<>(firstPage.path("feefineactions.id"));
+    fetchedIds.addAll(lastPage.path("feefineactions.id"));
+
+    assertEquals(List.of(actions.get(1), actions.get(2), actions.get(3), actions.get(0)).stream()
+      .map(Feefineaction::getId)
+      .collect(Collectors.toList()), fetchedIds);
+  }
+
+  @Test
+  public void return400WhenCursorIsInvalid() {
+    getPage("/accounts", null, "not-a-cursor", 10, "none")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST)
+      .body(is("Invalid cursor: not-a-cursor"));
+  }
+
+  @Test
+  public void return400WhenSortIsRequestedWithCursor() {
+    getPage("/feefineactions", "cql.allRecords=1 sortBy dateAction", "*", 10, "none")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST);
+  }
+
+  @Test
+  public void return400WhenOffsetIsRequestedWithCursor() {
+    RestAssured.given()
+      .spec(getRequestSpecification())
+      .queryParam("cursor", "*")
+      .queryParam("offset", 10)
+      .when()
+      .get("/feefineactions")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST)
+      .body(is("offset is not supported with cursor"));
+  }
+
+  @Test
+  public void return400WhenFacetsAreRequestedWithCursor() {
+    RestAssured.given()
+      .spec(getRequestSpecification())
+      .queryParam("cursor", "*")
+      .queryParam("facets", "feeFineType:10")
+      .when()
+      .get("/accounts")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST)
+      .body(is("facets is not supported with cursor"));
+  }
+
+  @Test
+  public void totalRecordsAreReturnedWithoutCursor() {
+    accountsClient.create(createAccount());
+
+    RestAssured.given()
+      .spec(getRequestSpecification())
+      .when()
+      .get("/accounts")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("totalRecords", is(1))
+      .body("nextCursor", nullValue());
+  }
+
+  private Response getPage(String path, String query, String cursor, int limit,
+    String totalRecords) {
+
+    var request = RestAssured.given()
+      .spec(getRequestSpecification())
+      .queryParam("cursor", cursor)
+      .queryParam("limit", limit)
+      .queryParam("totalRecords", totalRecords);
+
+    if (query != null) {
+      request.queryParam("query", query);
+    }
+
+    return request.when().get(path);
+  }
+
+  private static Account createAccount() {
+    return new Account()
+      .withId(randomId())
+      .withOwnerId(randomId())
+      .withUserId(USER_ID)
+      .withFeeFineId(randomId())
+      .withFeeFineType("Overdue fine")
+      .withFeeFineOwner("owner")
+      .withAmount(new MonetaryValue(1.0))
+      .withRemaining(new MonetaryValue(1.0))
+      .withPaymentStatus(new PaymentStatus().withName(OUTSTANDING))
+      .withStatus(new Status().withName("Open"));
+  }
+
+  private static Feefineaction createAction(String accountId, Date dateAction) {
+    return new Feefineaction()
+      .withId(randomId())
+      .withAccountId(accountId)
+      .withUserId(USER_ID)
+      .withTypeAction("Overdue fine")
+      .withDateAction(dateAction)
+      .withAmountAction(new MonetaryValue(1.0))
+      .withBalance(new MonetaryValue(1.0));
+  }
+}
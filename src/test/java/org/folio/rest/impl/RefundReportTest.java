@@ -1,5 +1,8 @@
 package org.folio.rest.impl;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static java.lang.String.format;
 import static org.folio.HttpStatus.HTTP_OK;
 import static org.folio.HttpStatus.HTTP_UNPROCESSABLE_ENTITY;
@@ -96,7 +99,7 @@ public class RefundReportTest extends FeeFineReportsAPITestBase {
   private Item item2;
   private Instance instance;
 
-  private StubMapping user1StubMapping;
+  private StubMapping usersStubMapping;
   private StubMapping userGroupStubMapping;
   private StubMapping itemStubMapping;
   private StubMapping holdingsStubMapping;
@@ -116,18 +119,20 @@ public class RefundReportTest extends FeeFineReportsAPITestBase {
     item1 = buildItem(holdingsRecord, location);
     item2 = buildItem(holdingsRecord, location).withBarcode("item2-barcode");
 
-    itemStubMapping = createStub(ServicePath.ITEMS_PATH, item1, item1.getId());
-    createStub(ServicePath.ITEMS_PATH, item2, item2.getId());
-    holdingsStubMapping = createStub(HOLDINGS_PATH, holdingsRecord, holdingsRecord.getId());
-    instanceStubMapping = createStub(INSTANCES_PATH, instance, instance.getId());
+    itemStubMapping = createStubForCollection(ServicePath.ITEMS_PATH, List.of(item1, item2),
+      "items");
+    holdingsStubMapping = createStubForCollection(HOLDINGS_PATH, List.of(holdingsRecord),
+      "holdingsRecords");
+    instanceStubMapping = createStubForCollection(INSTANCES_PATH, List.of(instance),
+      "instances");
 
     userGroup = EntityBuilder.buildUserGroup();
-    userGroupStubMapping = createStub(USERS_GROUPS_PATH, userGroup, userGroup.getId());
+    userGroupStubMapping = createStubForCollection(USERS_GROUPS_PATH, List.of(userGroup),
+      "usergroups");
 
     user1 = EntityBuilder.buildUser()
       .withId(USER_ID_1)
       .withPatronGroup(userGroup.getId());
-    user1StubMapping = createStub(USERS_PATH, user1, USER_ID_1);
 
     user2 = EntityBuilder.buildUser()
       .withId(USER_ID_2)
@@ -137,7 +142,7 @@ public class RefundReportTest extends FeeFineReportsAPITestBase {
         .withMiddleName("Middle2"))
       .withBarcode("77777")
       .withPatronGroup(userGroup.getId());
-    createStub(USERS_PATH, user2, USER_ID_2);
+    usersStubMapping = createStubForCollection(USERS_PATH, List.of(user1, user2), "users");
   }
 
   @Test
@@ -211,7 +216,7 @@ public class RefundReportTest extends FeeFineReportsAPITestBase {
   public void returnsResultWhenUserDoesNotExist() {
     ReportSourceObjects sourceObjects = createMinimumViableReportData();
 
-    removeStub(user1StubMapping);
+    removeStub(usersStubMapping);
 
     assert sourceObjects.account != null;
     requestRefundReport(START_DATE, END_DATE).then()
@@ -528,6 +533,39 @@ public class RefundReportTest extends FeeFineReportsAPITestBase {
     ));
   }
 
+  @Test
+  public void referenceDataIsFetchedOncePerTypeForAllRefundedAccounts() {
+    Account account1 = charge(10.0, "ff-type-1", item1.getId());
+    createAction(1, account1, "2020-01-01 12:00:00", PAID_FULLY, PAYMENT_METHOD,
+      10.0, 0.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO);
+    Feefineaction refundAction1 = createAction(1, account1, "2020-01-02 12:00:00",
+      REFUNDED_FULLY, REFUND_REASON, 10.0, 0.0, REFUND_STAFF_INFO, REFUND_PATRON_INFO,
+      REFUND_TX_INFO);
+
+    Account account2 = charge(USER_ID_2, 5.0, "ff-type-2", item2.getId(), OWNER_ID_1);
+    createAction(USER_ID_2, 1, account2, "2020-01-03 12:00:00", PAID_FULLY, PAYMENT_METHOD,
+      5.0, 0.0, PAYMENT_STAFF_INFO, PAYMENT_PATRON_INFO, PAYMENT_TX_INFO);
+    Feefineaction refundAction2 = createAction(USER_ID_2, 1, account2, "2020-01-04 12:00:00",
+      REFUNDED_FULLY, REFUND_REASON, 5.0, 0.0, REFUND_STAFF_INFO, REFUND_PATRON_INFO,
+      REFUND_TX_INFO);
+
+    requestAndCheck(List.of(
+      buildRefundReportEntry(account1, refundAction1,
+        "10.00", PAYMENT_METHOD, PAYMENT_TX_INFO, "0.00", "",
+        addSuffix(REFUND_STAFF_INFO, 1), addSuffix(REFUND_PATRON_INFO, 1),
+        item1.getBarcode(), instance.getTitle(), FEE_FINE_OWNER),
+      buildRefundReportEntry(user2, account2, refundAction2,
+        "5.00", PAYMENT_METHOD, PAYMENT_TX_INFO, "0.00", "",
+        addSuffix(REFUND_STAFF_INFO, 1), addSuffix(REFUND_PATRON_INFO, 1),
+        item2.getBarcode(), instance.getTitle(), FEE_FINE_OWNER)));
+
+    List.of(USERS_PATH, USERS_GROUPS_PATH, ServicePath.ITEMS_PATH, HOLDINGS_PATH, INSTANCES_PATH)
+      .forEach(path -> {
+        getOkapi().verify(1, getRequestedFor(urlPathEqualTo(path)));
+        getOkapi().verify(0, getRequestedFor(urlPathMatching(path + "/.+")));
+      });
+  }
+
   @Test
   public void shouldFormReportOnlyForSpecificOwner() {
     Account account1 = charge(USER_ID_1, 10.0, "ff-type-1", item1.getId(), OWNER_ID_1);
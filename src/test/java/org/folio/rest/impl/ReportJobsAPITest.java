@@ -0,0 +1,288 @@
+package org.folio.rest.impl;
+
+import static io.restassured.http.ContentType.JSON;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.http.HttpStatus;
+import org.awaitility.Awaitility;
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.CashDrawerReconciliationReportRequest;
+import org.folio.rest.jaxrs.model.ReportJob;
+import org.folio.rest.jaxrs.model.ReportJobRequest;
+import org.folio.rest.service.JobHeartbeatService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class ReportJobsAPITest extends FeeFineReportsAPITestBase {
+  private static final String JOBS_PATH = "/feefine-reports/jobs";
+  private static final String REPORT_JOBS_TABLE = "report_jobs";
+  private static final String PERMISSIONS_HEADER = "x-okapi-permissions";
+  private static final String CASH_DRAWER_PERMISSION =
+    "feesfines.feefine-reports.cash-drawer-reconciliation.post";
+
+  private static final String USER_ID = randomId();
+  private static final String OWNER_ID = randomId();
+  private static final String CREATED_AT = randomId();
+  private static final String SOURCE = "Source";
+
+  @BeforeEach
+  public void setUp() {
+    clearDatabase();
+    removeAllFromTable(REPORT_JOBS_TABLE);
+    createLocaleSettingsStub();
+  }
+
+  @Test
+  public void completedJobResultCanBeDownloaded() {
+    Account account = charge(USER_ID, 10.0, "Fee/fine type", null, OWNER_ID);
+    createAction(USER_ID, 1, account, withTenantTz("2020-01-02 12:00:00"), PAID_PARTIALLY,
+      "Cash", 3.0, 7.0, "", "", "", CREATED_AT, SOURCE);
+
+    String jobId = startJob(cashDrawerReconciliationJob("2020-01-01", "2020-01-15"),
+      CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .contentType(JSON)
+      .body("reportType", is("cash-drawer-reconciliation"))
+      .extract()
+      .path("id");
+
+    Awaitility.await()
+      .atMost(10, TimeUnit.SECONDS)
+      .until(() -> getJob(jobId).path("status"), is("COMPLETED"));
+
+    getResult(jobId, CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .contentType(JSON)
+      .header("Content-Encoding", "gzip")
+      .body("reportData", hasSize(1))
+      .body("reportData[0].paidAmount", is("3.00"));
+  }
+
+  @Test
+  public void return403WhenReportPermissionIsMissing() {
+    startJob(cashDrawerReconciliationJob("2020-01-01", "2020-01-15"),
+      "feefine-reports.refund.post")
+      .then()
+      .statusCode(HttpStatus.SC_FORBIDDEN)
+      .contentType(ContentType.TEXT)
+      .body(is("Access requires permission: " + CASH_DRAWER_PERMISSION));
+  }
+
+  @Test
+  public void return403WhenReportPermissionIsMissingForJobOrResult() {
+    ReportJob job = saveJob(reportJob(ReportJob.Status.COMPLETED));
+
+    getJob(job.getId(), "feefine-reports.refund.post")
+      .then()
+      .statusCode(HttpStatus.SC_FORBIDDEN)
+      .contentType(ContentType.TEXT)
+      .body(is("Access requires permission: " + CASH_DRAWER_PERMISSION));
+
+    getResult(job.getId(), "feefine-reports.refund.post")
+      .then()
+      .statusCode(HttpStatus.SC_FORBIDDEN)
+      .contentType(ContentType.TEXT)
+      .body(is("Access requires permission: " + CASH_DRAWER_PERMISSION));
+  }
+
+  @Test
+  public void identicalRequestReturnsRunningJob() {
+    ReportJobRequest request = cashDrawerReconciliationJob("2020-01-01", "2020-01-15");
+    String requestHash = startCompletedJob(request).getRequestHash();
+    ReportJob runningJob = saveJob(reportJob(ReportJob.Status.IN_PROGRESS)
+      .withRequestHash(requestHash));
+
+    startJob(request, CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .body("id", is(runningJob.getId()))
+      .body("status", is("IN_PROGRESS"));
+  }
+
+  @Test
+  public void identicalConcurrentRequestsStartOneJob() throws Exception {
+    ReportJobRequest request = cashDrawerReconciliationJob("2020-01-01", "2020-01-15");
+
+    List<CompletableFuture<String>> jobIds = IntStream.range(0, 5)
+      .mapToObj(i -> CompletableFuture.supplyAsync(() -> startJob(request, CASH_DRAWER_PERMISSION)
+        .then()
+        .statusCode(HttpStatus.SC_ACCEPTED)
+        .extract()
+        .<String>path("id")))
+      .collect(Collectors.toList());
+
+    Set<String> distinctJobIds = new HashSet<>();
+    for (CompletableFuture<String> jobId : jobIds) {
+      distinctJobIds.add(jobId.get(10, TimeUnit.SECONDS));
+    }
+
+    assertThat(distinctJobIds, hasSize(1));
+  }
+
+  @Test
+  public void interruptedJobIsFailedInsteadOfReturnedForIdenticalRequest() {
+    ReportJobRequest request = cashDrawerReconciliationJob("2020-01-01", "2020-01-15");
+    String requestHash = startCompletedJob(request).getRequestHash();
+    ReportJob interruptedJob = saveJob(reportJob(ReportJob.Status.IN_PROGRESS)
+      .withRequestHash(requestHash)
+      .withHeartbeatDate(hoursAgo(1)));
+
+    startJob(request, CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .body("id", not(interruptedJob.getId()));
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> getJob(interruptedJob.getId()).path("status"), is("FAILED"));
+  }
+
+  @Test
+  public void interruptedJobsAreFailedOnStart() {
+    ReportJob interruptedJob = saveJob(reportJob(ReportJob.Status.IN_PROGRESS)
+      .withHeartbeatDate(hoursAgo(1)));
+    ReportJob runningJob = saveJob(reportJob(ReportJob.Status.IN_PROGRESS));
+
+    get(JobHeartbeatService.failInterruptedJobs(vertx));
+
+    getJob(interruptedJob.getId())
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("status", is("FAILED"))
+      .body("errorMessage", is("Job was interrupted, e.g. by a module restart"));
+    getJob(runningJob.getId())
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("status", is("IN_PROGRESS"));
+  }
+
+  @Test
+  public void expiredJobIsDeletedWhenNewJobIsRequested() {
+    ReportJob expiredJob = saveJob(reportJob(ReportJob.Status.COMPLETED)
+      .withExpirationDate(hoursAgo(1)));
+
+    startJob(cashDrawerReconciliationJob("2020-01-01", "2020-01-15"), CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED);
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> getJob(expiredJob.getId()).getStatusCode(), is(HttpStatus.SC_NOT_FOUND));
+  }
+
+  @Test
+  public void return422WhenReportParametersAreInvalid() {
+    startJob(cashDrawerReconciliationJob("not-a-date", "2020-01-15"), CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+      .body(is("Invalid startDate or endDate parameter"));
+
+    startJob(new ReportJobRequest()
+      .withReportType(ReportJobRequest.ReportType.CASH_DRAWER_RECONCILIATION),
+      CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+      .body(is("Report parameters are missing"));
+  }
+
+  @Test
+  public void return404WhenJobDoesNotExist() {
+    getJob(randomId())
+      .then()
+      .statusCode(HttpStatus.SC_NOT_FOUND);
+  }
+
+  private Response startJob(ReportJobRequest request, String permission) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .header(PERMISSIONS_HEADER, new JsonArray().add(permission).encode())
+      .body(JsonObject.mapFrom(request).encodePrettily())
+      .when()
+      .post(JOBS_PATH);
+  }
+
+  private ReportJob startCompletedJob(ReportJobRequest request) {
+    String jobId = startJob(request, CASH_DRAWER_PERMISSION)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .extract()
+      .path("id");
+
+    Awaitility.await()
+      .atMost(10, TimeUnit.SECONDS)
+      .until(() -> getJob(jobId).path("status"), is("COMPLETED"));
+
+    return getJob(jobId).as(ReportJob.class);
+  }
+
+  private Response getJob(String jobId) {
+    return getJob(jobId, CASH_DRAWER_PERMISSION);
+  }
+
+  private Response getJob(String jobId, String permission) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .header(PERMISSIONS_HEADER, new JsonArray().add(permission).encode())
+      .when()
+      .get(JOBS_PATH + "/" + jobId);
+  }
+
+  private Response getResult(String jobId, String permission) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .header(PERMISSIONS_HEADER, new JsonArray().add(permission).encode())
+      .when()
+      .get(JOBS_PATH + "/" + jobId + "/result");
+  }
+
+  private ReportJob saveJob(ReportJob job) {
+    get(pgClient.save(REPORT_JOBS_TABLE, job.getId(), job));
+    return job;
+  }
+
+  private static ReportJob reportJob(ReportJob.Status status) {
+    Date now = new Date();
+
+    return new ReportJob()
+      .withId(randomId())
+      .withReportType(ReportJob.ReportType.CASH_DRAWER_RECONCILIATION)
+      .withStatus(status)
+      .withRequestHash(randomId())
+      .withStartedDate(now)
+      .withHeartbeatDate(now)
+      .withExpirationDate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+  }
+
+  private static Date hoursAgo(int hours) {
+    return new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours));
+  }
+
+  private static ReportJobRequest cashDrawerReconciliationJob(String startDate, String endDate) {
+    return new ReportJobRequest()
+      .withReportType(ReportJobRequest.ReportType.CASH_DRAWER_RECONCILIATION)
+      .withCashDrawerReconciliationReportRequest(new CashDrawerReconciliationReportRequest()
+        .withStartDate(startDate)
+        .withEndDate(endDate)
+        .withCreatedAt(CREATED_AT));
+  }
+}
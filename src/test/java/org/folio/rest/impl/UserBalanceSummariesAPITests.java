@@ -0,0 +1,129 @@
+package org.folio.rest.impl;
+
+import static io.restassured.http.ContentType.JSON;
+import static org.folio.rest.jaxrs.model.PaymentStatus.Name.OUTSTANDING;
+import static org.folio.rest.jaxrs.model.PaymentStatus.Name.PAID_FULLY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.util.List;
+
+import org.apache.http.HttpStatus;
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.PaymentStatus;
+import org.folio.rest.jaxrs.model.Status;
+import org.folio.rest.jaxrs.model.UserBalanceSummariesRequest;
+import org.folio.test.support.ApiTests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonObject;
+
+public class UserBalanceSummariesAPITests extends ApiTests {
+  private static final String SUMMARIES_PATH = "/user-balance-summaries";
+  private static final String USER_ID = randomId();
+  private static final String FIRST_OWNER_ID = randomId();
+  private static final String SECOND_OWNER_ID = randomId();
+
+  @BeforeEach
+  public void beforeEach() {
+    removeAllFromTable(ACCOUNTS_TABLE);
+  }
+
+  @Test
+  public void summaryFollowsChangesOfAccounts() {
+    Account firstAccount = createAccount(FIRST_OWNER_ID, "Owner 1", 3.0);
+    Account secondAccount = createAccount(FIRST_OWNER_ID, "Owner 1", 2.0);
+    Account thirdAccount = createAccount(SECOND_OWNER_ID, "Owner 2", 4.5);
+    accountsClient.create(firstAccount);
+    accountsClient.create(secondAccount);
+    accountsClient.create(thirdAccount);
+
+    getSummary(USER_ID)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .contentType(JSON)
+      .body("userId", is(USER_ID))
+      .body("openCount", is(3))
+      .body("totalRemaining", is(9.5f))
+      .body("owners", hasSize(2))
+      .body("owners[0].ownerId", is(FIRST_OWNER_ID))
+      .body("owners[0].feeFineOwner", is("Owner 1"))
+      .body("owners[0].openCount", is(2))
+      .body("owners[0].totalRemaining", is(5.0f))
+      .body("owners[1].ownerId", is(SECOND_OWNER_ID))
+      .body("owners[1].totalRemaining", is(4.5f));
+
+    accountsClient.update(firstAccount.getId(), firstAccount
+      .withRemaining(new MonetaryValue(0.0))
+      .withPaymentStatus(new PaymentStatus().withName(PAID_FULLY))
+      .withStatus(new Status().withName("Closed")));
+    accountsClient.delete(thirdAccount.getId());
+
+    getSummary(USER_ID)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("openCount", is(1))
+      .body("totalRemaining", is(2.0f))
+      .body("owners", hasSize(1))
+      .body("owners[0].ownerId", is(FIRST_OWNER_ID));
+  }
+
+  @Test
+  public void zeroSummaryWhenUserHasNoOpenFeesFines() {
+    getSummary(randomId())
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("openCount", is(0))
+      .body("totalRemaining", is(0.0f))
+      .body("oldestOpenDate", nullValue())
+      .body("owners", empty());
+  }
+
+  @Test
+  public void batchReturnsSummaryForEveryUser() {
+    String userWithoutFeesFines = randomId();
+    accountsClient.create(createAccount(FIRST_OWNER_ID, "Owner 1", 3.0));
+
+    RestAssured.given()
+      .spec(getRequestSpecification())
+      .body(JsonObject.mapFrom(new UserBalanceSummariesRequest()
+        .withUserIds(List.of(userWithoutFeesFines, USER_ID))).encodePrettily())
+      .when()
+      .post(SUMMARIES_PATH + "/batch")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("totalRecords", is(2))
+      .body("userBalanceSummaries[0].userId", is(userWithoutFeesFines))
+      .body("userBalanceSummaries[0].openCount", is(0))
+      .body("userBalanceSummaries[1].userId", is(USER_ID))
+      .body("userBalanceSummaries[1].openCount", is(1))
+      .body("userBalanceSummaries[1].totalRemaining", is(3.0f));
+  }
+
+  private Response getSummary(String userId) {
+    return RestAssured.given()
+      .spec(getRequestSpecification())
+      .when()
+      .get(SUMMARIES_PATH + "/" + userId);
+  }
+
+  private static Account createAccount(String ownerId, String ownerName, double amount) {
+    return new Account()
+      .withId(randomId())
+      .withOwnerId(ownerId)
+      .withFeeFineOwner(ownerName)
+      .withUserId(USER_ID)
+      .withFeeFineId(randomId())
+      .withFeeFineType("Overdue fine")
+      .withAmount(new MonetaryValue(amount))
+      .withRemaining(new MonetaryValue(amount))
+      .withPaymentStatus(new PaymentStatus().withName(OUTSTANDING))
+      .withStatus(new Status().withName("Open"));
+  }
+}
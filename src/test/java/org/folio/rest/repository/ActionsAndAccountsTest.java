@@ -0,0 +1,44 @@
+package org.folio.rest.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.Feefineaction;
+import org.junit.jupiter.api.Test;
+
+class ActionsAndAccountsTest {
+
+  @Test
+  void rowsKeepQueryOrderAndShareAccounts() {
+    Account firstAccount = account();
+    Account secondAccount = account();
+    ActionsAndAccounts actionsAndAccounts = new ActionsAndAccounts();
+
+    List<Feefineaction> actions = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      Feefineaction action = new Feefineaction().withId(UUID.randomUUID().toString());
+      actions.add(action);
+      actionsAndAccounts.add(action, i % 2 == 0 ? firstAccount : secondAccount);
+    }
+    Feefineaction actionWithoutAccount = new Feefineaction().withId(UUID.randomUUID().toString());
+    actions.add(actionWithoutAccount);
+    actionsAndAccounts.add(actionWithoutAccount, null);
+
+    assertEquals(41, actionsAndAccounts.size());
+    assertEquals(actions, actionsAndAccounts.getActions());
+    assertEquals(List.of(firstAccount, secondAccount), actionsAndAccounts.getAccounts());
+    assertSame(firstAccount, actionsAndAccounts.getAccount(38));
+    assertSame(secondAccount, actionsAndAccounts.getAccount(39));
+    assertNull(actionsAndAccounts.getAccount(40));
+  }
+
+  private static Account account() {
+    return new Account().withId(UUID.randomUUID().toString());
+  }
+}
@@ -0,0 +1,125 @@
+package org.folio.rest.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.test.support.ApiTests.TENANT_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Account;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+class BalanceChangedEventCoalescerTest {
+  private static final Map<String, String> HEADERS = Map.of(
+    OKAPI_HEADER_TENANT, TENANT_NAME,
+    OKAPI_HEADER_TOKEN, "token");
+
+  private static Vertx vertx;
+
+  private final List<String> sentPayloads = new ArrayList<>();
+  private final List<Map<String, String>> sentHeaders = new ArrayList<>();
+  private CompletableFuture<Void> sendResult = CompletableFuture.completedFuture(null);
+
+  @BeforeAll
+  static void setUpVertx() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterAll
+  static void closeVertx() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, SECONDS);
+  }
+
+  @Test
+  void shouldPublishRightAwayWithoutDebounceWindow() {
+    BalanceChangedEventCoalescer coalescer = createCoalescer(0);
+
+    coalescer.publish(List.of(account(UUID.randomUUID().toString(), 5.0),
+      account(UUID.randomUUID().toString(), 1.0)), HEADERS);
+
+    assertEquals(2, sentPayloads.size());
+    assertEquals(5.0, new JsonObject(sentPayloads.get(0)).getDouble("balance"));
+    assertEquals(HEADERS, sentHeaders.get(0));
+  }
+
+  @Test
+  void shouldPublishLatestBalanceOnceAfterDebounceWindow() {
+    BalanceChangedEventCoalescer coalescer = createCoalescer(60_000);
+    String accountId = UUID.randomUUID().toString();
+
+    coalescer.publish(List.of(account(accountId, 5.0)), HEADERS);
+    coalescer.publish(List.of(account(accountId, 2.0)), HEADERS);
+
+    assertTrue(sentPayloads.isEmpty());
+
+    coalescer.flush();
+
+    assertEquals(1, sentPayloads.size());
+    assertEquals(2.0, new JsonObject(sentPayloads.get(0)).getDouble("balance"));
+    assertEquals(Map.of(OKAPI_HEADER_TENANT, TENANT_NAME), sentHeaders.get(0));
+  }
+
+  @Test
+  void deletionShouldBePublishedRightAwayInsteadOfPendingChange() {
+    BalanceChangedEventCoalescer coalescer = createCoalescer(60_000);
+    String accountId = UUID.randomUUID().toString();
+
+    coalescer.publish(List.of(account(accountId, 5.0)), HEADERS);
+    coalescer.publishDeleted(new Account()
+      .withId(accountId)
+      .withRemaining(new MonetaryValue(BigDecimal.ZERO)), HEADERS);
+
+    assertEquals(1, sentPayloads.size());
+    assertEquals(0.0, new JsonObject(sentPayloads.get(0)).getDouble("balance"));
+
+    coalescer.flush();
+
+    assertEquals(1, sentPayloads.size());
+  }
+
+  @Test
+  void flushShouldCompleteOncePendingEventsArePublished() {
+    BalanceChangedEventCoalescer coalescer = createCoalescer(60_000);
+    sendResult = new CompletableFuture<>();
+
+    coalescer.publish(List.of(account(UUID.randomUUID().toString(), 5.0)), HEADERS);
+    CompletableFuture<Void> flushed = coalescer.flush();
+
+    assertEquals(1, sentPayloads.size());
+    assertFalse(flushed.isDone());
+
+    sendResult.complete(null);
+
+    assertTrue(flushed.isDone());
+  }
+
+  private BalanceChangedEventCoalescer createCoalescer(long debounceMs) {
+    return new BalanceChangedEventCoalescer(vertx, debounceMs, (payload, headers) -> {
+      sentPayloads.add(payload);
+      sentHeaders.add(headers);
+      return sendResult;
+    });
+  }
+
+  private static Account account(String id, double remaining) {
+    return new Account()
+      .withId(id)
+      .withUserId(UUID.randomUUID().toString())
+      .withRemaining(new MonetaryValue(remaining));
+  }
+}
@@ -0,0 +1,112 @@
+package org.folio.rest.service;
+
+import static java.util.stream.Collectors.toList;
+import static org.folio.rest.domain.EventType.FEE_FINE_BALANCE_CHANGED;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+import org.folio.rest.domain.OutboxEvent;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.repository.EventOutboxRepository;
+import org.folio.test.support.ApiTests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+
+class EventOutboxRelayVerticleTest extends ApiTests {
+  private static final String OUTBOX_TABLE =
+    PostgresClient.convertToPsqlStandard(TENANT_NAME) + ".event_outbox";
+
+  private final EventOutboxRepository repository = new EventOutboxRepository(pgClient);
+
+  @BeforeEach
+  void clearOutbox() {
+    get(pgClient.execute("DELETE FROM " + OUTBOX_TABLE));
+  }
+
+  @Test
+  void relayedEventsArePublishedInOrderAndDeleted() {
+    saveCommitted(event("first"), event("second"));
+    List<KafkaProducerRecord<String, String>> sentRecords = new ArrayList<>();
+
+    get(createRelay(producerRecord -> {
+      sentRecords.add(producerRecord);
+      return Future.succeededFuture();
+    }).relayAll(TENANT_NAME));
+
+    assertThat(sentRecords.stream().map(KafkaProducerRecord::value).collect(toList()),
+      contains("first", "second"));
+    assertThat(sentRecords.get(0).key(), is("account-id"));
+    assertThat(getOutboxPayloads(), empty());
+  }
+
+  @Test
+  void eventsAreKeptWhenKafkaFails() {
+    saveCommitted(event("first"), event("second"));
+
+    Future<Void> result = createRelay(producerRecord ->
+      Future.failedFuture(new RuntimeException("Kafka is not available")))
+      .relayAll(TENANT_NAME)
+      .otherwiseEmpty();
+
+    get(result);
+    assertThat(getOutboxPayloads(), contains("first", "second"));
+  }
+
+  @Test
+  void eventCommittedDuringRelayIsNotDeleted() {
+    Promise<Void> commitLateEvent = Promise.promise();
+    Promise<Void> lateEventSaved = Promise.promise();
+    // takes a lower id than the event below, but commits after the relay has read the outbox
+    Future<Void> lateEventCommitted = pgClient.withTrans(conn ->
+      repository.save(List.of(event("late")), conn)
+        .onSuccess(lateEventSaved::complete)
+        .compose(ignored -> commitLateEvent.future()));
+    get(lateEventSaved.future());
+    saveCommitted(event("committed"));
+
+    List<String> sentPayloads = new ArrayList<>();
+    get(createRelay(producerRecord -> {
+      sentPayloads.add(producerRecord.value());
+      commitLateEvent.tryComplete();
+      return lateEventCommitted;
+    }).relayAll(TENANT_NAME));
+
+    assertThat(sentPayloads, contains("committed"));
+    assertThat(getOutboxPayloads(), contains("late"));
+  }
+
+  private EventOutboxRelayVerticle createRelay(
+    Function<KafkaProducerRecord<String, String>, Future<Void>> sender) {
+
+    EventOutboxRelayVerticle relay = new EventOutboxRelayVerticle(
+      new KafkaEventProducer(sender), 10);
+    relay.init(vertx, vertx.getOrCreateContext());
+    return relay;
+  }
+
+  private void saveCommitted(OutboxEvent... events) {
+    get(pgClient.withTrans(conn -> repository.save(List.of(events), conn)));
+  }
+
+  private List<String> getOutboxPayloads() {
+    return get(pgClient.select("SELECT payload FROM " + OUTBOX_TABLE + " ORDER BY id")
+      .map(rowSet -> StreamSupport.stream(rowSet.spliterator(), false)
+        .map(row -> row.getString(0))
+        .collect(toList())));
+  }
+
+  private static OutboxEvent event(String payload) {
+    return new OutboxEvent(FEE_FINE_BALANCE_CHANGED, "account-id", payload);
+  }
+}
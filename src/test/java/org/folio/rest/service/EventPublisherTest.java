@@ -0,0 +1,52 @@
+package org.folio.rest.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.folio.rest.domain.EventType.LOG_RECORD;
+import static org.folio.rest.domain.FeeFineKafkaTopic.LOG_RECORD_TOPIC;
+import static org.folio.test.support.ApiTests.TENANT_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+
+class EventPublisherTest {
+  private static Vertx vertx;
+
+  @BeforeAll
+  static void setUpVertx() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterAll
+  static void closeVertx() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, SECONDS);
+  }
+
+  @Test
+  void shouldPublishEventToKafkaWhenProducerIsProvided() {
+    String payload = "{\"action\":\"Paid fully\"}";
+    AtomicReference<KafkaProducerRecord<String, String>> sentRecord = new AtomicReference<>();
+    KafkaEventProducer producer = new KafkaEventProducer(producerRecord -> {
+      sentRecord.set(producerRecord);
+      return Future.succeededFuture();
+    });
+    EventPublisher eventPublisher = new EventPublisher(vertx,
+      Map.of("X-Okapi-Tenant", TENANT_NAME), producer);
+
+    CompletableFuture<Void> result = eventPublisher.publishEvent(LOG_RECORD, payload);
+
+    assertTrue(result.isDone());
+    assertEquals(LOG_RECORD_TOPIC.fullTopicName(TENANT_NAME), sentRecord.get().topic());
+    assertEquals(payload, sentRecord.get().value());
+  }
+}
@@ -7,11 +7,17 @@ import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 
+import java.util.List;
 import java.util.Map;
 
 import org.folio.rest.domain.MonetaryValue;
 import org.folio.rest.jaxrs.model.Account;
+import org.folio.rest.jaxrs.model.FeeFineCharge;
 import org.folio.rest.jaxrs.model.Feefineaction;
 import org.folio.rest.jaxrs.model.PaymentStatus;
 import org.folio.rest.jaxrs.model.Status;
@@ -89,6 +95,46 @@ class FeeFineChargeServiceTest extends ApiTests {
       })));
   }
 
+  @SneakyThrows
+  @Test
+  void chargesWithoutAccountIdsGetGeneratedIds(VertxTestContext testContext) {
+    FeeFineCharge firstCharge = buildChargeWithoutIds();
+    FeeFineCharge secondCharge = buildChargeWithoutIds();
+
+    new FeeFineChargeService(vertx.getOrCreateContext(), HEADERS)
+      .chargeFeeFines(List.of(firstCharge, secondCharge))
+      .onComplete(testContext.succeeding(charges -> testContext.verify(() -> {
+        String firstAccountId = firstCharge.getAccount().getId();
+        String secondAccountId = secondCharge.getAccount().getId();
+
+        assertThat(firstAccountId, notNullValue());
+        assertThat(secondAccountId, notNullValue());
+        assertThat(firstAccountId, not(secondAccountId));
+        assertThat(firstCharge.getAction().getAccountId(), is(firstAccountId));
+        assertThat(secondCharge.getAction().getAccountId(), is(secondAccountId));
+
+        accountsClient.getAll()
+          .then()
+          .body("accounts", hasSize(2));
+
+        testContext.completeNow();
+      })));
+  }
+
+  private static FeeFineCharge buildChargeWithoutIds() {
+    Account account = buildAccount().withId(null);
+    Feefineaction action = new Feefineaction()
+      .withUserId(account.getUserId())
+      .withTypeAction("Overdue fine")
+      .withAmountAction(account.getAmount())
+      .withBalance(account.getRemaining())
+      .withNotify(false);
+
+    return new FeeFineCharge()
+      .withAccount(account)
+      .withAction(action);
+  }
+
   private static Feefineaction buildAction() {
     return new Feefineaction()
       .withId(randomId())
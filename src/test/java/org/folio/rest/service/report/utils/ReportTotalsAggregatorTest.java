@@ -0,0 +1,62 @@
+package org.folio.rest.service.report.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.folio.rest.domain.MonetaryValue;
+import org.folio.rest.jaxrs.model.Feefineaction;
+import org.folio.rest.jaxrs.model.ReportTotalsEntry;
+import org.junit.jupiter.api.Test;
+
+class ReportTotalsAggregatorTest {
+
+  @Test
+  void shouldCalculateTotalsForAllDimensionsInOnePass() {
+    List<ReportTotalsEntry> bySource = new ArrayList<>();
+    List<ReportTotalsEntry> byPaymentMethod = new ArrayList<>();
+
+    ReportTotalsAggregator<Feefineaction> aggregator = new ReportTotalsAggregator<Feefineaction>()
+      .withDimension(Feefineaction::getSource, bySource, "Source totals")
+      .withDimension(Feefineaction::getPaymentMethod, byPaymentMethod, "Payment method totals",
+        false);
+
+    aggregator.addAll(List.of(
+      action("Admin", "Cash", 1.5),
+      action("Staff", "", 2.0),
+      action("Admin", null, 3.25),
+      action("", "Cash", 4.0)), Feefineaction::getAmountAction);
+    aggregator.writeTotals();
+
+    assertEquals(List.of("Admin:4.75:2", "Staff:2.00:1", "Source totals:6.75:3"),
+      toStrings(bySource));
+    assertEquals(List.of("Cash:5.50:2", ":2.00:1", "Payment method totals:7.50:3"),
+      toStrings(byPaymentMethod));
+  }
+
+  @Test
+  void shouldWriteZeroTotalWhenThereAreNoRows() {
+    List<ReportTotalsEntry> bySource = new ArrayList<>();
+
+    ReportTotalsAggregator<Feefineaction> aggregator = new ReportTotalsAggregator<Feefineaction>()
+      .withDimension(Feefineaction::getSource, bySource, "Source totals");
+    aggregator.writeTotals();
+
+    assertEquals(List.of("Source totals:0.00:0"), toStrings(bySource));
+  }
+
+  private static Feefineaction action(String source, String paymentMethod, double amount) {
+    return new Feefineaction()
+      .withSource(source)
+      .withPaymentMethod(paymentMethod)
+      .withAmountAction(new MonetaryValue(amount));
+  }
+
+  private static List<String> toStrings(List<ReportTotalsEntry> entries) {
+    return entries.stream()
+      .map(entry -> entry.getName() + ":" + entry.getTotalAmount() + ":" + entry.getTotalCount())
+      .collect(Collectors.toList());
+  }
+}
@@ -45,6 +45,15 @@ public class ReportResourceClient extends ResourceClient {
       createdAt, sources), expectedStatus);
   }
 
+  public Response getCashDrawerReconciliationReportStats(String startDate, String endDate,
+    String createdAt, List<String> sources) {
+
+    return getReport(new JsonObject(createCashDrawerReconciliationReportRequest(startDate,
+      endDate, createdAt, sources))
+      .put("statsOnly", true)
+      .encodePrettily(), HttpStatus.HTTP_OK);
+  }
+
   public Response getCashDrawerReconciliationReportSources(String createdAt) {
     return getCashDrawerReconciliationReportSources(createdAt, HttpStatus.HTTP_OK);
   }
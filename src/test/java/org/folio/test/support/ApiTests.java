@@ -37,6 +37,7 @@ import javax.ws.rs.core.Response;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.http.HttpStatus;
 import org.folio.rest.RestVerticle;
+import org.folio.rest.client.ReferenceDataCache;
 import org.folio.rest.domain.AutomaticFeeFineType;
 import org.folio.rest.impl.TenantRefAPI;
 import org.folio.rest.jaxrs.model.Parameter;
@@ -131,6 +132,7 @@ public class ApiTests {
   @BeforeEach
   public void setUpMapping() {
     okapiDeployment.setUpMapping();
+    ReferenceDataCache.getInstance().invalidateAll();
   }
 
   @SneakyThrows